@@ -0,0 +1,174 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package hr.caellian.flow.conversion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Composite converter is a {@link Converter Converter} which applies a chain
+ * of converters in order.
+ * <p>
+ * Nested composite converters are flattened into a single array of converters
+ * which is applied in a simple loop. If every converter in the chain is a
+ * {@link LinearDoubleConverter Linear Double Converter}, their factors are
+ * multiplied together and conversion is performed with a single
+ * multiplication. Other {@link LinearConverter Linear Converters} may round
+ * their result, so chains containing them are always applied link by link.
+ *
+ * @param <T> input type.
+ * @param <R> output type.
+ * @author Caellian
+ * @since 1.2.0
+ */
+public class CompositeConverter<T, R> implements Converter<T, R> {
+    /**
+     * Converters applied by this converter in order of application.
+     */
+    private final Converter<?, ?>[] links;
+
+    /**
+     * Total cost of all converters in the chain.
+     */
+    private final double cost;
+
+    /**
+     * {@code true} if all converters in the chain are linear double
+     * converters.
+     */
+    private final boolean linear;
+
+    /**
+     * Product of factors of all converters in the chain if all of them are
+     * linear double converters.
+     */
+    private final double factor;
+
+    /**
+     * Default constructor.
+     *
+     * @param links converters to apply in order of application.
+     * @throws IllegalArgumentException if no converters were given.
+     */
+    public CompositeConverter(Converter<?, ?>... links) {
+        if (links.length == 0) {
+            throw new IllegalArgumentException("Composite converter requires at least one converter.");
+        }
+
+        ArrayList<Converter<?, ?>> flat = new ArrayList<>(links.length);
+        for (Converter<?, ?> link : links) {
+            if (link instanceof CompositeConverter) {
+                Collections.addAll(flat, ((CompositeConverter<?, ?>) link).links);
+            } else {
+                flat.add(link);
+            }
+        }
+        this.links = flat.toArray(new Converter<?, ?>[flat.size()]);
+
+        double cost = 0;
+        double factor = 1;
+        boolean isLinear = true;
+        for (Converter<?, ?> link : this.links) {
+            cost += Math.max(0, link.getCost());
+            if (link instanceof LinearDoubleConverter) {
+                factor *= ((LinearDoubleConverter) link).getFactor();
+            } else {
+                isLinear = false;
+            }
+        }
+        this.cost = cost;
+        this.factor = factor;
+        this.linear = isLinear;
+    }
+
+    /**
+     * @return string representation of expected input value.
+     */
+    @Override
+    public String getInputID() {
+        return links[0].getInputID();
+    }
+
+    /**
+     * @return string representation of output value.
+     */
+    @Override
+    public String getOutputID() {
+        return links[links.length - 1].getOutputID();
+    }
+
+    /**
+     * @return sum of costs of all converters in the chain.
+     */
+    @Override
+    public double getCost() {
+        return cost;
+    }
+
+    /**
+     * @return {@code true} if this converter consists only of linear double
+     * converters and is applied as a single multiplication.
+     */
+    public boolean isLinear() {
+        return linear;
+    }
+
+    /**
+     * @return read-only list of converters applied by this converter in order
+     * of application.
+     */
+    public List<Converter<?, ?>> getLinks() {
+        return Collections.unmodifiableList(Arrays.asList(links));
+    }
+
+    /**
+     * @param input value to convert.
+     * @return value produced by applying all converters in the chain to
+     * argument value.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public R apply(T input) {
+        if (linear) {
+            return (R) Double.valueOf((Double) input * factor);
+        }
+        Object value = input;
+        for (Converter<?, ?> link : links) {
+            // Output of each link is input of the next one.
+            value = ((Converter<Object, ?>) link).apply(value);
+        }
+        return (R) value;
+    }
+
+    /**
+     * @return {@link String} representation of this converter.
+     */
+    @Override
+    public String toString() {
+        return "CompositeConverter{" + getInputID() + " -> " + getOutputID() + ", links: " + links.length + '}';
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package hr.caellian.flow.conversion;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+/**
+ * Composite double converter is a {@link DoubleConverter Double Converter}
+ * which applies a chain of double converters in order without boxing.
+ * <p>
+ * Nested composite double converters are flattened into a single array. If
+ * every converter in the chain is a {@link LinearDoubleConverter Linear Double
+ * Converter}, conversion is performed with a single multiplication. Other
+ * {@link LinearConverter Linear Converters} may round their result, so chains
+ * containing them are always applied link by link.
+ *
+ * @author Caellian
+ * @since 1.2.0
+ */
+public class CompositeDoubleConverter implements DoubleConverter {
+    /**
+     * Converters applied by this converter in order of application.
+     */
+    private final DoubleConverter[] links;
+
+    /**
+     * Total cost of all converters in the chain.
+     */
+    private final double cost;
+
+    /**
+     * {@code true} if all converters in the chain are linear double
+     * converters.
+     */
+    private final boolean linear;
+
+    /**
+     * Product of factors of all converters in the chain if all of them are
+     * linear double converters.
+     */
+    private final double factor;
+
+    /**
+     * Default constructor.
+     *
+     * @param links converters to apply in order of application.
+     * @throws IllegalArgumentException if no converters were given.
+     */
+    public CompositeDoubleConverter(DoubleConverter... links) {
+        if (links.length == 0) {
+            throw new IllegalArgumentException("Composite converter requires at least one converter.");
+        }
+
+        ArrayList<DoubleConverter> flat = new ArrayList<>(links.length);
+        for (DoubleConverter link : links) {
+            if (link instanceof CompositeDoubleConverter) {
+                Collections.addAll(flat, ((CompositeDoubleConverter) link).links);
+            } else {
+                flat.add(link);
+            }
+        }
+        this.links = flat.toArray(new DoubleConverter[flat.size()]);
+
+        double cost = 0;
+        double factor = 1;
+        boolean isLinear = true;
+        for (DoubleConverter link : this.links) {
+            cost += Math.max(0, link.getCost());
+            if (link instanceof LinearDoubleConverter) {
+                factor *= ((LinearDoubleConverter) link).getFactor();
+            } else {
+                isLinear = false;
+            }
+        }
+        this.cost = cost;
+        this.factor = factor;
+        this.linear = isLinear;
+    }
+
+    /**
+     * @return string representation of expected input value.
+     */
+    @Override
+    public String getInputID() {
+        return links[0].getInputID();
+    }
+
+    /**
+     * @return string representation of output value.
+     */
+    @Override
+    public String getOutputID() {
+        return links[links.length - 1].getOutputID();
+    }
+
+    /**
+     * @return sum of costs of all converters in the chain.
+     */
+    @Override
+    public double getCost() {
+        return cost;
+    }
+
+    /**
+     * @return {@code true} if this converter consists only of linear
+     * converters and is applied as a single multiplication.
+     */
+    public boolean isLinear() {
+        return linear;
+    }
+
+    /**
+     * @param input value to convert.
+     * @return value produced by applying all converters in the chain to
+     * argument value.
+     */
+    @Override
+    public double applyAsDouble(double input) {
+        if (linear) {
+            return input * factor;
+        }
+        double value = input;
+        for (DoubleConverter link : links) {
+            value = link.applyAsDouble(value);
+        }
+        return value;
+    }
+
+    /**
+     * @return {@link String} representation of this converter.
+     */
+    @Override
+    public String toString() {
+        return "CompositeDoubleConverter{" + getInputID() + " -> " + getOutputID() + ", links: " + links.length + '}';
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package hr.caellian.flow.conversion;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+/**
+ * Composite long converter is a {@link LongConverter Long Converter} which
+ * applies a chain of long converters in order without boxing.
+ * <p>
+ * Nested composite long converters are flattened into a single array. Unlike
+ * {@link CompositeDoubleConverter}, linear chains aren't collapsed as rounding
+ * performed by each converter would be lost.
+ *
+ * @author Caellian
+ * @since 1.2.0
+ */
+public class CompositeLongConverter implements LongConverter {
+    /**
+     * Converters applied by this converter in order of application.
+     */
+    private final LongConverter[] links;
+
+    /**
+     * Total cost of all converters in the chain.
+     */
+    private final double cost;
+
+    /**
+     * Default constructor.
+     *
+     * @param links converters to apply in order of application.
+     * @throws IllegalArgumentException if no converters were given.
+     */
+    public CompositeLongConverter(LongConverter... links) {
+        if (links.length == 0) {
+            throw new IllegalArgumentException("Composite converter requires at least one converter.");
+        }
+
+        ArrayList<LongConverter> flat = new ArrayList<>(links.length);
+        for (LongConverter link : links) {
+            if (link instanceof CompositeLongConverter) {
+                Collections.addAll(flat, ((CompositeLongConverter) link).links);
+            } else {
+                flat.add(link);
+            }
+        }
+        this.links = flat.toArray(new LongConverter[flat.size()]);
+
+        double cost = 0;
+        for (LongConverter link : this.links) {
+            cost += Math.max(0, link.getCost());
+        }
+        this.cost = cost;
+    }
+
+    /**
+     * @return string representation of expected input value.
+     */
+    @Override
+    public String getInputID() {
+        return links[0].getInputID();
+    }
+
+    /**
+     * @return string representation of output value.
+     */
+    @Override
+    public String getOutputID() {
+        return links[links.length - 1].getOutputID();
+    }
+
+    /**
+     * @return sum of costs of all converters in the chain.
+     */
+    @Override
+    public double getCost() {
+        return cost;
+    }
+
+    /**
+     * @param input value to convert.
+     * @return value produced by applying all converters in the chain to
+     * argument value.
+     */
+    @Override
+    public long applyAsLong(long input) {
+        long value = input;
+        for (LongConverter link : links) {
+            value = link.applyAsLong(value);
+        }
+        return value;
+    }
+
+    /**
+     * @return {@link String} representation of this converter.
+     */
+    @Override
+    public String toString() {
+        return "CompositeLongConverter{" + getInputID() + " -> " + getOutputID() + ", links: " + links.length + '}';
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package hr.caellian.flow.conversion;
+
+import hr.caellian.flow.data.Pair;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Concurrent Conversion Manager is a {@link ConversionManager Conversion
+ * Manager} which can be used from multiple threads at the same time.
+ * <p>
+ * Registered converters are stored in immutable snapshots. Conversion lookups
+ * read the latest published snapshot without any locking, while registration
+ * copies the converter map and atomically publishes a new snapshot with an
+ * empty {@link RoutingTable routing table}. Routing table of a snapshot is
+ * constructed by the first lookup which needs it.
+ *
+ * @param <T> {@link Converter Converter} type subclass supported by this
+ *            Conversion Manager.
+ * @author Caellian
+ * @since 1.2.0
+ */
+public class ConcurrentConversionManager<T extends Converter> extends ConversionManager<T> {
+    /**
+     * Latest published snapshot.
+     */
+    private final AtomicReference<Snapshot<T>> snapshot = new AtomicReference<>(new Snapshot<>(new HashMap<>()));
+
+    /**
+     * @return read-only converter map of latest published snapshot.
+     */
+    @Override
+    protected Map<Pair<String, String>, T> getConverterMap() {
+        return snapshot.get().converterMap;
+    }
+
+    /**
+     * This method will register a power converter allowing you to force it's
+     * registration and usage.
+     *
+     * @param powerUnitConverter converter to register.
+     * @param force              true to replace previously registered
+     *                           converter with same input and output IDs.
+     * @return {@code true} if converter was successfully registered, {@code
+     * false} if a converter with same input and output IDs was already
+     * registered and registration wasn't forced.
+     */
+    @Override
+    @Deprecated
+    public boolean register(T powerUnitConverter, boolean force) {
+        Pair<String, String> key = new Pair<>(powerUnitConverter.getInputID(), powerUnitConverter.getOutputID());
+        while (true) {
+            Snapshot<T> current = snapshot.get();
+            if (!force && current.converterMap.containsKey(key)) {
+                return false;
+            }
+
+            HashMap<Pair<String, String>, T> converterMap = new HashMap<>(current.converterMap);
+            converterMap.put(key, powerUnitConverter);
+            if (snapshot.compareAndSet(current, new Snapshot<>(converterMap))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Clears routing table of latest published snapshot.
+     */
+    @Override
+    protected void invalidateRouteCache() {
+        snapshot.get().routingTable = null;
+    }
+
+    /**
+     * @return routing table of latest published snapshot.
+     */
+    @Override
+    protected RoutingTable<T> getRoutingTable() {
+        Snapshot<T> current = snapshot.get();
+        RoutingTable<T> table = current.routingTable;
+        if (table == null) {
+            // Concurrent construction only wastes work as all threads use the
+            // same immutable converter map.
+            table = new RoutingTable<>(new ConversionGraph<>(current.converterMap));
+            current.routingTable = table;
+        }
+        return table;
+    }
+
+    /**
+     * Immutable state of registered converters.
+     *
+     * @param <T> {@link Converter Converter} type stored in this snapshot.
+     */
+    private static final class Snapshot<T extends Converter> {
+        /**
+         * Read-only map of registered converters.
+         */
+        private final Map<Pair<String, String>, T> converterMap;
+
+        /**
+         * Routing table constructed from {@link #converterMap}, {@code null}
+         * if it wasn't constructed yet.
+         */
+        private volatile RoutingTable<T> routingTable;
+
+        /**
+         * Default constructor.
+         *
+         * @param converterMap map of registered converters. Argument map must
+         *                     not be modified after construction.
+         */
+        private Snapshot(HashMap<Pair<String, String>, T> converterMap) {
+            this.converterMap = Collections.unmodifiableMap(converterMap);
+        }
+    }
+}
@@ -0,0 +1,466 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package hr.caellian.flow.conversion;
+
+import hr.caellian.flow.data.Pair;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Conversion Graph is an indexed representation of a converter map used for
+ * finding indirect conversions.
+ * <p>
+ * Flux type IDs are interned into consecutive integer indices and converters
+ * are stored in adjacency lists keyed by index of their input flux type. This
+ * allows path searches to visit every flux type and every converter at most
+ * once.
+ * <p>
+ * Graph is a snapshot of converter map it was constructed from and has to be
+ * reconstructed after converter map changes.
+ * <p>
+ * Conversion distances from each flux type are computed once, when first
+ * requested, which allows answering reachability queries in constant time.
+ *
+ * @param <T> {@link Converter Converter} type stored in this graph.
+ * @author Caellian
+ * @since 1.2.0
+ */
+public class ConversionGraph<T extends Converter> {
+    /**
+     * Distance returned for flux types which can't be converted between.
+     */
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    /**
+     * Map of flux type IDs and their respective indices.
+     */
+    private final HashMap<String, Integer> indices = new HashMap<>();
+
+    /**
+     * Flux type IDs ordered by their indices.
+     */
+    private final ArrayList<String> ids = new ArrayList<>();
+
+    /**
+     * Offsets of first converter leaving each flux type in {@link #edgeTarget}
+     * and {@link #edgeConverter} arrays. Converters leaving flux type with
+     * index {@code i} are stored between {@code edgeStart[i]} (inclusive) and
+     * {@code edgeStart[i + 1]} (exclusive).
+     */
+    private final int[] edgeStart;
+
+    /**
+     * Indices of input flux types of stored converters.
+     */
+    private final int[] edgeSource;
+
+    /**
+     * Indices of output flux types of stored converters.
+     */
+    private final int[] edgeTarget;
+
+    /**
+     * Stored converters.
+     */
+    private final Converter<?, ?>[] edgeConverter;
+
+    /**
+     * Costs of stored converters.
+     */
+    private final double[] edgeCost;
+
+    /**
+     * Lazily computed rows of distance matrix. Row at index {@code i} contains
+     * least number of converters needed to convert from flux type with index
+     * {@code i} to every other flux type.
+     */
+    private final AtomicReferenceArray<int[]> distances;
+
+    /**
+     * Default constructor.
+     *
+     * @param converterMap converter map to construct this graph from.
+     */
+    public ConversionGraph(Map<Pair<String, String>, T> converterMap) {
+        int edgeCount = converterMap.size();
+        int[] sources = new int[edgeCount];
+        int[] targets = new int[edgeCount];
+        Converter<?, ?>[] converters = new Converter<?, ?>[edgeCount];
+
+        int edge = 0;
+        for (Map.Entry<Pair<String, String>, T> entry : converterMap.entrySet()) {
+            sources[edge] = intern(entry.getKey().getA());
+            targets[edge] = intern(entry.getKey().getB());
+            converters[edge] = entry.getValue();
+            edge++;
+        }
+
+        int size = ids.size();
+        edgeStart = new int[size + 1];
+        edgeSource = new int[edgeCount];
+        edgeTarget = new int[edgeCount];
+        edgeConverter = new Converter<?, ?>[edgeCount];
+        edgeCost = new double[edgeCount];
+        distances = new AtomicReferenceArray<>(size);
+
+        for (int i = 0; i < edgeCount; i++) {
+            edgeStart[sources[i] + 1]++;
+        }
+        for (int i = 0; i < size; i++) {
+            edgeStart[i + 1] += edgeStart[i];
+        }
+
+        int[] fill = new int[size];
+        for (int i = 0; i < edgeCount; i++) {
+            int slot = edgeStart[sources[i]] + fill[sources[i]]++;
+            edgeSource[slot] = sources[i];
+            edgeTarget[slot] = targets[i];
+            edgeConverter[slot] = converters[i];
+            edgeCost[slot] = Math.max(0, converters[i].getCost());
+        }
+    }
+
+    /**
+     * Interns argument ID if it wasn't interned already.
+     *
+     * @param ID flux type ID to intern.
+     * @return index of argument ID.
+     */
+    private int intern(String ID) {
+        Integer index = indices.get(ID);
+        if (index == null) {
+            index = ids.size();
+            indices.put(ID, index);
+            ids.add(ID);
+        }
+        return index;
+    }
+
+    /**
+     * @param ID flux type ID to return index for.
+     * @return index of argument flux type ID or {@code -1} if no converter
+     * uses it.
+     */
+    public int indexOf(String ID) {
+        Integer index = indices.get(ID);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * @param index index of flux type ID.
+     * @return flux type ID with argument index.
+     */
+    public String getID(int index) {
+        return ids.get(index);
+    }
+
+    /**
+     * @return number of flux types in this graph.
+     */
+    public int size() {
+        return ids.size();
+    }
+
+    /**
+     * @return number of converters in this graph.
+     */
+    public int getConverterCount() {
+        return edgeTarget.length;
+    }
+
+    /**
+     * @param from ID of input flux type.
+     * @param to   ID of output flux type.
+     * @return {@code true} if output flux type can be reached from input flux
+     * type using any number of converters, {@code false} otherwise.
+     */
+    public boolean isReachable(String from, String to) {
+        return getDistance(from, to) != UNREACHABLE;
+    }
+
+    /**
+     * @param from ID of input flux type.
+     * @param to   ID of output flux type.
+     * @return least number of converters needed to convert from input to output
+     * flux type or {@link #UNREACHABLE} if no conversion exists. Distance from
+     * a flux type to itself is length of the shortest conversion cycle.
+     */
+    public int getDistance(String from, String to) {
+        int source = indexOf(from);
+        int target = indexOf(to);
+        if (source < 0 || target < 0) {
+            return UNREACHABLE;
+        }
+        return getDistances(source)[target];
+    }
+
+    /**
+     * @param source index of input flux type.
+     * @return least number of converters needed to convert from input flux
+     * type to every flux type.
+     */
+    private int[] getDistances(int source) {
+        int[] row = distances.get(source);
+        if (row != null) {
+            return row;
+        }
+
+        int size = size();
+        row = new int[size];
+        Arrays.fill(row, UNREACHABLE);
+        int[] queue = new int[size];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+
+        while (head < tail) {
+            int current = queue[head++];
+            int depth = current == source ? 0 : row[current];
+            for (int edge = edgeStart[current]; edge < edgeStart[current + 1]; edge++) {
+                int next = edgeTarget[edge];
+                if (row[next] == UNREACHABLE) {
+                    row[next] = depth + 1;
+                    if (next != source) {
+                        queue[tail++] = next;
+                    }
+                }
+            }
+        }
+
+        // Concurrently computed rows are identical, so either can be kept.
+        distances.compareAndSet(source, null, row);
+        return distances.get(source);
+    }
+
+    /**
+     * Finds conversion path consisting of least converters using level-order
+     * search.
+     *
+     * @param from     ID of input flux type.
+     * @param to       ID of output flux type.
+     * @param maxSteps maximum number of converters in returned path.
+     * @return list of converters which have to be applied in order to convert
+     * from input to output flux type or {@code null} if no such path exists
+     * within defined number of steps.
+     */
+    public List<T> findShortestPath(String from, String to, int maxSteps) {
+        int source = indexOf(from);
+        int target = indexOf(to);
+        if (source < 0 || target < 0 || maxSteps < 1 || getDistances(source)[target] > maxSteps) {
+            return null;
+        }
+
+        int size = size();
+        // Edge through which each flux type was first reached, -1 if it wasn't.
+        int[] reachedBy = new int[size];
+        int[] depth = new int[size];
+        int[] queue = new int[size];
+        Arrays.fill(reachedBy, -1);
+
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        boolean[] visited = new boolean[size];
+        visited[source] = true;
+
+        while (head < tail) {
+            int current = queue[head++];
+            if (depth[current] >= maxSteps) {
+                continue;
+            }
+            for (int edge = edgeStart[current]; edge < edgeStart[current + 1]; edge++) {
+                int next = edgeTarget[edge];
+                if (next == target) {
+                    return buildPath(reachedBy, edge, depth[current] + 1);
+                }
+                if (!visited[next]) {
+                    visited[next] = true;
+                    reachedBy[next] = edge;
+                    depth[next] = depth[current] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reconstructs path ending with argument edge.
+     *
+     * @param reachedBy edge through which each flux type was reached.
+     * @param lastEdge  last edge of the path.
+     * @param length    number of converters in the path.
+     * @return list of converters in conversion order.
+     */
+    @SuppressWarnings("unchecked")
+    private List<T> buildPath(int[] reachedBy, int lastEdge, int length) {
+        ArrayList<T> path = new ArrayList<>(length);
+        int edge = lastEdge;
+        for (int i = length - 1; i >= 0; i--) {
+            path.add((T) edgeConverter[edge]);
+            edge = i > 0 ? reachedBy[edgeSource[edge]] : -1;
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Finds conversion path with the lowest total {@link Converter#getCost()
+     * cost} using Dijkstra's algorithm.
+     * <p>
+     * Flux types can be visited multiple times if they are reached with
+     * fewer steps than before, so found path is the cheapest one within
+     * defined number of steps.
+     *
+     * @param from     ID of input flux type.
+     * @param to       ID of output flux type.
+     * @param maxSteps maximum number of converters in returned path.
+     * @return list of converters which have to be applied in order to convert
+     * from input to output flux type or {@code null} if no such path exists
+     * within defined number of steps.
+     */
+    public List<T> findCheapestPath(String from, String to, int maxSteps) {
+        int source = indexOf(from);
+        int target = indexOf(to);
+        if (source < 0 || target < 0 || maxSteps < 1 || getDistances(source)[target] > maxSteps) {
+            return null;
+        }
+
+        // Cheapest path never has to visit a flux type twice, except for
+        // paths which end at the flux type they start from.
+        int stepLimit = Math.min(maxSteps, size());
+
+        // Fewest steps any flux type was settled with, used to skip labels
+        // which are both more expensive and longer than a settled one.
+        int[] settledSteps = new int[size()];
+        Arrays.fill(settledSteps, Integer.MAX_VALUE);
+
+        PriorityQueue<Label> queue = new PriorityQueue<>();
+        queue.add(new Label(null, -1, source, 0, 0));
+
+        while (!queue.isEmpty()) {
+            Label current = queue.poll();
+            if (current.node == target && current.steps > 0) {
+                return buildPath(current);
+            }
+            if (settledSteps[current.node] <= current.steps) {
+                continue;
+            }
+            settledSteps[current.node] = current.steps;
+
+            if (current.steps >= stepLimit) {
+                continue;
+            }
+            for (int edge = edgeStart[current.node]; edge < edgeStart[current.node + 1]; edge++) {
+                int next = edgeTarget[edge];
+                if (next == target || settledSteps[next] > current.steps + 1) {
+                    queue.add(new Label(current, edge, next, current.cost + edgeCost[edge], current.steps + 1));
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reconstructs path ending with argument label.
+     *
+     * @param last label of the last flux type in the path.
+     * @return list of converters in conversion order.
+     */
+    @SuppressWarnings("unchecked")
+    private List<T> buildPath(Label last) {
+        ArrayList<T> path = new ArrayList<>(last.steps);
+        for (Label label = last; label.previous != null; label = label.previous) {
+            path.add((T) edgeConverter[label.edge]);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Label of a flux type reached during {@link #findCheapestPath(String,
+     * String, int) cheapest path} search.
+     */
+    private static final class Label implements Comparable<Label> {
+        /**
+         * Label this label was reached from.
+         */
+        private final Label previous;
+
+        /**
+         * Edge this label was reached through.
+         */
+        private final int edge;
+
+        /**
+         * Index of reached flux type.
+         */
+        private final int node;
+
+        /**
+         * Total cost of converters used to reach this label.
+         */
+        private final double cost;
+
+        /**
+         * Number of converters used to reach this label.
+         */
+        private final int steps;
+
+        /**
+         * Default constructor.
+         *
+         * @param previous label this label was reached from.
+         * @param edge     edge this label was reached through.
+         * @param node     index of reached flux type.
+         * @param cost     total cost of converters used to reach this label.
+         * @param steps    number of converters used to reach this label.
+         */
+        private Label(Label previous, int edge, int node, double cost, int steps) {
+            this.previous = previous;
+            this.edge = edge;
+            this.node = node;
+            this.cost = cost;
+            this.steps = steps;
+        }
+
+        /**
+         * @param other label to compare this label to.
+         * @return result of comparison by cost and then by number of steps.
+         */
+        @Override
+        public int compareTo(Label other) {
+            int result = Double.compare(cost, other.cost);
+            return result != 0 ? result : Integer.compare(steps, other.steps);
+        }
+    }
+}
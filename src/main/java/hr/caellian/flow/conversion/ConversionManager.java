@@ -26,10 +26,8 @@ package hr.caellian.flow.conversion;
 
 import hr.caellian.flow.data.Pair;
 
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.function.Consumer;
-import java.util.function.Function;
 
 /**
  * Conversion Manager allows conversion between different {@code Flux} types.
@@ -45,6 +43,13 @@ import java.util.function.Function;
  */
 public abstract class ConversionManager<T extends Converter> {
 
+    /**
+     * Routing table containing previously constructed indirect converters.
+     * Reconstructed when converter count changes to detect converters
+     * registered without calling {@link #invalidateRouteCache()}.
+     */
+    private RoutingTable<T> routingTable;
+
     /**
      * Using this method allows Conversion Managers to dictate which map data
      * format they want to use. This allows multiple Conversion Managers to use
@@ -65,7 +70,11 @@ public abstract class ConversionManager<T extends Converter> {
      */
     public boolean register(T converter) {
         //noinspection deprecation
-        return register(converter, false);
+        boolean registered = register(converter, false);
+        if (registered) {
+            invalidateRouteCache();
+        }
+        return registered;
     }
 
     /**
@@ -74,6 +83,10 @@ public abstract class ConversionManager<T extends Converter> {
      * <p>
      * There is no guarantee that implementation of this function will or can
      * respect {@code force} parameter.
+     * <p>
+     * Implementations which replace an existing converter should call
+     * {@link #invalidateRouteCache()} as replacement can't be detected
+     * otherwise.
      *
      * @param powerUnitConverter converter to register.
      * @param force              true to force registration.
@@ -83,6 +96,15 @@ public abstract class ConversionManager<T extends Converter> {
     @Deprecated
     public abstract boolean register(T powerUnitConverter, boolean force);
 
+    /**
+     * Clears all cached indirect converters and conversion graph. Should be
+     * called whenever {@link #getConverterMap() converter map} is modified
+     * outside of {@link #register(Converter)} method.
+     */
+    protected void invalidateRouteCache() {
+        routingTable = null;
+    }
+
     /**
      * @param from ID of input flux type.
      * @param to   ID of output flux type.
@@ -103,7 +125,11 @@ public abstract class ConversionManager<T extends Converter> {
      * false} otherwise.
      */
     public boolean converterAvailable(String from, String to, int maxSteps) {
-        return getConverter(from, to, maxSteps) != null;
+        if (getConverter(from, to) != null) {
+            return true;
+        }
+        // Answered from conversion distances without composing a converter.
+        return getConversionGraph().getDistance(from, to) <= maxSteps;
     }
 
     /**
@@ -126,50 +152,115 @@ public abstract class ConversionManager<T extends Converter> {
      * null} otherwise.
      */
     public T getConverter(String from, String to, int maxSteps) {
-        // Try to find direct converter to save time.
+        return getConverter(from, to, maxSteps, RoutingMode.FEWEST_STEPS);
+    }
+
+    /**
+     * @param from        ID of input flux type.
+     * @param to          ID of output flux type.
+     * @param maxSteps    number of steps to find indirect conversion function
+     *                    within.
+     * @param routingMode criteria used to select between multiple available
+     *                    conversion functions.
+     * @return indirect converter if an indirect conversion function for input
+     * and output flux IDs is available within defined number of steps, direct
+     * converter if only that one is available, {@code null} otherwise.
+     */
+    public T getConverter(String from, String to, int maxSteps, RoutingMode routingMode) {
+        // Try to find direct converter to save time. Cheaper indirect
+        // conversion can only exist if more than a single step is allowed.
         T direct = getConverter(from, to);
-        if (direct != null) {
+        if (direct != null && (routingMode == RoutingMode.FEWEST_STEPS || maxSteps <= 1)) {
             return direct;
         }
 
-        // Get local map pointer to reduce method calls and improve performance.
+        T route = getRoutingTable().getRoute(from, to, maxSteps, routingMode, this::compose);
+        return route != null ? route : direct;
+    }
+
+    /**
+     * @return routing table constructed from current {@link
+     * #getConverterMap() converter map}.
+     */
+    protected RoutingTable<T> getRoutingTable() {
         Map<Pair<String, String>, T> converterMap = getConverterMap();
+        RoutingTable<T> table = routingTable;
+        if (table == null || table.getGraph().getConverterCount() != converterMap.size()) {
+            table = new RoutingTable<>(new ConversionGraph<>(converterMap));
+            routingTable = table;
+        }
+        return table;
+    }
 
-        final int[] lowestScore = {maxSteps};
+    /**
+     * @return conversion graph constructed from current {@link
+     * #getConverterMap() converter map}.
+     */
+    protected ConversionGraph<T> getConversionGraph() {
+        return getRoutingTable().getGraph();
+    }
+
+    /**
+     * Composes argument converters into a single converter.
+     * <p>
+     * Default implementation returns a {@link CompositeDoubleConverter} or
+     * {@link CompositeLongConverter} if all converters are primitive
+     * specialized and a {@link CompositeConverter Composite Converter}
+     * otherwise. Conversion Managers supporting other converter types should
+     * override this method and return an instance of their converter type.
+     *
+     * @param path converters to compose in order of application.
+     * @return composed converter or {@code null} if argument path is {@code
+     * null}.
+     */
+    protected T compose(List<T> path) {
+        if (path == null) {
+            return null;
+        }
+        if (path.size() == 1) {
+            return path.get(0);
+        }
+        if (allInstancesOf(path, DoubleConverter.class)) {
+            //noinspection unchecked
+            return (T) new CompositeDoubleConverter(path.toArray(new DoubleConverter[path.size()]));
+        }
+        if (allInstancesOf(path, LongConverter.class)) {
+            //noinspection unchecked
+            return (T) new CompositeLongConverter(path.toArray(new LongConverter[path.size()]));
+        }
         //noinspection unchecked
-        final T[] lowest = (T[]) new Function[1];
-
-        Consumer<Object[]> recursiveBFS = new Consumer<Object[]>() {
-            @Override
-            public void accept(Object[] args) {
-                Consumer<Object[]> recursiveBFS = this;
-
-                converterMap.forEach((IDPair, converter) -> {
-                    if (args[0].equals(IDPair.getA())) {
-                        if (Objects.equals(IDPair.getB(), to)) {
-                            if (((int) args[2]) < lowestScore[0]) {
-                                lowestScore[0] = ((int) args[2]);
-                                //noinspection unchecked
-                                lowest[0] = (T) ((Function) args[1]).apply(converter);
-                            }
-                        } else if (((int) args[2]) < lowestScore[0]) {
-                            if (args[1] != null) {
-                                //noinspection unchecked
-                                recursiveBFS.accept(new Object[]{IDPair.getB(), ((Function) args[1]).apply(converter), ((int) args[2]) + 1});
-                            } else {
-                                recursiveBFS.accept(new Object[]{IDPair.getB(), converter, ((int) args[2]) + 1});
-                            }
-                        }
-                    }
-                });
-            }
-        };
+        return (T) new CompositeConverter<>(path.toArray(new Converter<?, ?>[path.size()]));
+    }
 
-        // Perform search and construction of simplest conversion function.
-        // This will not return the most accurate conversion function,
-        // just the least complex one.
-        recursiveBFS.accept(new Object[]{from, null, 0});
+    /**
+     * @param converters converters to check.
+     * @param type       type to check argument converters against.
+     * @return {@code true} if all argument converters are instances of argument
+     * type.
+     */
+    private static boolean allInstancesOf(List<?> converters, Class<?> type) {
+        for (Object converter : converters) {
+            if (!type.isInstance(converter)) {
+                return false;
+            }
+        }
+        return true;
+    }
 
-        return lowest[0];
+    /**
+     * {@link RoutingMode Routing Mode} controls which of multiple available
+     * indirect conversion functions is returned.
+     */
+    public enum RoutingMode {
+        /**
+         * Selects conversion function consisting of the least converters. This
+         * is the least complex but not necessarily the most accurate
+         * conversion.
+         */
+        FEWEST_STEPS, /**
+         * Selects conversion function with the lowest total {@link
+         * Converter#getCost() converter cost}.
+         */
+        LOWEST_COST
     }
 }
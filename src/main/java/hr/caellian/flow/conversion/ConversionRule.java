@@ -27,11 +27,15 @@ package hr.caellian.flow.conversion;
 import hr.caellian.flow.data.Flux;
 import hr.caellian.flow.data.FluxType;
 
-import java.util.ArrayList;
+import java.util.BitSet;
 
 /**
  * Convert Rule allows filtering which conversions are allowed and which are
  * not.
+ * <p>
+ * Exceptions are stored as sets of {@link FluxType#getIndex() Flux Type
+ * indices}, so {@link FluxType Flux Types} with equal IDs are treated as the
+ * same type.
  *
  * @author Caellian
  * @since 1.0.0
@@ -50,16 +54,16 @@ public class ConversionRule {
     private FilterMode filterMode;
 
     /**
-     * List containing {@link hr.caellian.flow.data.FluxType Flux Types}
-     * {@link #owner owner Flux Type} can be converted from.
+     * Set containing indices of {@link hr.caellian.flow.data.FluxType Flux
+     * Types} {@link #owner owner Flux Type} can be converted from.
      */
-    private ArrayList<FluxType<Flux>> from = new ArrayList<>();
+    private BitSet from = new BitSet();
 
     /**
-     * List containing {@link hr.caellian.flow.data.FluxType Flux Types}
-     * {@link #owner owner Flux Type} can be converted into.
+     * Set containing indices of {@link hr.caellian.flow.data.FluxType Flux
+     * Types} {@link #owner owner Flux Type} can be converted into.
      */
-    private ArrayList<FluxType<Flux>> to = new ArrayList<>();
+    private BitSet to = new BitSet();
 
     /**
      * Default blacklist constructor.
@@ -81,6 +85,20 @@ public class ConversionRule {
         this.filterMode = filterMode;
     }
 
+    /**
+     * Constructor used for combining rules.
+     *
+     * @param owner      owner of this conversion management rule.
+     * @param filterMode mode to filter entries with.
+     * @param from       indices of "from" exceptions.
+     * @param to         indices of "to" exceptions.
+     */
+    private ConversionRule(FluxType<Flux> owner, FilterMode filterMode, BitSet from, BitSet to) {
+        this(owner, filterMode);
+        this.from = from;
+        this.to = to;
+    }
+
     /**
      * This method tests if given {@link FluxType Flux Type} is allowed to be
      * converted to {@link #owner} {@link FluxType Flux Type} or converted from
@@ -96,8 +114,8 @@ public class ConversionRule {
      * {@code false} otherwise.
      */
     public boolean test(ConvertDirection convertDirection, FluxType<Flux> other) {
-        if ((from.contains(other) && convertDirection == ConvertDirection.FROM) ||
-                (to.contains(other) && convertDirection == ConvertDirection.INTO)) {
+        BitSet exceptions = convertDirection == ConvertDirection.FROM ? from : to;
+        if (exceptions.get(other.getIndex())) {
             return !filterMode.getDefaultResponse();
         }
         return filterMode.getDefaultResponse();
@@ -106,10 +124,10 @@ public class ConversionRule {
     /**
      * @param fluxType Flux Type to add to {@link #from "from"} exception list.
      * @return {@code true} if {@link #from "from"} exception was added
-     * successfully.
+     * successfully, {@code false} if it was already present.
      */
     public boolean addFromException(FluxType<Flux> fluxType) {
-        return from.add(fluxType);
+        return add(from, fluxType);
     }
 
     /**
@@ -119,17 +137,17 @@ public class ConversionRule {
      * successfully.
      */
     public boolean removeFromException(FluxType<Flux> fluxType) {
-        return from.remove(fluxType);
+        return remove(from, fluxType);
     }
 
     /**
      * @param fluxType Flux Type to add to filtering mode this conversion rule
      *                 is using. exception list.
      * @return {@code true} if {@link #to "to"} exception was added
-     * successfully.
+     * successfully, {@code false} if it was already present.
      */
     public boolean addToException(FluxType<Flux> fluxType) {
-        return to.add(fluxType);
+        return add(to, fluxType);
     }
 
     /**
@@ -139,7 +157,110 @@ public class ConversionRule {
      * successfully.
      */
     public boolean removeToException(FluxType<Flux> fluxType) {
-        return to.remove(fluxType);
+        return remove(to, fluxType);
+    }
+
+    /**
+     * @param exceptions exception set to add argument Flux Type to.
+     * @param fluxType   Flux Type to add.
+     * @return {@code true} if argument Flux Type wasn't already present.
+     */
+    private static boolean add(BitSet exceptions, FluxType<Flux> fluxType) {
+        int index = fluxType.getIndex();
+        boolean present = exceptions.get(index);
+        exceptions.set(index);
+        return !present;
+    }
+
+    /**
+     * @param exceptions exception set to remove argument Flux Type from.
+     * @param fluxType   Flux Type to remove.
+     * @return {@code true} if argument Flux Type was present.
+     */
+    private static boolean remove(BitSet exceptions, FluxType<Flux> fluxType) {
+        int index = fluxType.getIndex();
+        boolean present = exceptions.get(index);
+        exceptions.clear(index);
+        return present;
+    }
+
+    /**
+     * Combines this and argument rule into a rule which allows conversions
+     * allowed by either of them.
+     *
+     * @param other rule to combine with this rule.
+     * @return new rule owned by {@link #owner owner} of this rule.
+     */
+    public ConversionRule union(ConversionRule other) {
+        return combine(other, true);
+    }
+
+    /**
+     * Combines this and argument rule into a rule which allows only
+     * conversions allowed by both of them.
+     *
+     * @param other rule to combine with this rule.
+     * @return new rule owned by {@link #owner owner} of this rule.
+     */
+    public ConversionRule intersection(ConversionRule other) {
+        return combine(other, false);
+    }
+
+    /**
+     * @param other rule to combine with this rule.
+     * @param union {@code true} to allow conversions allowed by either rule,
+     *              {@code false} to allow conversions allowed by both.
+     * @return new rule owned by {@link #owner owner} of this rule.
+     */
+    private ConversionRule combine(ConversionRule other, boolean union) {
+        boolean thisWhitelist = filterMode == FilterMode.WHITELIST;
+        boolean otherWhitelist = other.filterMode == FilterMode.WHITELIST;
+
+        // Union of two whitelists is a whitelist, any other union is a
+        // blacklist. Intersection is the opposite.
+        FilterMode mode;
+        if (union) {
+            mode = thisWhitelist && otherWhitelist ? FilterMode.WHITELIST : FilterMode.BLACKLIST;
+        } else {
+            mode = thisWhitelist || otherWhitelist ? FilterMode.WHITELIST : FilterMode.BLACKLIST;
+        }
+
+        return new ConversionRule(owner, mode,
+                combine(from, thisWhitelist, other.from, otherWhitelist, union),
+                combine(to, thisWhitelist, other.to, otherWhitelist, union));
+    }
+
+    /**
+     * Combines exception sets of two rules.
+     *
+     * @param a          exceptions of first rule.
+     * @param aWhitelist {@code true} if first rule is a whitelist.
+     * @param b          exceptions of second rule.
+     * @param bWhitelist {@code true} if second rule is a whitelist.
+     * @param union      {@code true} to combine allowed sets with union,
+     *                   {@code false} to combine them with intersection.
+     * @return exceptions of combined rule.
+     */
+    private static BitSet combine(BitSet a, boolean aWhitelist, BitSet b, boolean bWhitelist, boolean union) {
+        BitSet result = (BitSet) a.clone();
+        if (aWhitelist == bWhitelist) {
+            // Allowed sets of whitelists are combined directly, blacklists
+            // store complements so the operation is inverted.
+            if (union == aWhitelist) {
+                result.or(b);
+            } else {
+                result.and(b);
+            }
+        } else if (aWhitelist != union) {
+            // With mixed modes, union is a blacklist of blacklisted types
+            // which aren't whitelisted and intersection a whitelist of
+            // whitelisted types which aren't blacklisted.
+            result.andNot(b);
+        } else {
+            result = (BitSet) b.clone();
+            result.andNot(a);
+        }
+        return result;
     }
 
     /**
@@ -50,4 +50,17 @@ public interface Converter<T, R> extends Function<T, R> {
      * @return string representation of output value.
      */
     String getOutputID();
+
+    /**
+     * Cost of conversion is used when searching for the most accurate indirect
+     * conversion. Lossy or otherwise undesirable converters should return
+     * higher values.
+     *
+     * @return non-negative relative cost of using this converter. Negative
+     * values are treated as {@code 0}.
+     * @since 1.2.0
+     */
+    default double getCost() {
+        return 1.0;
+    }
 }
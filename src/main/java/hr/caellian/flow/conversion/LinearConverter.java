@@ -0,0 +1,62 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package hr.caellian.flow.conversion;
+
+/**
+ * Linear converter is a {@link Converter Converter} which scales input value
+ * by a constant factor without changing its type.
+ * <p>
+ * Implementations may round the scaled value, so chains of linear converters
+ * are only collapsed into a single multiplication by {@link CompositeConverter
+ * Composite Converter} when all of them are {@link LinearDoubleConverter Linear
+ * Double Converters}.
+ *
+ * @param <T> input and output type.
+ * @author Caellian
+ * @since 1.2.0
+ */
+public interface LinearConverter<T> extends Converter<T, T> {
+    /**
+     * @return factor input value is multiplied by.
+     */
+    double getFactor();
+
+    /**
+     * @param input  value to scale.
+     * @param factor factor to multiply argument value by.
+     * @return argument value multiplied by argument factor.
+     */
+    T scale(T input, double factor);
+
+    /**
+     * @param input value to convert.
+     * @return argument value multiplied by {@link #getFactor() factor} of this
+     * converter.
+     */
+    @Override
+    default T apply(T input) {
+        return scale(input, getFactor());
+    }
+}
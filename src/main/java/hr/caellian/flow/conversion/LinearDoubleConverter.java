@@ -0,0 +1,140 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package hr.caellian.flow.conversion;
+
+/**
+ * Linear double converter is a {@link DoubleConverter Double Converter} which
+ * multiplies input value by a constant factor.
+ *
+ * @author Caellian
+ * @since 1.2.0
+ */
+public class LinearDoubleConverter implements DoubleConverter, LinearConverter<Double> {
+    /**
+     * ID of input flux type.
+     */
+    private final String inputID;
+
+    /**
+     * ID of output flux type.
+     */
+    private final String outputID;
+
+    /**
+     * Factor input value is multiplied by.
+     */
+    private final double factor;
+
+    /**
+     * Cost of using this converter.
+     */
+    private final double cost;
+
+    /**
+     * Default constructor.
+     *
+     * @param inputID  ID of input flux type.
+     * @param outputID ID of output flux type.
+     * @param factor   factor input value is multiplied by.
+     */
+    public LinearDoubleConverter(String inputID, String outputID, double factor) {
+        this(inputID, outputID, factor, 1.0);
+    }
+
+    /**
+     * Constructor allowing custom conversion cost.
+     *
+     * @param inputID  ID of input flux type.
+     * @param outputID ID of output flux type.
+     * @param factor   factor input value is multiplied by.
+     * @param cost     cost of using this converter.
+     */
+    public LinearDoubleConverter(String inputID, String outputID, double factor, double cost) {
+        this.inputID = inputID;
+        this.outputID = outputID;
+        this.factor = factor;
+        this.cost = cost;
+    }
+
+    /**
+     * @return string representation of expected input value.
+     */
+    @Override
+    public String getInputID() {
+        return inputID;
+    }
+
+    /**
+     * @return string representation of output value.
+     */
+    @Override
+    public String getOutputID() {
+        return outputID;
+    }
+
+    /**
+     * @return cost of using this converter.
+     */
+    @Override
+    public double getCost() {
+        return cost;
+    }
+
+    /**
+     * @return factor input value is multiplied by.
+     */
+    @Override
+    public double getFactor() {
+        return factor;
+    }
+
+    /**
+     * @param input value to convert.
+     * @return argument value multiplied by {@link #factor}.
+     */
+    @Override
+    public double applyAsDouble(double input) {
+        return input * factor;
+    }
+
+    /**
+     * @param input  value to scale.
+     * @param factor factor to multiply argument value by.
+     * @return argument value multiplied by argument factor.
+     */
+    @Override
+    public Double scale(Double input, double factor) {
+        return input * factor;
+    }
+
+    /**
+     * @param input value to convert.
+     * @return argument value multiplied by {@link #factor}.
+     */
+    @Override
+    public Double apply(Double input) {
+        return applyAsDouble(input);
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package hr.caellian.flow.conversion;
+
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Long converter is a {@link Converter Converter} specialized for primitive
+ * {@code long} values which allows conversion without boxing.
+ * <p>
+ * Boxed {@link #apply(Long)} method is provided only for compatibility with
+ * code working with generic converters.
+ *
+ * @author Caellian
+ * @since 1.2.0
+ */
+public interface LongConverter extends Converter<Long, Long>, LongUnaryOperator {
+    /**
+     * @param input value to convert.
+     * @return converted value.
+     */
+    @Override
+    long applyAsLong(long input);
+
+    /**
+     * @param input value to convert.
+     * @return converted value.
+     */
+    @Override
+    default Long apply(Long input) {
+        return applyAsLong(input);
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package hr.caellian.flow.conversion;
+
+import hr.caellian.flow.conversion.ConversionManager.RoutingMode;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Routing table stores indirect converters constructed from a single {@link
+ * ConversionGraph Conversion Graph} so that repeated queries don't have to
+ * search the graph again.
+ * <p>
+ * Routing tables are safe to query from multiple threads. As conversion graphs
+ * are snapshots of a converter map, routing table has to be replaced along
+ * with its graph after converter map changes.
+ *
+ * @param <T> {@link Converter Converter} type stored in this table.
+ * @author Caellian
+ * @since 1.2.0
+ */
+public class RoutingTable<T extends Converter> {
+    /**
+     * Value stored in {@link #routes} for queries no converter was found for.
+     */
+    private static final Object NO_ROUTE = new Object();
+
+    /**
+     * Graph routes are searched in.
+     */
+    private final ConversionGraph<T> graph;
+
+    /**
+     * Previously constructed indirect converters for each queried conversion.
+     */
+    private final ConcurrentHashMap<RouteKey, Object> routes = new ConcurrentHashMap<>();
+
+    /**
+     * Default constructor.
+     *
+     * @param graph graph to search routes in.
+     */
+    public RoutingTable(ConversionGraph<T> graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * @return graph routes are searched in.
+     */
+    public ConversionGraph<T> getGraph() {
+        return graph;
+    }
+
+    /**
+     * @param from        ID of input flux type.
+     * @param to          ID of output flux type.
+     * @param maxSteps    number of steps to find indirect conversion function
+     *                    within.
+     * @param routingMode criteria used to select between multiple available
+     *                    conversion functions.
+     * @param composer    function composing found path into a single
+     *                    converter if the route isn't cached yet.
+     * @return cached or newly composed indirect converter, {@code null} if no
+     * conversion is available within defined number of steps.
+     */
+    public T getRoute(String from, String to, int maxSteps, RoutingMode routingMode, Function<List<T>, T> composer) {
+        RouteKey key = new RouteKey(from, to, maxSteps, routingMode);
+        Object route = routes.get(key);
+        if (route == null) {
+            List<T> path;
+            if (routingMode == RoutingMode.LOWEST_COST) {
+                path = graph.findCheapestPath(from, to, maxSteps);
+            } else {
+                path = graph.findShortestPath(from, to, maxSteps);
+            }
+            T composed = path != null ? composer.apply(path) : null;
+            route = composed != null ? composed : NO_ROUTE;
+
+            Object previous = routes.putIfAbsent(key, route);
+            if (previous != null) {
+                route = previous;
+            }
+        }
+        //noinspection unchecked
+        return route != NO_ROUTE ? (T) route : null;
+    }
+
+    /**
+     * Key representing a single query of {@link #routes routing table}.
+     */
+    private static final class RouteKey {
+        /**
+         * ID of input flux type.
+         */
+        private final String from;
+
+        /**
+         * ID of output flux type.
+         */
+        private final String to;
+
+        /**
+         * Number of steps conversion was searched within.
+         */
+        private final int maxSteps;
+
+        /**
+         * Criteria conversion was selected by.
+         */
+        private final RoutingMode routingMode;
+
+        /**
+         * Default constructor.
+         *
+         * @param from        ID of input flux type.
+         * @param to          ID of output flux type.
+         * @param maxSteps    number of steps conversion was searched within.
+         * @param routingMode criteria conversion was selected by.
+         */
+        private RouteKey(String from, String to, int maxSteps, RoutingMode routingMode) {
+            this.from = from;
+            this.to = to;
+            this.maxSteps = maxSteps;
+            this.routingMode = routingMode;
+        }
+
+        /**
+         * @param o key to compare this key to.
+         * @return {@code true} if this key is equal to argument key, {@code
+         * false} otherwise.
+         */
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            RouteKey that = (RouteKey) o;
+            return maxSteps == that.maxSteps && routingMode == that.routingMode &&
+                    Objects.equals(from, that.from) && Objects.equals(to, that.to);
+        }
+
+        /**
+         * @return a hash code value for this object.
+         */
+        @Override
+        public int hashCode() {
+            return Objects.hash(from, to, maxSteps, routingMode);
+        }
+    }
+
+}
@@ -0,0 +1,202 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package hr.caellian.flow.data;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Double Property is a {@link Property Property} specialized for primitive
+ * {@code double} values, such as amount, temperature.
+ * <p>
+ * Value is stored unboxed. Primitive accessors, {@link #applyAsDouble(DoubleUnaryOperator)
+ * operators} and atomic update methods don't allocate, while methods
+ * inherited from {@link Property Property} box the value. Property is
+ * externalized as its ID followed by the raw value.
+ *
+ * @author Caellian
+ * @since 1.2.0
+ */
+public class DoubleProperty extends PrimitiveProperty<Double> {
+    /**
+     * Empty constructor which is available purely for serialization and
+     * deserialization purposes.
+     */
+    public DoubleProperty() {
+    }
+
+    /**
+     * Default constructor.
+     *
+     * @param ID    ID of this property.
+     * @param value value contained by this property.
+     */
+    public DoubleProperty(String ID, double value) {
+        super(ID, Double.doubleToRawLongBits(value));
+    }
+
+    /**
+     * @return currently stored value.
+     */
+    public double getAsDouble() {
+        return Double.longBitsToDouble(bits);
+    }
+
+    /**
+     * @param value value to replace current value with.
+     * @return previously stored value.
+     */
+    public double setAsDouble(double value) {
+        return Double.longBitsToDouble(getAndSetBits(Double.doubleToRawLongBits(value)));
+    }
+
+    /**
+     * Atomically replaces current value with result of argument operator, see
+     * {@link #updateAndGet(DoubleUnaryOperator)}. Operator may be applied multiple
+     * times if value is updated concurrently.
+     *
+     * @param operator side-effect-free operator to apply to current value.
+     * @return this property.
+     */
+    public DoubleProperty applyAsDouble(DoubleUnaryOperator operator) {
+        updateAndGet(operator);
+        return this;
+    }
+
+    /**
+     * Atomically replaces current value with argument value if current value
+     * is equal to expected value.
+     * <p>
+     * Values are compared by their raw bits, so {@code NaN} values are
+     * equal and {@code 0.0} isn't equal to {@code -0.0}.
+     *
+     * @param expect expected value.
+     * @param update new value.
+     * @return {@code true} if value was replaced.
+     */
+    public boolean compareAndSet(double expect, double update) {
+        return compareAndSetBits(Double.doubleToRawLongBits(expect), Double.doubleToRawLongBits(update));
+    }
+
+    /**
+     * Atomically replaces current value with result of argument operator.
+     * Operator may be applied multiple times if value is updated concurrently.
+     *
+     * @param operator side-effect-free operator to apply to current value.
+     * @return updated value.
+     */
+    public double updateAndGet(DoubleUnaryOperator operator) {
+        long current;
+        long next;
+        do {
+            current = bits;
+            next = Double.doubleToRawLongBits(operator.applyAsDouble(Double.longBitsToDouble(current)));
+        } while (!compareAndSetBits(current, next));
+        return Double.longBitsToDouble(next);
+    }
+
+    /**
+     * Atomically replaces current value with result of argument operator.
+     * Operator may be applied multiple times if value is updated concurrently.
+     *
+     * @param operator side-effect-free operator to apply to current value.
+     * @return previous value.
+     */
+    public double getAndUpdate(DoubleUnaryOperator operator) {
+        long current;
+        do {
+            current = bits;
+        } while (!compareAndSetBits(current, Double.doubleToRawLongBits(operator.applyAsDouble(Double.longBitsToDouble(current)))));
+        return Double.longBitsToDouble(current);
+    }
+
+    /**
+     * Atomically adds argument delta to current value.
+     *
+     * @param delta value to add.
+     * @return updated value.
+     */
+    public double addAndGet(double delta) {
+        long current;
+        long next;
+        do {
+            current = bits;
+            next = Double.doubleToRawLongBits(Double.longBitsToDouble(current) + delta);
+        } while (!compareAndSetBits(current, next));
+        return Double.longBitsToDouble(next);
+    }
+
+    /**
+     * @return currently stored value.
+     */
+    @Override
+    public Double get() {
+        return getAsDouble();
+    }
+
+    /**
+     * @param newData value to replace current value with, can't be {@code
+     *                null}.
+     * @return previously stored value.
+     */
+    @Override
+    public Double set(Double newData) {
+        if (newData == null) {
+            throw new NullPointerException("Double Property can't store null.");
+        }
+        return setAsDouble(newData);
+    }
+
+    /**
+     * @return copy of this property.
+     * @throws CloneNotSupportedException never.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        return new DoubleProperty(ID, getAsDouble());
+    }
+
+    /**
+     * @param out object to store data to.
+     * @throws IOException includes any I/O exceptions that may occur.
+     */
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeUTF(ID);
+        out.writeDouble(getAsDouble());
+    }
+
+    /**
+     * @param in object to read external data from.
+     * @throws IOException includes any I/O exceptions that may occur.
+     */
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        ID = in.readUTF();
+        readBits(Double.doubleToRawLongBits(in.readDouble()));
+    }
+}
@@ -40,6 +40,23 @@ public interface FluxType<B extends Flux> extends Externalizable {
      */
     String getID();
 
+    /**
+     * Returned value is used for frequent lookups and must be resolved only
+     * once. Implementations should store value returned by {@link
+     * FluxTypeRegistry#register(FluxType)} in a field once their ID is known
+     * and return it from this method.
+     * <p>
+     * Default implementation looks index up by {@link
+     * FluxTypeRegistry#getIndex(String) ID} on every call and exists for
+     * compatibility with implementations which don't do so.
+     *
+     * @return dense {@link FluxTypeRegistry registry} index of this Flux Type.
+     * @since 1.2.0
+     */
+    default int getIndex() {
+        return FluxTypeRegistry.getIndex(getID());
+    }
+
     /**
      * This method is used for creating {@link Flux} objects.
      *
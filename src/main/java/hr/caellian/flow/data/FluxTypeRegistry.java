@@ -0,0 +1,105 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package hr.caellian.flow.data;
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Flux Type Registry assigns a dense index to every {@link FluxType Flux Type}
+ * ID.
+ * <p>
+ * Indices start at {@code 0} and are assigned in order in which IDs are first
+ * requested. They never change while the application is running, but aren't
+ * guaranteed to be the same between runs and shouldn't be stored.
+ *
+ * @author Caellian
+ * @since 1.2.0
+ */
+public class FluxTypeRegistry {
+    /**
+     * Map containing indices of all registered {@link FluxType Flux Type} IDs.
+     */
+    private static final ConcurrentHashMap<String, Integer> indices = new ConcurrentHashMap<>();
+
+    /**
+     * {@link FluxType Flux Type} IDs ordered by their indices.
+     */
+    private static final ArrayList<String> ids = new ArrayList<>();
+
+    /**
+     * Registry only provides static access.
+     */
+    private FluxTypeRegistry() {
+    }
+
+    /**
+     * @param ID {@link FluxType Flux Type} ID to return index for.
+     * @return index of argument ID. ID is registered if it wasn't already.
+     */
+    public static int getIndex(String ID) {
+        Integer index = indices.get(ID);
+        if (index == null) {
+            index = indices.computeIfAbsent(ID, key -> {
+                synchronized (ids) {
+                    ids.add(key);
+                    return ids.size() - 1;
+                }
+            });
+        }
+        return index;
+    }
+
+    /**
+     * Resolves index of argument {@link FluxType Flux Type}. Flux Types should
+     * call this method once and store returned value to return it from {@link
+     * FluxType#getIndex()}.
+     *
+     * @param type {@link FluxType Flux Type} to return index for.
+     * @return index of argument Flux Type ID. ID is registered if it wasn't
+     * already.
+     */
+    public static int register(FluxType<?> type) {
+        return getIndex(type.getID());
+    }
+
+    /**
+     * @param index index of {@link FluxType Flux Type} ID.
+     * @return {@link FluxType Flux Type} ID with argument index or {@code
+     * null} if no ID with argument index was registered.
+     */
+    public static String getID(int index) {
+        synchronized (ids) {
+            return index >= 0 && index < ids.size() ? ids.get(index) : null;
+        }
+    }
+
+    /**
+     * @return number of registered {@link FluxType Flux Type} IDs.
+     */
+    public static int size() {
+        return indices.size();
+    }
+}
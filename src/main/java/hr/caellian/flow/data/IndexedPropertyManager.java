@@ -0,0 +1,438 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package hr.caellian.flow.data;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Indexed Property Manager stores {@link Property Properties} in an
+ * open-addressed table keyed by {@link PropertyKey#getIndex() property key
+ * indices}.
+ * <p>
+ * Properties accessed through {@link PropertyKey Property Keys} are read and
+ * written with an array access and a short probe, without hashing their IDs.
+ * Size of the table depends only on number of properties stored by this
+ * manager, not on number of keys ever created. String based methods of {@link
+ * PropertyManager Property Manager} remain available and resolve IDs into
+ * keys first. {@link #getModifiableProperties() Property map} is a live view
+ * of the table.
+ * <p>
+ * Changes of stored properties are stamped by {@link #getVersionClock() clock
+ * owned by this manager}.
+ *
+ * @author Caellian
+ * @since 1.2.0
+ */
+public class IndexedPropertyManager implements PropertyManager {
+    /**
+     * Initial capacity of the table, must be a power of two.
+     */
+    private static final int INITIAL_CAPACITY = 8;
+
+    /**
+     * Marker of a slot which never stored a property.
+     */
+    private static final int EMPTY = 0;
+
+    /**
+     * Marker of a slot whose property was removed.
+     */
+    private static final int REMOVED = -1;
+
+    /**
+     * Key index of property in each slot increased by one, {@link #EMPTY} or
+     * {@link #REMOVED}.
+     */
+    private int[] keys = new int[INITIAL_CAPACITY];
+
+    /**
+     * Stored properties, {@code null} in slots without a property.
+     */
+    private Property<?>[] slots = new Property<?>[INITIAL_CAPACITY];
+
+    /**
+     * Number of stored properties.
+     */
+    private int size;
+
+    /**
+     * Number of slots which aren't {@link #EMPTY}.
+     */
+    private int used;
+
+    /**
+     * Modifiable map view of stored properties.
+     */
+    private final Map<String, Property> view = new PropertyMap();
+
+    /**
+     * Read-only map view of stored properties.
+     */
+    private final Map<String, Property> readOnlyView = Collections.unmodifiableMap(view);
+
+    /**
+     * Clock stamping changes of stored properties.
+     */
+    private final VersionClock clock = new VersionClock();
+
+    /**
+     * @return clock stamping changes of stored properties.
+     */
+    @Override
+    public VersionClock getVersionClock() {
+        return clock;
+    }
+
+    /**
+     * @return modifiable live map view of stored properties.
+     */
+    @Override
+    public Map<String, Property> getModifiableProperties() {
+        return view;
+    }
+
+    /**
+     * @return read-only live map view of stored properties.
+     */
+    @Override
+    public Map<String, Property> getProperties() {
+        return readOnlyView;
+    }
+
+    /**
+     * @param key key of requested property.
+     * @param <T> property type.
+     * @return property stored by this Property Manager represented with
+     * argument key or {@code null} if there's no such property.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Property<T> getProperty(PropertyKey<T> key) {
+        int slot = slotOf(key.getIndex());
+        // Type of stored property is assumed to match type of its key.
+        return slot >= 0 ? (Property<T>) slots[slot] : null;
+    }
+
+    /**
+     * @param key key of requested property value.
+     * @param <T> type of property.
+     * @return value of property stored by this Property Manager represented
+     * with argument key.
+     */
+    @Override
+    public <T> T getValue(PropertyKey<T> key) {
+        return getProperty(key).get();
+    }
+
+    /**
+     * @param key      key of a property to set value to.
+     * @param newValue value to set for given property key.
+     * @param <T>      property type.
+     * @return previous value of modified property or {@code null} if property
+     * map doesn't contain said property.
+     */
+    @Override
+    public <T> T setValue(PropertyKey<T> key, T newValue) {
+        Property<T> property = getProperty(key);
+        if (property != null) {
+            T old = property.get();
+            property.set(newValue);
+            return old;
+        }
+        Property<T> created = new Property<>(key.getID(), newValue);
+        created.setVersionClock(clock);
+        created.markChanged();
+        store(key.getIndex(), created);
+        return null;
+    }
+
+    /**
+     * @param id       id of a property to set value to.
+     * @param newValue value to set for given property id.
+     * @param <T>      property type.
+     * @return previous value of modified property or {@code null} if property
+     * map doesn't contain said property.
+     */
+    @Override
+    public <T> T setValue(String id, T newValue) {
+        return setValue(PropertyKey.<T>of(id), newValue);
+    }
+
+    /**
+     * @param id  id of requested property.
+     * @param <T> property type.
+     * @return property stored by this Property Manager represented with
+     * argument id.
+     */
+    @Override
+    public <T> Property<T> getProperty(String id) {
+        PropertyKey<?> key = PropertyKey.find(id);
+        //noinspection unchecked
+        return key != null ? (Property<T>) getProperty(key) : null;
+    }
+
+    /**
+     * @param index key index to look for.
+     * @return slot storing property with argument key index or {@code -1} if
+     * there's none.
+     */
+    private int slotOf(int index) {
+        int[] keys = this.keys;
+        int mask = keys.length - 1;
+        int stored = index + 1;
+        for (int slot = index & mask; ; slot = (slot + 1) & mask) {
+            int key = keys[slot];
+            if (key == stored) {
+                return slot;
+            }
+            if (key == EMPTY) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * @param index    key index to store property with.
+     * @param property property to store or {@code null} to remove stored
+     *                 property.
+     * @return previously stored property.
+     */
+    private Property<?> store(int index, Property<?> property) {
+        int slot = slotOf(index);
+        if (slot >= 0) {
+            Property<?> previous = slots[slot];
+            slots[slot] = property;
+            if (property == null) {
+                keys[slot] = REMOVED;
+                size--;
+            }
+            return previous;
+        }
+        if (property == null) {
+            return null;
+        }
+        if ((used + 1) * 4 > keys.length * 3) {
+            rehash();
+        }
+        int mask = keys.length - 1;
+        slot = index & mask;
+        while (keys[slot] != EMPTY && keys[slot] != REMOVED) {
+            slot = (slot + 1) & mask;
+        }
+        if (keys[slot] == EMPTY) {
+            used++;
+        }
+        keys[slot] = index + 1;
+        slots[slot] = property;
+        size++;
+        return null;
+    }
+
+    /**
+     * Rebuilds the table without removed slots, growing it if it's more than
+     * half full.
+     */
+    private void rehash() {
+        int capacity = INITIAL_CAPACITY;
+        while (capacity < (size + 1) * 2) {
+            capacity <<= 1;
+        }
+        int[] oldKeys = keys;
+        Property<?>[] oldSlots = slots;
+        keys = new int[capacity];
+        slots = new Property<?>[capacity];
+        int mask = capacity - 1;
+        for (int old = 0; old < oldKeys.length; old++) {
+            if (oldSlots[old] != null) {
+                int slot = (oldKeys[old] - 1) & mask;
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[old];
+                slots[slot] = oldSlots[old];
+            }
+        }
+        used = size;
+    }
+
+    /**
+     * Map view of {@link #slots}. Uses raw {@link Property} type of {@link
+     * PropertyManager#getModifiableProperties()}.
+     */
+    @SuppressWarnings("rawtypes")
+    private final class PropertyMap extends AbstractMap<String, Property> {
+        /**
+         * Entry set view of {@link #slots}.
+         */
+        private final Set<Entry<String, Property>> entries = new AbstractSet<Entry<String, Property>>() {
+            @Override
+            public Iterator<Entry<String, Property>> iterator() {
+                return new SlotIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+
+        /**
+         * @return entry set view of stored properties.
+         */
+        @Override
+        public Set<Entry<String, Property>> entrySet() {
+            return entries;
+        }
+
+        /**
+         * @return number of stored properties.
+         */
+        @Override
+        public int size() {
+            return size;
+        }
+
+        /**
+         * @param key property ID.
+         * @return property stored with argument ID or {@code null}.
+         */
+        @Override
+        public Property get(Object key) {
+            return key instanceof String ? getProperty((String) key) : null;
+        }
+
+        /**
+         * @param key property ID.
+         * @return {@code true} if a property with argument ID is stored.
+         */
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        /**
+         * @param key   property ID.
+         * @param value property to store.
+         * @return previously stored property.
+         */
+        @Override
+        public Property put(String key, Property value) {
+            if (value == null) {
+                throw new NullPointerException("Indexed Property Manager can't store null properties.");
+            }
+            return store(PropertyKey.of(key).getIndex(), value);
+        }
+
+        /**
+         * @param key property ID.
+         * @return removed property.
+         */
+        @Override
+        public Property remove(Object key) {
+            PropertyKey<?> found = key instanceof String ? PropertyKey.find((String) key) : null;
+            return found != null ? store(found.getIndex(), null) : null;
+        }
+
+        /**
+         * Removes all stored properties.
+         */
+        @Override
+        public void clear() {
+            Arrays.fill(keys, EMPTY);
+            Arrays.fill(slots, null);
+            size = 0;
+            used = 0;
+        }
+    }
+
+    /**
+     * Iterator over non-empty {@link #slots}.
+     */
+    @SuppressWarnings("rawtypes")
+    private final class SlotIterator implements Iterator<Map.Entry<String, Property>> {
+        /**
+         * Index of next non-empty slot or length of slots array.
+         */
+        private int next = advance(0);
+
+        /**
+         * Index of last returned slot, {@code -1} if there's none.
+         */
+        private int last = -1;
+
+        /**
+         * @param from index to start searching from.
+         * @return index of first non-empty slot at or after argument index.
+         */
+        private int advance(int from) {
+            Property<?>[] slots = IndexedPropertyManager.this.slots;
+            while (from < slots.length && slots[from] == null) {
+                from++;
+            }
+            return from;
+        }
+
+        /**
+         * @return {@code true} if there are more stored properties.
+         */
+        @Override
+        public boolean hasNext() {
+            return next < slots.length;
+        }
+
+        /**
+         * @return entry of next stored property.
+         */
+        @Override
+        public Map.Entry<String, Property> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next = advance(next + 1);
+            Property<?> property = slots[last];
+            return new AbstractMap.SimpleImmutableEntry<>(property.getID(), property);
+        }
+
+        /**
+         * Removes last returned property.
+         */
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            store(keys[last] - 1, null);
+            last = -1;
+        }
+    }
+}
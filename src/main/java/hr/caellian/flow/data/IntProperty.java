@@ -0,0 +1,199 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package hr.caellian.flow.data;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Int Property is a {@link Property Property} specialized for primitive
+ * {@code int} values, such as tiers and counts.
+ * <p>
+ * Value is stored unboxed. Primitive accessors, {@link #applyAsInt(IntUnaryOperator)
+ * operators} and atomic update methods don't allocate, while methods
+ * inherited from {@link Property Property} box the value. Property is
+ * externalized as its ID followed by the raw value.
+ *
+ * @author Caellian
+ * @since 1.2.0
+ */
+public class IntProperty extends PrimitiveProperty<Integer> {
+    /**
+     * Empty constructor which is available purely for serialization and
+     * deserialization purposes.
+     */
+    public IntProperty() {
+    }
+
+    /**
+     * Default constructor.
+     *
+     * @param ID    ID of this property.
+     * @param value value contained by this property.
+     */
+    public IntProperty(String ID, int value) {
+        super(ID, value);
+    }
+
+    /**
+     * @return currently stored value.
+     */
+    public int getAsInt() {
+        return (int) bits;
+    }
+
+    /**
+     * @param value value to replace current value with.
+     * @return previously stored value.
+     */
+    public int setAsInt(int value) {
+        return (int) getAndSetBits(value);
+    }
+
+    /**
+     * Atomically replaces current value with result of argument operator, see
+     * {@link #updateAndGet(IntUnaryOperator)}. Operator may be applied multiple
+     * times if value is updated concurrently.
+     *
+     * @param operator side-effect-free operator to apply to current value.
+     * @return this property.
+     */
+    public IntProperty applyAsInt(IntUnaryOperator operator) {
+        updateAndGet(operator);
+        return this;
+    }
+
+    /**
+     * Atomically replaces current value with argument value if current value
+     * is equal to expected value.
+     *
+     * @param expect expected value.
+     * @param update new value.
+     * @return {@code true} if value was replaced.
+     */
+    public boolean compareAndSet(int expect, int update) {
+        return compareAndSetBits(expect, update);
+    }
+
+    /**
+     * Atomically replaces current value with result of argument operator.
+     * Operator may be applied multiple times if value is updated concurrently.
+     *
+     * @param operator side-effect-free operator to apply to current value.
+     * @return updated value.
+     */
+    public int updateAndGet(IntUnaryOperator operator) {
+        long current;
+        long next;
+        do {
+            current = bits;
+            next = operator.applyAsInt((int) current);
+        } while (!compareAndSetBits(current, next));
+        return (int) next;
+    }
+
+    /**
+     * Atomically replaces current value with result of argument operator.
+     * Operator may be applied multiple times if value is updated concurrently.
+     *
+     * @param operator side-effect-free operator to apply to current value.
+     * @return previous value.
+     */
+    public int getAndUpdate(IntUnaryOperator operator) {
+        long current;
+        do {
+            current = bits;
+        } while (!compareAndSetBits(current, operator.applyAsInt((int) current)));
+        return (int) current;
+    }
+
+    /**
+     * Atomically adds argument delta to current value.
+     *
+     * @param delta value to add.
+     * @return updated value.
+     */
+    public int addAndGet(int delta) {
+        long current;
+        long next;
+        do {
+            current = bits;
+            next = (int) current + delta;
+        } while (!compareAndSetBits(current, next));
+        return (int) next;
+    }
+
+    /**
+     * @return currently stored value.
+     */
+    @Override
+    public Integer get() {
+        return getAsInt();
+    }
+
+    /**
+     * @param newData value to replace current value with, can't be {@code
+     *                null}.
+     * @return previously stored value.
+     */
+    @Override
+    public Integer set(Integer newData) {
+        if (newData == null) {
+            throw new NullPointerException("Int Property can't store null.");
+        }
+        return setAsInt(newData);
+    }
+
+    /**
+     * @return copy of this property.
+     * @throws CloneNotSupportedException never.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        return new IntProperty(ID, getAsInt());
+    }
+
+    /**
+     * @param out object to store data to.
+     * @throws IOException includes any I/O exceptions that may occur.
+     */
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeUTF(ID);
+        out.writeInt(getAsInt());
+    }
+
+    /**
+     * @param in object to read external data from.
+     * @throws IOException includes any I/O exceptions that may occur.
+     */
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        ID = in.readUTF();
+        readBits(in.readInt());
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package hr.caellian.flow.data;
+
+/**
+ * Numeric Properties implements typed accessors of {@link PropertyManager
+ * Property Manager} shared by their {@link String} and {@link PropertyKey}
+ * variants.
+ *
+ * @author Caellian
+ * @since 1.2.0
+ */
+final class NumericProperties {
+    /**
+     * Numeric Properties only provides static access.
+     */
+    private NumericProperties() {
+    }
+
+    /**
+     * @param property property to read, must hold a number.
+     * @return value of argument property, without boxing if it's a {@link
+     * DoubleProperty Double Property}.
+     */
+    static double getDouble(Property<?> property) {
+        if (property instanceof DoubleProperty) {
+            return ((DoubleProperty) property).getAsDouble();
+        }
+        return ((Number) property.get()).doubleValue();
+    }
+
+    /**
+     * @param manager  manager storing argument property.
+     * @param id       ID of argument property.
+     * @param property property to write or {@code null} if manager doesn't
+     *                 store it.
+     * @param newValue value to write.
+     * @return previous value of argument property or {@code 0} if it didn't
+     * exist.
+     * @throws IllegalArgumentException if argument property holds a value
+     *                                  which isn't a {@code double}.
+     */
+    static double setDouble(PropertyManager manager, String id, Property<?> property, double newValue) {
+        if (property instanceof DoubleProperty) {
+            return ((DoubleProperty) property).setAsDouble(newValue);
+        }
+        if (property == null) {
+            manager.addProperty(new DoubleProperty(id, newValue));
+            return 0;
+        }
+        Object old = replace(property, newValue, Double.class, "double");
+        return old != null ? (Double) old : 0;
+    }
+
+    /**
+     * @param property property to read, must hold a number.
+     * @return value of argument property, without boxing if it's a {@link
+     * LongProperty Long Property}.
+     */
+    static long getLong(Property<?> property) {
+        if (property instanceof LongProperty) {
+            return ((LongProperty) property).getAsLong();
+        }
+        return ((Number) property.get()).longValue();
+    }
+
+    /**
+     * @param manager  manager storing argument property.
+     * @param id       ID of argument property.
+     * @param property property to write or {@code null} if manager doesn't
+     *                 store it.
+     * @param newValue value to write.
+     * @return previous value of argument property or {@code 0} if it didn't
+     * exist.
+     * @throws IllegalArgumentException if argument property holds a value
+     *                                  which isn't a {@code long}.
+     */
+    static long setLong(PropertyManager manager, String id, Property<?> property, long newValue) {
+        if (property instanceof LongProperty) {
+            return ((LongProperty) property).setAsLong(newValue);
+        }
+        if (property == null) {
+            manager.addProperty(new LongProperty(id, newValue));
+            return 0;
+        }
+        Object old = replace(property, newValue, Long.class, "long");
+        return old != null ? (Long) old : 0;
+    }
+
+    /**
+     * @param property property to read, must hold a number.
+     * @return value of argument property, without boxing if it's a {@link
+     * IntProperty Int Property}.
+     */
+    static int getInt(Property<?> property) {
+        if (property instanceof IntProperty) {
+            return ((IntProperty) property).getAsInt();
+        }
+        return ((Number) property.get()).intValue();
+    }
+
+    /**
+     * @param manager  manager storing argument property.
+     * @param id       ID of argument property.
+     * @param property property to write or {@code null} if manager doesn't
+     *                 store it.
+     * @param newValue value to write.
+     * @return previous value of argument property or {@code 0} if it didn't
+     * exist.
+     * @throws IllegalArgumentException if argument property holds a value
+     *                                  which isn't a {@code int}.
+     */
+    static int setInt(PropertyManager manager, String id, Property<?> property, int newValue) {
+        if (property instanceof IntProperty) {
+            return ((IntProperty) property).setAsInt(newValue);
+        }
+        if (property == null) {
+            manager.addProperty(new IntProperty(id, newValue));
+            return 0;
+        }
+        Object old = replace(property, newValue, Integer.class, "int");
+        return old != null ? (Integer) old : 0;
+    }
+
+    /**
+     * Replaces value of a generic property after checking that it holds a
+     * value of argument type.
+     *
+     * @param property property to write.
+     * @param newValue value to write.
+     * @param type     type argument property has to hold.
+     * @param name     name of argument type used in exception message.
+     * @return previous value of argument property.
+     * @throws IllegalArgumentException if argument property holds a value of
+     *                                  different type.
+     */
+    private static Object replace(Property<?> property, Object newValue, Class<?> type, String name) {
+        Object old = property.get();
+        if (old != null && !type.isInstance(old)) {
+            throw new IllegalArgumentException("Property '" + property.getID() + "' stores " + old.getClass().getSimpleName() + " value, not " + name + ".");
+        }
+        //noinspection unchecked
+        ((Property<Object>) property).set(newValue);
+        return old;
+    }
+}
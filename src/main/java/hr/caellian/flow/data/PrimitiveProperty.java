@@ -0,0 +1,122 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package hr.caellian.flow.data;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.Function;
+
+/**
+ * Primitive Property is a base of {@link Property Properties} which store a
+ * primitive value unboxed as raw {@code long} bits.
+ * <p>
+ * It implements atomic updates of stored bits and {@link #markChanged()
+ * stamps} the property only if stored bits change, so subclasses only convert
+ * between their value type and bits.
+ *
+ * @param <T> boxed type of stored value.
+ * @author Caellian
+ * @since 1.2.0
+ */
+abstract class PrimitiveProperty<T> extends Property<T> {
+    /**
+     * Updater used by atomic update methods.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<PrimitiveProperty> BITS = AtomicLongFieldUpdater.newUpdater(PrimitiveProperty.class, "bits");
+
+    /**
+     * Raw bits of stored value.
+     */
+    volatile long bits;
+
+    /**
+     * Empty constructor which is available purely for serialization and
+     * deserialization purposes.
+     */
+    PrimitiveProperty() {
+    }
+
+    /**
+     * Default constructor.
+     *
+     * @param ID   ID of this property.
+     * @param bits raw bits of value contained by this property.
+     */
+    PrimitiveProperty(String ID, long bits) {
+        this.ID = ID;
+        this.bits = bits;
+    }
+
+    /**
+     * @param update bits to replace current bits with.
+     * @return previously stored bits.
+     */
+    final long getAndSetBits(long update) {
+        long old = BITS.getAndSet(this, update);
+        if (old != update) {
+            markChanged();
+        }
+        return old;
+    }
+
+    /**
+     * Replaces argument current bits with argument next bits if they weren't
+     * changed concurrently. Used by update loops of subclasses.
+     *
+     * @param current bits expected to be stored.
+     * @param next    bits to store.
+     * @return {@code true} if bits were replaced.
+     */
+    final boolean compareAndSetBits(long current, long next) {
+        if (!BITS.compareAndSet(this, current, next)) {
+            return false;
+        }
+        if (current != next) {
+            markChanged();
+        }
+        return true;
+    }
+
+    /**
+     * Stores bits read during deserialization.
+     *
+     * @param read read bits.
+     */
+    final void readBits(long read) {
+        bits = read;
+        markChanged();
+    }
+
+    /**
+     * @param function {@link Function} to apply to value of this property.
+     * @return this property with it's value replaced by value produced by
+     * applying current value to argument {@link Function}.
+     */
+    @Override
+    public Property<T> apply(Function<T, T> function) {
+        set(function.apply(get()));
+        return this;
+    }
+}
@@ -28,6 +28,8 @@ import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.function.Function;
 
 /**
@@ -42,6 +44,12 @@ import java.util.function.Function;
  * @since 1.0.0
  */
 public class Property<T> implements Externalizable, Cloneable {
+    /**
+     * Updater used to advance {@link #version} monotonically.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<Property> VERSION = AtomicLongFieldUpdater.newUpdater(Property.class, "version");
+
     /**
      * ID of this property.
      */
@@ -50,6 +58,16 @@ public class Property<T> implements Externalizable, Cloneable {
      * Data contained by this property.
      */
     protected T data;
+    /**
+     * {@link VersionClock Version} of last change of this property, {@code 0}
+     * if it never changed.
+     */
+    protected volatile long version;
+    /**
+     * Clock of {@link PropertyManager Property Manager} owning this property,
+     * {@code null} if owner doesn't track changes.
+     */
+    protected VersionClock clock;
 
     /**
      * Empty constructor which is available purely for serialization and
@@ -88,11 +106,14 @@ public class Property<T> implements Externalizable, Cloneable {
      * @return currently stored data or argument data if stored data is null.
      */
     public T getOrDefault(T defaultValue) {
+        T data = get();
         return data != null ? data : defaultValue;
     }
 
     /**
      * Set method replaces currently stored data with argument data.
+     * Property is only {@link #markChanged() stamped} if argument data isn't
+     * equal to current data.
      *
      * @param newData data to replace current data with.
      * @return data previously stored in this {@link Property} or argument data
@@ -101,7 +122,10 @@ public class Property<T> implements Externalizable, Cloneable {
     public T set(T newData) {
         T old = this.data;
         this.data = newData;
-        return old.equals(newData) ? old : newData;
+        if (!Objects.equals(old, newData)) {
+            markChanged();
+        }
+        return Objects.equals(old, newData) ? old : newData;
     }
 
     /**
@@ -113,7 +137,7 @@ public class Property<T> implements Externalizable, Cloneable {
      * applying current data to it.
      */
     public <O> Property<O> bind(Function<T, Property<O>> function) {
-        return function.apply(this.data);
+        return function.apply(get());
     }
 
     /**
@@ -125,7 +149,7 @@ public class Property<T> implements Externalizable, Cloneable {
      * current data to it.
      */
     public <O> Property<O> map(Function<T, O> function) {
-        return new Property<>(ID, function.apply(this.data));
+        return new Property<>(ID, function.apply(get()));
     }
 
     /**
@@ -136,15 +160,75 @@ public class Property<T> implements Externalizable, Cloneable {
      */
     public Property<T> apply(Function<T, T> function) {
         this.data = function.apply(data);
+        markChanged();
         return this;
     }
 
+    /**
+     * @return {@link VersionClock version} of last change of this property.
+     * @since 1.2.0
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @param version {@link VersionClock version} to compare against.
+     * @return {@code true} if this property changed after argument version.
+     * @since 1.2.0
+     */
+    public boolean isChangedSince(long version) {
+        return this.version > version;
+    }
+
+    /**
+     * Stamps this property with a new version of {@link #getVersionClock()
+     * clock of its owner}. Properties without a clock count their changes
+     * instead. Should be called after data of this property was mutated in
+     * place.
+     * <p>
+     * Version never decreases, so concurrent changes finishing out of order
+     * keep the greatest stamp.
+     *
+     * @since 1.2.0
+     */
+    public void markChanged() {
+        VersionClock clock = this.clock;
+        if (clock != null) {
+            VERSION.accumulateAndGet(this, clock.next(), Math::max);
+        } else {
+            VERSION.incrementAndGet(this);
+        }
+    }
+
+    /**
+     * @return clock of {@link PropertyManager Property Manager} owning this
+     * property, {@code null} if owner doesn't track changes.
+     * @since 1.2.0
+     */
+    public VersionClock getVersionClock() {
+        return clock;
+    }
+
+    /**
+     * Called by {@link PropertyManager#addProperty(Property)} when this
+     * property is stored in a Property Manager.
+     *
+     * @param clock clock of {@link PropertyManager Property Manager} owning
+     *              this property, {@code null} if owner doesn't track
+     *              changes.
+     * @since 1.2.0
+     */
+    public void setVersionClock(VersionClock clock) {
+        this.clock = clock;
+    }
+
     /**
      * @return {@link String} representation of this property.
      */
     @Override
     public String toString() {
-        return "Property:{ID: '" + ID + "', data: " + data.toString() + "}";
+        return "Property:{ID: '" + ID + "', data: " + get() + "}";
     }
 
     @Override
@@ -175,5 +259,6 @@ public class Property<T> implements Externalizable, Cloneable {
         ID = (String) in.readObject();
         //noinspection unchecked
         data = (T) in.readObject();
+        markChanged();
     }
 }
@@ -0,0 +1,144 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package hr.caellian.flow.data;
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Property Keys are interned, typed identifiers of {@link Property
+ * Properties}.
+ * <p>
+ * Every key is given a unique dense index when it's first requested, which
+ * allows {@link IndexedPropertyManager Indexed Property Managers} to store
+ * properties in arrays and access them without hashing. Keys with the same ID
+ * are the same object, so they should be stored in constants:
+ * <code> static final PropertyKey&lt;Double&gt; AMOUNT = PropertyKey.of("amount"); </code>
+ *
+ * @param <T> type of data stored in properties identified by this key.
+ * @author Caellian
+ * @since 1.2.0
+ */
+public final class PropertyKey<T> {
+    /**
+     * Keys indexed by their IDs.
+     */
+    private static final ConcurrentHashMap<String, PropertyKey<?>> keys = new ConcurrentHashMap<>();
+
+    /**
+     * Keys in order of their indices.
+     */
+    private static final ArrayList<PropertyKey<?>> indexed = new ArrayList<>();
+
+    /**
+     * ID of properties identified by this key.
+     */
+    private final String ID;
+
+    /**
+     * Dense index of this key.
+     */
+    private final int index;
+
+    /**
+     * Constructor used by {@link #of(String)}.
+     *
+     * @param ID    ID of properties identified by this key.
+     * @param index dense index of this key.
+     */
+    private PropertyKey(String ID, int index) {
+        this.ID = ID;
+        this.index = index;
+    }
+
+    /**
+     * @param ID  ID of properties identified by returned key.
+     * @param <T> type of data stored in properties identified by returned
+     *            key.
+     * @return key for argument property ID, creating it if it doesn't exist.
+     */
+    public static <T> PropertyKey<T> of(String ID) {
+        PropertyKey<?> key = keys.get(ID);
+        if (key == null) {
+            key = keys.computeIfAbsent(ID, id -> {
+                synchronized (indexed) {
+                    PropertyKey<?> created = new PropertyKey<>(id, indexed.size());
+                    indexed.add(created);
+                    return created;
+                }
+            });
+        }
+        //noinspection unchecked
+        return (PropertyKey<T>) key;
+    }
+
+    /**
+     * @param ID ID of properties identified by returned key.
+     * @return key for argument property ID or {@code null} if it wasn't
+     * created yet.
+     */
+    public static PropertyKey<?> find(String ID) {
+        return keys.get(ID);
+    }
+
+    /**
+     * @param index index of key.
+     * @return key with argument index or {@code null} if there's no such key.
+     */
+    public static PropertyKey<?> get(int index) {
+        synchronized (indexed) {
+            return index >= 0 && index < indexed.size() ? indexed.get(index) : null;
+        }
+    }
+
+    /**
+     * @return number of created keys.
+     */
+    public static int size() {
+        return keys.size();
+    }
+
+    /**
+     * @return ID of properties identified by this key.
+     */
+    public String getID() {
+        return ID;
+    }
+
+    /**
+     * @return dense index of this key.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return {@link String} representation of this key.
+     */
+    @Override
+    public String toString() {
+        return "PropertyKey:{ID: '" + ID + "', index: " + index + "}";
+    }
+}
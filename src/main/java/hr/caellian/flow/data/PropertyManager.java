@@ -53,17 +53,49 @@ public interface PropertyManager {
     }
 
     /**
-     * Stores argument property in this Property Manager.
+     * Clock used to stamp changes of stored properties. Property Managers
+     * which track changes return their own clock, so that changes of
+     * different managers don't contend on shared state.
+     *
+     * @return clock used to stamp changes of stored properties, {@code null}
+     * if this Property Manager doesn't track changes.
+     * @since 1.2.0
+     */
+    default VersionClock getVersionClock() {
+        return null;
+    }
+
+    /**
+     * Stores argument property in this Property Manager and stamps it with a
+     * new version of {@link #getVersionClock() its clock}.
      *
      * @param property property to store in this Property Manager.
      * @param <T>      argument property type.
      */
     default <T> void addProperty(Property<T> property) {
         if (property != null) {
+            property.setVersionClock(getVersionClock());
+            property.markChanged();
             this.<T>getModifiableProperties().put(property.getID(), property);
         }
     }
 
+    /**
+     * @param version version of {@link #getVersionClock() clock of this
+     *                manager} to compare against.
+     * @return {@code true} if any property stored in this Property Manager
+     * changed after argument version.
+     * @since 1.2.0
+     */
+    default boolean isChangedSince(long version) {
+        for (Property<?> property : getModifiableProperties().values()) {
+            if (property.isChangedSince(version)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * This method will modify already registered property or add it to the map
      * if it isn't currently contained within the map.
@@ -75,15 +107,31 @@ public interface PropertyManager {
      * map doesn't contain said property.
      */
     default <T> T setValue(String id, T newValue) {
-        if (getProperties().containsKey(id)) {
-            T old = this.<T>getProperty(id).get();
-            this.<T>getProperty(id).set(newValue);
+        //noinspection unchecked
+        Property<T> property = getModifiableProperties().get(id);
+        if (property != null) {
+            T old = property.get();
+            property.set(newValue);
             return old;
         }
-        getModifiableProperties().put(id, new Property<>(id, newValue));
+        addProperty(new Property<>(id, newValue));
         return null;
     }
 
+    /**
+     * Typed version of {@link #setValue(String, Object)}.
+     *
+     * @param key      key of a property to set value to.
+     * @param newValue value to set for given property key.
+     * @param <T>      property type.
+     * @return previous value of modified property or {@code null} if property
+     * map doesn't contain said property.
+     * @since 1.2.0
+     */
+    default <T> T setValue(PropertyKey<T> key, T newValue) {
+        return setValue(key.getID(), newValue);
+    }
+
     /**
      * @param id  id of requested property.
      * @param <T> property type.
@@ -92,7 +140,18 @@ public interface PropertyManager {
      */
     default <T> Property<T> getProperty(String id) {
         //noinspection unchecked
-        return this.getProperties().get(id);
+        return this.getModifiableProperties().get(id);
+    }
+
+    /**
+     * @param key key of requested property.
+     * @param <T> property type.
+     * @return property stored by this Property Manager represented with
+     * argument key or {@code null} if there's no such property.
+     * @since 1.2.0
+     */
+    default <T> Property<T> getProperty(PropertyKey<T> key) {
+        return getProperty(key.getID());
     }
 
     /**
@@ -116,7 +175,198 @@ public interface PropertyManager {
      * with argument id.
      */
     default <T> T getValue(String id) {
-        return this.<T>getProperty(id).data;
+        return this.<T>getProperty(id).get();
+    }
+
+    /**
+     * @param key key of requested property value.
+     * @param <T> type of property.
+     * @return value of property stored by this Property Manager represented
+     * with argument key.
+     * @since 1.2.0
+     */
+    default <T> T getValue(PropertyKey<T> key) {
+        return getProperty(key).get();
+    }
+
+    /**
+     * Reads a {@code double} property without boxing if it's a {@link
+     * DoubleProperty Double Property}.
+     *
+     * @param id id of requested property.
+     * @return value of property stored by this Property Manager represented
+     * with argument id.
+     * @since 1.2.0
+     */
+    default double getDouble(String id) {
+        return NumericProperties.getDouble(getProperty(id));
+    }
+
+    /**
+     * Reads a {@code double} property without boxing if it's a {@link
+     * DoubleProperty Double Property}.
+     *
+     * @param key key of requested property.
+     * @return value of property stored by this Property Manager represented
+     * with argument key.
+     * @since 1.2.0
+     */
+    default double getDouble(PropertyKey<Double> key) {
+        return NumericProperties.getDouble(getProperty(key));
+    }
+
+    /**
+     * Writes a {@code double} property without boxing if it's a {@link
+     * DoubleProperty Double Property}. If property doesn't exist, a {@link
+     * DoubleProperty Double Property} is created.
+     *
+     * @param id       id of a property to set value to.
+     * @param newValue value to set for given property id.
+     * @return previous value of modified property or {@code 0} if property
+     * map doesn't contain said property.
+     * @throws IllegalArgumentException if stored property holds a value which
+     *                                  isn't a {@code double}.
+     * @since 1.2.0
+     */
+    default double setDouble(String id, double newValue) {
+        return NumericProperties.setDouble(this, id, getProperty(id), newValue);
+    }
+
+    /**
+     * Writes a {@code double} property without boxing if it's a {@link
+     * DoubleProperty Double Property}. If property doesn't exist, a {@link
+     * DoubleProperty Double Property} is created.
+     *
+     * @param key      key of a property to set value to.
+     * @param newValue value to set for given property key.
+     * @return previous value of modified property or {@code 0} if property
+     * map doesn't contain said property.
+     * @throws IllegalArgumentException if stored property holds a value which
+     *                                  isn't a {@code double}.
+     * @since 1.2.0
+     */
+    default double setDouble(PropertyKey<Double> key, double newValue) {
+        return NumericProperties.setDouble(this, key.getID(), getProperty(key), newValue);
+    }
+
+    /**
+     * Reads a {@code long} property without boxing if it's a {@link
+     * LongProperty Long Property}.
+     *
+     * @param id id of requested property.
+     * @return value of property stored by this Property Manager represented
+     * with argument id.
+     * @since 1.2.0
+     */
+    default long getLong(String id) {
+        return NumericProperties.getLong(getProperty(id));
+    }
+
+    /**
+     * Reads a {@code long} property without boxing if it's a {@link
+     * LongProperty Long Property}.
+     *
+     * @param key key of requested property.
+     * @return value of property stored by this Property Manager represented
+     * with argument key.
+     * @since 1.2.0
+     */
+    default long getLong(PropertyKey<Long> key) {
+        return NumericProperties.getLong(getProperty(key));
+    }
+
+    /**
+     * Writes a {@code long} property without boxing if it's a {@link
+     * LongProperty Long Property}. If property doesn't exist, a {@link
+     * LongProperty Long Property} is created.
+     *
+     * @param id       id of a property to set value to.
+     * @param newValue value to set for given property id.
+     * @return previous value of modified property or {@code 0} if property
+     * map doesn't contain said property.
+     * @throws IllegalArgumentException if stored property holds a value which
+     *                                  isn't a {@code long}.
+     * @since 1.2.0
+     */
+    default long setLong(String id, long newValue) {
+        return NumericProperties.setLong(this, id, getProperty(id), newValue);
+    }
+
+    /**
+     * Writes a {@code long} property without boxing if it's a {@link
+     * LongProperty Long Property}. If property doesn't exist, a {@link
+     * LongProperty Long Property} is created.
+     *
+     * @param key      key of a property to set value to.
+     * @param newValue value to set for given property key.
+     * @return previous value of modified property or {@code 0} if property
+     * map doesn't contain said property.
+     * @throws IllegalArgumentException if stored property holds a value which
+     *                                  isn't a {@code long}.
+     * @since 1.2.0
+     */
+    default long setLong(PropertyKey<Long> key, long newValue) {
+        return NumericProperties.setLong(this, key.getID(), getProperty(key), newValue);
+    }
+
+    /**
+     * Reads a {@code int} property without boxing if it's a {@link
+     * IntProperty Int Property}.
+     *
+     * @param id id of requested property.
+     * @return value of property stored by this Property Manager represented
+     * with argument id.
+     * @since 1.2.0
+     */
+    default int getInt(String id) {
+        return NumericProperties.getInt(getProperty(id));
+    }
+
+    /**
+     * Reads a {@code int} property without boxing if it's a {@link
+     * IntProperty Int Property}.
+     *
+     * @param key key of requested property.
+     * @return value of property stored by this Property Manager represented
+     * with argument key.
+     * @since 1.2.0
+     */
+    default int getInt(PropertyKey<Integer> key) {
+        return NumericProperties.getInt(getProperty(key));
+    }
+
+    /**
+     * Writes a {@code int} property without boxing if it's a {@link
+     * IntProperty Int Property}. If property doesn't exist, a {@link
+     * IntProperty Int Property} is created.
+     *
+     * @param id       id of a property to set value to.
+     * @param newValue value to set for given property id.
+     * @return previous value of modified property or {@code 0} if property
+     * map doesn't contain said property.
+     * @throws IllegalArgumentException if stored property holds a value which
+     *                                  isn't a {@code int}.
+     * @since 1.2.0
+     */
+    default int setInt(String id, int newValue) {
+        return NumericProperties.setInt(this, id, getProperty(id), newValue);
+    }
+
+    /**
+     * Writes a {@code int} property without boxing if it's a {@link
+     * IntProperty Int Property}. If property doesn't exist, a {@link
+     * IntProperty Int Property} is created.
+     *
+     * @param key      key of a property to set value to.
+     * @param newValue value to set for given property key.
+     * @return previous value of modified property or {@code 0} if property
+     * map doesn't contain said property.
+     * @throws IllegalArgumentException if stored property holds a value which
+     *                                  isn't a {@code int}.
+     * @since 1.2.0
+     */
+    default int setInt(PropertyKey<Integer> key, int newValue) {
+        return NumericProperties.setInt(this, key.getID(), getProperty(key), newValue);
     }
 
     /**
@@ -128,7 +378,7 @@ public interface PropertyManager {
      * Manager, default value is returned.
      */
     default <T> T getValueWithDefault(String id, T defaultValue) {
-        return getPropertyWithDefault(id, defaultValue).data;
+        return getPropertyWithDefault(id, defaultValue).get();
     }
 
     /**
@@ -145,7 +395,7 @@ public interface PropertyManager {
         prop.apply(func);
 
         // In case setValue was overridden, as if we did a deep copy
-        setValue(id, prop.data);
+        setValue(id, prop.get());
 
         return prop;
     }
@@ -0,0 +1,65 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package hr.caellian.flow.data;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version Clock provides monotonically increasing versions used to track
+ * changes of {@link Property Properties} and {@link
+ * hr.caellian.flow.network.transfer.IndexedFluxContainer Flux Containers}.
+ * <p>
+ * Every {@link PropertyManager Property Manager} or Flux Container tracking
+ * changes owns its own clock, so changes made by different owners don't
+ * contend on shared state. Every change is stamped with a new version of
+ * clock of its owner. Reading {@link #current()} before a save or
+ * synchronization allows later retrieval of only those changes which
+ * happened afterwards. Versions of different clocks aren't comparable.
+ *
+ * @author Caellian
+ * @since 1.2.0
+ */
+public final class VersionClock {
+    /**
+     * Last issued version.
+     */
+    private final AtomicLong clock = new AtomicLong();
+
+    /**
+     * @return new version, greater than all previously issued versions of
+     * this clock.
+     */
+    public long next() {
+        return clock.incrementAndGet();
+    }
+
+    /**
+     * @return last issued version. Changes made afterwards will have greater
+     * versions.
+     */
+    public long current() {
+        return clock.get();
+    }
+}
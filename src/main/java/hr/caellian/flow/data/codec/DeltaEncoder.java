@@ -0,0 +1,175 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package hr.caellian.flow.data.codec;
+
+import hr.caellian.flow.data.Flux;
+import hr.caellian.flow.data.Property;
+import hr.caellian.flow.data.PropertyManager;
+import hr.caellian.flow.network.transfer.IndexedFluxContainer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Delta Encoder writes only state which changed after a {@link
+ * hr.caellian.flow.data.VersionClock version} using a {@link FluxCodec Flux
+ * Codec}.
+ * <p>
+ * Saves and synchronization record {@link
+ * hr.caellian.flow.data.VersionClock#current() current version} of {@link
+ * PropertyManager#getVersionClock() manager} or {@link
+ * IndexedFluxContainer#getVersionClock() container} clock before they start
+ * and pass it to the next delta, so amount of written data depends on number
+ * of changes instead of size of stored state.
+ *
+ * @author Caellian
+ * @since 1.2.0
+ */
+public class DeltaEncoder {
+    /**
+     * Codec used to write properties and Flux.
+     */
+    private final FluxCodec codec;
+
+    /**
+     * Default constructor.
+     *
+     * @param codec codec used to write properties and Flux.
+     */
+    public DeltaEncoder(FluxCodec codec) {
+        this.codec = codec;
+    }
+
+    /**
+     * @return codec used to write properties and Flux.
+     */
+    public FluxCodec getCodec() {
+        return codec;
+    }
+
+    /**
+     * Writes properties of argument manager which changed after argument
+     * version.
+     *
+     * @param out     buffer to write to.
+     * @param manager manager to write properties of.
+     * @param since   version changes are written after.
+     * @return number of written properties.
+     * @throws IOException if a property value can't be written.
+     */
+    public int writeProperties(ByteBuffer out, PropertyManager manager, long since) throws IOException {
+        // Single pass, as properties may be stamped while they're written.
+        ArrayList<Property<?>> changed = new ArrayList<>();
+        for (Property<?> property : manager.getModifiableProperties().values()) {
+            if (property.isChangedSince(since)) {
+                changed.add(property);
+            }
+        }
+        VarInt.writeUnsignedInt(out, changed.size());
+        for (Property<?> property : changed) {
+            codec.writeProperty(out, property);
+        }
+        return changed.size();
+    }
+
+    /**
+     * Applies properties written by {@link #writeProperties(ByteBuffer,
+     * PropertyManager, long)} to argument manager.
+     *
+     * @param in      buffer to read from.
+     * @param manager manager to apply read properties to.
+     * @return number of read properties.
+     * @throws IOException if properties are malformed.
+     */
+    public int readProperties(ByteBuffer in, PropertyManager manager) throws IOException {
+        int count = VarInt.readLength(in);
+        for (int i = 0; i < count; i++) {
+            Property<?> read = codec.readProperty(in);
+            Property<Object> property = manager.getProperty(read.getID());
+            if (property != null) {
+                property.set(read.get());
+            } else {
+                manager.addProperty(read);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Writes Flux of argument container which was added, replaced or removed
+     * after argument version. Changed Flux is written whole, removed Flux as
+     * its ID only.
+     *
+     * @param out       buffer to write to.
+     * @param container container to write changes of.
+     * @param since     version changes are written after.
+     * @return number of written changes.
+     * @throws IOException if a property value can't be written.
+     */
+    public int writeContainer(ByteBuffer out, IndexedFluxContainer<?> container, long since) throws IOException {
+        Collection<String> changed = container.getChangedSince(since);
+        VarInt.writeUnsignedInt(out, changed.size());
+        for (String ID : changed) {
+            codec.writeID(out, ID);
+            Flux<?> flux = container.getFlux(ID);
+            if (flux != null) {
+                out.put((byte) 1);
+                codec.writeFlux(out, flux);
+            } else {
+                out.put((byte) 0);
+            }
+        }
+        return changed.size();
+    }
+
+    /**
+     * Applies changes written by {@link #writeContainer(ByteBuffer,
+     * IndexedFluxContainer, long)} to argument container.
+     *
+     * @param in        buffer to read from.
+     * @param container container to apply read changes to.
+     * @param <B>       Flux superclass supported by argument container.
+     * @return number of read changes.
+     * @throws IOException if changes are malformed or a Flux Type wasn't
+     *                     {@link FluxCodec#registerType(
+     *                     hr.caellian.flow.data.FluxType) registered}.
+     */
+    public <B extends Flux> int readContainer(ByteBuffer in, IndexedFluxContainer<B> container) throws IOException {
+        int count = VarInt.readLength(in);
+        for (int i = 0; i < count; i++) {
+            String ID = codec.readID(in);
+            FluxCodec.require(in, Byte.BYTES);
+            if (in.get() != 0) {
+                //noinspection unchecked
+                container.replaceFlux((B) codec.readFlux(in));
+            } else {
+                container.removeFlux(ID);
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,729 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package hr.caellian.flow.data.codec;
+
+import hr.caellian.flow.data.DoubleProperty;
+import hr.caellian.flow.data.Flux;
+import hr.caellian.flow.data.FluxType;
+import hr.caellian.flow.data.IntProperty;
+import hr.caellian.flow.data.LongProperty;
+import hr.caellian.flow.data.Property;
+import hr.caellian.flow.network.transfer.FluxContainer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.InvalidObjectException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Flux Codec encodes {@link Flux Flux}, {@link Property Properties} and
+ * contents of {@link FluxContainer Flux Containers} into compact binary form
+ * directly in {@link ByteBuffer Byte Buffers}.
+ * <p>
+ * Unlike {@link java.io.Externalizable} methods of those classes, codec
+ * doesn't write class descriptors or boxed values:
+ * <ul>
+ * <li>Property and Flux Type IDs are interned. First occurrence of an ID is
+ * written as a string, later occurrences as a {@link VarInt variable length}
+ * index.</li>
+ * <li>Primitive values, their wrappers, strings and byte arrays are written
+ * with a one byte tag followed by their {@link VarInt variable length} or
+ * fixed width encoding.</li>
+ * <li>{@link DoubleProperty}, {@link LongProperty} and {@link IntProperty}
+ * are written with a tag of their own, so they are decoded as the same
+ * specialized property.</li>
+ * <li>Other types are written by {@link ValueCodec Value Codecs} registered
+ * for their exact class, or using Java serialization if {@link
+ * #setSerializationFallback(boolean) enabled}.</li>
+ * </ul>
+ * <p>
+ * Reading malformed data fails with an {@link IOException}. Serialized values
+ * are only read if serialization fallback is enabled and their classes are
+ * accepted by {@link #setSerializationFilter(Predicate) serialization
+ * filter}, as deserializing data from untrusted sources can execute arbitrary
+ * code.
+ * <p>
+ * Interned IDs are shared by all values written to or read from a single
+ * stream, so a codec instance should be used for a single stream, such as a
+ * save file or a network connection, and both sides must register the same
+ * {@link #registerType(FluxType) Flux Types} and {@link
+ * #registerValueCodec(int, Class, ValueCodec) Value Codecs}. Codecs aren't
+ * thread safe.
+ * <p>
+ * If writing a property, Flux or container fails, position of the buffer is
+ * restored and IDs interned by the failed call are forgotten, so the codec
+ * can keep writing to the same stream. Records composed of several calls
+ * must be discarded as a whole, or the codec {@link #reset() reset}, if one
+ * of the calls fails.
+ *
+ * @author Caellian
+ * @since 1.2.0
+ */
+public class FluxCodec {
+    /**
+     * Smallest tag which can be used by custom {@link ValueCodec Value
+     * Codecs}.
+     */
+    public static final int FIRST_CUSTOM_TAG = 16;
+
+    /**
+     * Tag of {@code null} values.
+     */
+    private static final int TAG_NULL = 0;
+
+    /**
+     * Tag of {@code false} boolean values.
+     */
+    private static final int TAG_FALSE = 1;
+
+    /**
+     * Tag of {@code true} boolean values.
+     */
+    private static final int TAG_TRUE = 2;
+
+    /**
+     * Tag of byte values.
+     */
+    private static final int TAG_BYTE = 3;
+
+    /**
+     * Tag of short values.
+     */
+    private static final int TAG_SHORT = 4;
+
+    /**
+     * Tag of char values.
+     */
+    private static final int TAG_CHAR = 5;
+
+    /**
+     * Tag of int values.
+     */
+    private static final int TAG_INT = 6;
+
+    /**
+     * Tag of long values.
+     */
+    private static final int TAG_LONG = 7;
+
+    /**
+     * Tag of float values.
+     */
+    private static final int TAG_FLOAT = 8;
+
+    /**
+     * Tag of double values.
+     */
+    private static final int TAG_DOUBLE = 9;
+
+    /**
+     * Tag of string values.
+     */
+    private static final int TAG_STRING = 10;
+
+    /**
+     * Tag of byte array values.
+     */
+    private static final int TAG_BYTES = 11;
+
+    /**
+     * Tag of {@link DoubleProperty} values.
+     */
+    private static final int TAG_DOUBLE_PROPERTY = 12;
+
+    /**
+     * Tag of {@link LongProperty} values.
+     */
+    private static final int TAG_LONG_PROPERTY = 13;
+
+    /**
+     * Tag of {@link IntProperty} values.
+     */
+    private static final int TAG_INT_PROPERTY = 14;
+
+    /**
+     * Tag of values written using Java serialization.
+     */
+    private static final int TAG_SERIALIZED = 15;
+
+    /**
+     * Custom value codecs indexed by exact class of values they encode.
+     */
+    private final Map<Class<?>, CodecEntry<?>> codecsByType = new HashMap<>();
+
+    /**
+     * Custom value codecs indexed by their tags.
+     */
+    private final Map<Integer, CodecEntry<?>> codecsByTag = new HashMap<>();
+
+    /**
+     * Flux types Flux can be decoded as, indexed by their IDs.
+     */
+    private final Map<String, FluxType<?>> types = new HashMap<>();
+
+    /**
+     * Indices of IDs already written by this codec.
+     */
+    private final Map<String, Integer> writtenIDs = new HashMap<>();
+
+    /**
+     * IDs already written by this codec, in order of their indices.
+     */
+    private final ArrayList<String> writtenOrder = new ArrayList<>();
+
+    /**
+     * IDs already read by this codec, in order of their indices.
+     */
+    private final ArrayList<String> readIDs = new ArrayList<>();
+
+    /**
+     * {@code true} if values without registered codecs are written and read
+     * using Java serialization.
+     */
+    private boolean serializationFallback = false;
+
+    /**
+     * Filter accepting names of classes serialized values can be read as,
+     * {@code null} if all classes are accepted.
+     */
+    private Predicate<String> serializationFilter;
+
+    /**
+     * @param type Flux Type decoded Flux with argument type's ID should be
+     *             created by.
+     */
+    public void registerType(FluxType<?> type) {
+        types.put(type.getID(), type);
+    }
+
+    /**
+     * @param tag   tag identifying values encoded by argument codec, has to
+     *              be the same for both encoding and decoding codec and at
+     *              least {@link #FIRST_CUSTOM_TAG}.
+     * @param type  exact class of values encoded by argument codec.
+     * @param codec codec to register.
+     * @param <T>   type of values encoded by argument codec.
+     */
+    public <T> void registerValueCodec(int tag, Class<T> type, ValueCodec<T> codec) {
+        if (tag < FIRST_CUSTOM_TAG) {
+            throw new IllegalArgumentException("Tags smaller than " + FIRST_CUSTOM_TAG + " are reserved.");
+        }
+        if (codecsByTag.containsKey(tag)) {
+            throw new IllegalArgumentException("Tag " + tag + " is already registered.");
+        }
+        CodecEntry<T> entry = new CodecEntry<>(tag, codec);
+        codecsByType.put(type, entry);
+        codecsByTag.put(tag, entry);
+    }
+
+    /**
+     * @return {@code true} if values without registered codecs are written and
+     * read using Java serialization.
+     */
+    public boolean isSerializationFallback() {
+        return serializationFallback;
+    }
+
+    /**
+     * Serialization fallback is disabled by default. It should only be
+     * enabled for trusted streams, or together with a {@link
+     * #setSerializationFilter(Predicate) serialization filter}.
+     *
+     * @param serializationFallback {@code true} if values without registered
+     *                              codecs should be written and read using
+     *                              Java serialization, {@code false} if
+     *                              writing and reading them should fail.
+     */
+    public void setSerializationFallback(boolean serializationFallback) {
+        this.serializationFallback = serializationFallback;
+    }
+
+    /**
+     * @return filter accepting names of classes serialized values can be read
+     * as, {@code null} if all classes are accepted.
+     */
+    public Predicate<String> getSerializationFilter() {
+        return serializationFilter;
+    }
+
+    /**
+     * Sets allowlist of classes which can be deserialized when {@link
+     * #setSerializationFallback(boolean) serialization fallback} is enabled.
+     * Argument filter is tested with name of every class in serialized object
+     * graph, including array and field classes.
+     *
+     * @param serializationFilter filter accepting names of classes serialized
+     *                            values can be read as, {@code null} to accept
+     *                            all classes.
+     */
+    public void setSerializationFilter(Predicate<String> serializationFilter) {
+        this.serializationFilter = serializationFilter;
+    }
+
+    /**
+     * Forgets all interned IDs. Should be called when codec starts writing or
+     * reading a new stream.
+     */
+    public void reset() {
+        writtenIDs.clear();
+        writtenOrder.clear();
+        readIDs.clear();
+    }
+
+    /**
+     * Undoes a failed write.
+     *
+     * @param out      buffer failed write wrote to.
+     * @param position position of argument buffer before failed write.
+     * @param interned number of interned IDs before failed write.
+     */
+    private void rollback(ByteBuffer out, int position, int interned) {
+        while (writtenOrder.size() > interned) {
+            writtenIDs.remove(writtenOrder.remove(writtenOrder.size() - 1));
+        }
+        out.position(position);
+    }
+
+    /**
+     * @param out buffer to write to.
+     * @param ID  ID to write.
+     */
+    public void writeID(ByteBuffer out, String ID) {
+        Integer index = writtenIDs.get(ID);
+        if (index != null) {
+            VarInt.writeUnsignedInt(out, index + 1);
+        } else {
+            VarInt.writeUnsignedInt(out, 0);
+            VarInt.writeString(out, ID);
+            writtenIDs.put(ID, writtenOrder.size());
+            writtenOrder.add(ID);
+        }
+    }
+
+    /**
+     * @param in buffer to read from.
+     * @return read ID.
+     * @throws StreamCorruptedException if read ID index wasn't interned.
+     */
+    public String readID(ByteBuffer in) throws StreamCorruptedException {
+        int index = VarInt.readUnsignedInt(in);
+        if (index == 0) {
+            String ID = VarInt.readString(in);
+            readIDs.add(ID);
+            return ID;
+        }
+        if (index > readIDs.size()) {
+            throw new StreamCorruptedException("Unknown interned ID index: " + (index - 1));
+        }
+        return readIDs.get(index - 1);
+    }
+
+    /**
+     * @param out   buffer to write to.
+     * @param value value to write, may be {@code null}.
+     * @throws IOException if value has no registered codec and can't be
+     *                     serialized.
+     */
+    public void writeValue(ByteBuffer out, Object value) throws IOException {
+        if (value == null) {
+            out.put((byte) TAG_NULL);
+            return;
+        }
+        Class<?> type = value.getClass();
+        CodecEntry<?> entry = codecsByType.get(type);
+        if (entry != null) {
+            VarInt.writeUnsignedInt(out, entry.tag);
+            entry.write(out, value);
+        } else if (type == Boolean.class) {
+            out.put((byte) ((Boolean) value ? TAG_TRUE : TAG_FALSE));
+        } else if (type == Integer.class) {
+            out.put((byte) TAG_INT);
+            VarInt.writeInt(out, (Integer) value);
+        } else if (type == Long.class) {
+            out.put((byte) TAG_LONG);
+            VarInt.writeLong(out, (Long) value);
+        } else if (type == Double.class) {
+            out.put((byte) TAG_DOUBLE);
+            out.putDouble((Double) value);
+        } else if (type == Float.class) {
+            out.put((byte) TAG_FLOAT);
+            out.putFloat((Float) value);
+        } else if (type == String.class) {
+            out.put((byte) TAG_STRING);
+            VarInt.writeString(out, (String) value);
+        } else if (type == Byte.class) {
+            out.put((byte) TAG_BYTE);
+            out.put((Byte) value);
+        } else if (type == Short.class) {
+            out.put((byte) TAG_SHORT);
+            VarInt.writeInt(out, (Short) value);
+        } else if (type == Character.class) {
+            out.put((byte) TAG_CHAR);
+            VarInt.writeUnsignedInt(out, (Character) value);
+        } else if (type == byte[].class) {
+            out.put((byte) TAG_BYTES);
+            VarInt.writeUnsignedInt(out, ((byte[]) value).length);
+            out.put((byte[]) value);
+        } else if (serializationFallback) {
+            out.put((byte) TAG_SERIALIZED);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream stream = new ObjectOutputStream(bytes)) {
+                stream.writeObject(value);
+            }
+            VarInt.writeUnsignedInt(out, bytes.size());
+            out.put(bytes.toByteArray());
+        } else {
+            throw new NotSerializableException(type.getName());
+        }
+    }
+
+    /**
+     * @param in buffer to read from.
+     * @return read value, may be {@code null}.
+     * @throws IOException if value is malformed or can't be deserialized.
+     */
+    public Object readValue(ByteBuffer in) throws IOException {
+        return readValue(in, VarInt.readUnsignedInt(in));
+    }
+
+    /**
+     * @param in  buffer to read from.
+     * @param tag already read tag of the value.
+     * @return read value, may be {@code null}.
+     * @throws IOException if value is malformed or can't be deserialized.
+     */
+    private Object readValue(ByteBuffer in, int tag) throws IOException {
+        switch (tag) {
+            case TAG_NULL:
+                return null;
+            case TAG_FALSE:
+                return Boolean.FALSE;
+            case TAG_TRUE:
+                return Boolean.TRUE;
+            case TAG_BYTE:
+                require(in, Byte.BYTES);
+                return in.get();
+            case TAG_SHORT:
+                return (short) VarInt.readInt(in);
+            case TAG_CHAR:
+                return (char) VarInt.readUnsignedInt(in);
+            case TAG_INT:
+                return VarInt.readInt(in);
+            case TAG_LONG:
+                return VarInt.readLong(in);
+            case TAG_FLOAT:
+                require(in, Float.BYTES);
+                return in.getFloat();
+            case TAG_DOUBLE:
+                require(in, Double.BYTES);
+                return in.getDouble();
+            case TAG_STRING:
+                return VarInt.readString(in);
+            case TAG_BYTES: {
+                byte[] bytes = new byte[VarInt.readLength(in)];
+                in.get(bytes);
+                return bytes;
+            }
+            case TAG_SERIALIZED: {
+                if (!serializationFallback) {
+                    throw new InvalidClassException("Serialized values aren't accepted as serialization fallback is disabled.");
+                }
+                byte[] bytes = new byte[VarInt.readLength(in)];
+                in.get(bytes);
+                try (ObjectInputStream stream = new FilteredObjectInputStream(new ByteArrayInputStream(bytes), serializationFilter)) {
+                    return stream.readObject();
+                } catch (ClassNotFoundException e) {
+                    throw new InvalidObjectException("Class of serialized value not found: " + e.getMessage());
+                }
+            }
+            default:
+                CodecEntry<?> entry = codecsByTag.get(tag);
+                if (entry == null) {
+                    throw new StreamCorruptedException("Unknown value tag: " + tag);
+                }
+                return entry.codec.read(in);
+        }
+    }
+
+    /**
+     * @param out      buffer to write to.
+     * @param property property to write.
+     * @throws IOException if property value has no registered codec and can't
+     *                     be serialized.
+     */
+    public void writeProperty(ByteBuffer out, Property<?> property) throws IOException {
+        int position = out.position();
+        int interned = writtenOrder.size();
+        try {
+            writeID(out, property.getID());
+            if (property instanceof DoubleProperty) {
+                out.put((byte) TAG_DOUBLE_PROPERTY);
+                out.putDouble(((DoubleProperty) property).getAsDouble());
+            } else if (property instanceof LongProperty) {
+                out.put((byte) TAG_LONG_PROPERTY);
+                VarInt.writeLong(out, ((LongProperty) property).getAsLong());
+            } else if (property instanceof IntProperty) {
+                out.put((byte) TAG_INT_PROPERTY);
+                VarInt.writeInt(out, ((IntProperty) property).getAsInt());
+            } else {
+                writeValue(out, property.get());
+            }
+        } catch (IOException | RuntimeException e) {
+            rollback(out, position, interned);
+            throw e;
+        }
+    }
+
+    /**
+     * @param in buffer to read from.
+     * @return read property. Properties written as {@link DoubleProperty},
+     * {@link LongProperty} or {@link IntProperty} are read as the same
+     * specialized property.
+     * @throws IOException if property is malformed.
+     */
+    public Property<?> readProperty(ByteBuffer in) throws IOException {
+        String ID = readID(in);
+        int tag = VarInt.readUnsignedInt(in);
+        switch (tag) {
+            case TAG_DOUBLE_PROPERTY:
+                require(in, Double.BYTES);
+                return new DoubleProperty(ID, in.getDouble());
+            case TAG_LONG_PROPERTY:
+                return new LongProperty(ID, VarInt.readLong(in));
+            case TAG_INT_PROPERTY:
+                return new IntProperty(ID, VarInt.readInt(in));
+            default:
+                return new Property<>(ID, readValue(in, tag));
+        }
+    }
+
+    /**
+     * @param in    buffer to read from.
+     * @param bytes number of bytes about to be read.
+     * @throws StreamCorruptedException if argument buffer has less remaining
+     *                                  bytes.
+     */
+    static void require(ByteBuffer in, int bytes) throws StreamCorruptedException {
+        if (in.remaining() < bytes) {
+            throw new StreamCorruptedException("Malformed value: buffer ended unexpectedly.");
+        }
+    }
+
+    /**
+     * Writes argument Flux as its type ID followed by its properties.
+     *
+     * @param out  buffer to write to.
+     * @param flux Flux to write.
+     * @throws IOException if a property value has no registered codec and
+     *                     can't be serialized.
+     */
+    public void writeFlux(ByteBuffer out, Flux<?> flux) throws IOException {
+        int position = out.position();
+        int interned = writtenOrder.size();
+        try {
+            writeID(out, flux.getType().getID());
+            VarInt.writeUnsignedInt(out, flux.getProperties().size());
+            for (Property<?> property : flux.getProperties().values()) {
+                writeProperty(out, property);
+            }
+        } catch (IOException | RuntimeException e) {
+            rollback(out, position, interned);
+            throw e;
+        }
+    }
+
+    /**
+     * Reads Flux and creates it using {@link FluxType#createUnit(Property...)
+     * registered Flux Type}.
+     *
+     * @param in buffer to read from.
+     * @return read Flux.
+     * @throws IOException if Flux is malformed or its type wasn't {@link
+     *                     #registerType(FluxType) registered}.
+     */
+    public Flux<?> readFlux(ByteBuffer in) throws IOException {
+        String typeID = readID(in);
+        FluxType<?> type = types.get(typeID);
+        Property<?>[] properties = new Property<?>[VarInt.readLength(in)];
+        for (int i = 0; i < properties.length; i++) {
+            properties[i] = readProperty(in);
+        }
+        if (type == null) {
+            throw new InvalidObjectException("Flux Type not registered: " + typeID);
+        }
+        return type.createUnit(properties);
+    }
+
+    /**
+     * Writes all Flux stored in argument container.
+     *
+     * @param out       buffer to write to.
+     * @param container container to write Flux of.
+     * @throws IOException if a property value has no registered codec and
+     *                     can't be serialized.
+     */
+    public void writeContainer(ByteBuffer out, FluxContainer<?> container) throws IOException {
+        int position = out.position();
+        int interned = writtenOrder.size();
+        try {
+            ArrayList<? extends Flux> flux = container.getFlux();
+            VarInt.writeUnsignedInt(out, flux.size());
+            for (Flux<?> stored : flux) {
+                writeFlux(out, stored);
+            }
+        } catch (IOException | RuntimeException e) {
+            rollback(out, position, interned);
+            throw e;
+        }
+    }
+
+    /**
+     * Reads Flux written by {@link #writeContainer(ByteBuffer, FluxContainer)}
+     * and adds it to argument container.
+     *
+     * @param in        buffer to read from.
+     * @param container container to add read Flux to.
+     * @param <B>       Flux superclass supported by argument container.
+     * @return {@code true} if all read Flux was added to argument container.
+     * @throws IOException if Flux is malformed or its type wasn't {@link
+     *                     #registerType(FluxType) registered}.
+     */
+    public <B extends Flux> boolean readContainer(ByteBuffer in, FluxContainer<B> container) throws IOException {
+        boolean result = true;
+        int size = VarInt.readLength(in);
+        for (int i = 0; i < size; i++) {
+            //noinspection unchecked
+            result = container.addFlux((B) readFlux(in)) && result;
+        }
+        return result;
+    }
+
+    /**
+     * Registered {@link ValueCodec Value Codec} and its tag.
+     *
+     * @param <T> type of encoded values.
+     */
+    private static final class CodecEntry<T> {
+        /**
+         * Tag identifying values encoded by {@link #codec}.
+         */
+        private final int tag;
+
+        /**
+         * Registered codec.
+         */
+        private final ValueCodec<T> codec;
+
+        /**
+         * Default constructor.
+         *
+         * @param tag   tag identifying values encoded by argument codec.
+         * @param codec registered codec.
+         */
+        private CodecEntry(int tag, ValueCodec<T> codec) {
+            this.tag = tag;
+            this.codec = codec;
+        }
+
+        /**
+         * @param out   buffer to write to.
+         * @param value value of codec type to write.
+         */
+        private void write(ByteBuffer out, Object value) {
+            //noinspection unchecked
+            codec.write(out, (T) value);
+        }
+    }
+
+    /**
+     * Object Input Stream refusing to resolve classes not accepted by a
+     * filter.
+     */
+    private static final class FilteredObjectInputStream extends ObjectInputStream {
+        /**
+         * Filter accepting names of classes which can be resolved, {@code
+         * null} if all classes are accepted.
+         */
+        private final Predicate<String> filter;
+
+        /**
+         * Default constructor.
+         *
+         * @param in     stream to read serialized data from.
+         * @param filter filter accepting names of classes which can be
+         *               resolved, {@code null} if all classes are accepted.
+         * @throws IOException if stream header is malformed.
+         */
+        private FilteredObjectInputStream(InputStream in, Predicate<String> filter) throws IOException {
+            super(in);
+            this.filter = filter;
+        }
+
+        /**
+         * @param description description of class to resolve.
+         * @return resolved class.
+         * @throws IOException            if argument class isn't accepted by
+         *                                filter.
+         * @throws ClassNotFoundException if argument class can't be found.
+         */
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass description) throws IOException, ClassNotFoundException {
+            if (filter != null && !filter.test(description.getName())) {
+                throw new InvalidClassException(description.getName(), "Class isn't accepted by serialization filter.");
+            }
+            return super.resolveClass(description);
+        }
+
+        /**
+         * @param interfaces names of proxy interfaces.
+         * @return resolved proxy class.
+         * @throws IOException            if proxy classes aren't accepted.
+         * @throws ClassNotFoundException if an interface can't be found.
+         */
+        @Override
+        protected Class<?> resolveProxyClass(String[] interfaces) throws IOException, ClassNotFoundException {
+            if (filter != null) {
+                for (String name : interfaces) {
+                    if (!filter.test(name)) {
+                        throw new InvalidClassException(name, "Interface isn't accepted by serialization filter.");
+                    }
+                }
+            }
+            return super.resolveProxyClass(interfaces);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package hr.caellian.flow.data.codec;
+
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Helper methods for variable length encoding of integers and strings in
+ * {@link ByteBuffer Byte Buffers}.
+ * <p>
+ * Unsigned values are encoded in groups of 7 bits, least significant group
+ * first, with the highest bit of every byte signalling whether more bytes
+ * follow. Signed values are zigzag encoded first so that values close to zero
+ * take few bytes regardless of their sign.
+ * <p>
+ * Read methods throw {@link StreamCorruptedException} if buffer ends before
+ * the value or contains a malformed value, so data from untrusted sources can
+ * be decoded safely.
+ *
+ * @author Caellian
+ * @since 1.2.0
+ */
+public final class VarInt {
+    /**
+     * Private constructor as this class contains only static methods.
+     */
+    private VarInt() {
+    }
+
+    /**
+     * @param out   buffer to write to.
+     * @param value value to write, treated as unsigned.
+     */
+    public static void writeUnsignedInt(ByteBuffer out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    /**
+     * @param in buffer to read from.
+     * @return read unsigned value.
+     * @throws StreamCorruptedException if encoded value is longer than 5
+     *                                  bytes or buffer ends before it.
+     */
+    public static int readUnsignedInt(ByteBuffer in) throws StreamCorruptedException {
+        int result = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte current = readByte(in);
+            result |= (current & 0x7F) << shift;
+            if (current >= 0) {
+                return result;
+            }
+        }
+        throw new StreamCorruptedException("Malformed variable length int.");
+    }
+
+    /**
+     * Reads length or count of elements which follow it in argument buffer.
+     * As every element takes at least one byte, length can't be larger than
+     * number of remaining bytes.
+     *
+     * @param in buffer to read from.
+     * @return read length.
+     * @throws StreamCorruptedException if read length is negative or larger
+     *                                  than number of bytes remaining in
+     *                                  argument buffer.
+     */
+    public static int readLength(ByteBuffer in) throws StreamCorruptedException {
+        int length = readUnsignedInt(in);
+        if (length < 0 || length > in.remaining()) {
+            throw new StreamCorruptedException("Malformed length: " + (length & 0xFFFFFFFFL) + ", remaining bytes: " + in.remaining());
+        }
+        return length;
+    }
+
+    /**
+     * @param in buffer to read from.
+     * @return read byte.
+     * @throws StreamCorruptedException if buffer has no remaining bytes.
+     */
+    private static byte readByte(ByteBuffer in) throws StreamCorruptedException {
+        if (!in.hasRemaining()) {
+            throw new StreamCorruptedException("Malformed value: buffer ended unexpectedly.");
+        }
+        return in.get();
+    }
+
+    /**
+     * @param out   buffer to write to.
+     * @param value value to write, treated as unsigned.
+     */
+    public static void writeUnsignedLong(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    /**
+     * @param in buffer to read from.
+     * @return read unsigned value.
+     * @throws StreamCorruptedException if encoded value is longer than 10
+     *                                  bytes or buffer ends before it.
+     */
+    public static long readUnsignedLong(ByteBuffer in) throws StreamCorruptedException {
+        long result = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte current = readByte(in);
+            result |= (long) (current & 0x7F) << shift;
+            if (current >= 0) {
+                return result;
+            }
+        }
+        throw new StreamCorruptedException("Malformed variable length long.");
+    }
+
+    /**
+     * @param out   buffer to write to.
+     * @param value signed value to write.
+     */
+    public static void writeInt(ByteBuffer out, int value) {
+        writeUnsignedInt(out, (value << 1) ^ (value >> 31));
+    }
+
+    /**
+     * @param in buffer to read from.
+     * @return read signed value.
+     * @throws StreamCorruptedException if encoded value is malformed.
+     */
+    public static int readInt(ByteBuffer in) throws StreamCorruptedException {
+        int value = readUnsignedInt(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * @param out   buffer to write to.
+     * @param value signed value to write.
+     */
+    public static void writeLong(ByteBuffer out, long value) {
+        writeUnsignedLong(out, (value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * @param in buffer to read from.
+     * @return read signed value.
+     * @throws StreamCorruptedException if encoded value is malformed.
+     */
+    public static long readLong(ByteBuffer in) throws StreamCorruptedException {
+        long value = readUnsignedLong(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Writes UTF-8 encoded string prefixed with its length in bytes.
+     *
+     * @param out   buffer to write to.
+     * @param value string to write.
+     */
+    public static void writeString(ByteBuffer out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeUnsignedInt(out, bytes.length);
+        out.put(bytes);
+    }
+
+    /**
+     * @param in buffer to read from.
+     * @return read string.
+     * @throws StreamCorruptedException if string length is malformed.
+     */
+    public static String readString(ByteBuffer in) throws StreamCorruptedException {
+        int length = readLength(in);
+        String result;
+        if (in.hasArray()) {
+            result = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            in.get(bytes);
+            result = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return result;
+    }
+}
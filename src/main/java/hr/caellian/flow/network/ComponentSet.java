@@ -0,0 +1,106 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package hr.caellian.flow.network;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Component Set stores {@link NetworkComponent Network Components} of a single
+ * type in an array-backed list allowing allocation-free iteration and
+ * constant time insertion and removal.
+ * <p>
+ * Removal moves last component in place of removed one, so order of
+ * components changes only when components are removed.
+ *
+ * @param <C> type of stored components.
+ * @author Caellian
+ * @since 1.2.0
+ */
+class ComponentSet<C> {
+    /**
+     * Stored components.
+     */
+    private final ArrayList<C> components = new ArrayList<>();
+
+    /**
+     * Indices of stored components in {@link #components} list.
+     */
+    private final IdentityHashMap<C, Integer> indices = new IdentityHashMap<>();
+
+    /**
+     * Read-only view of {@link #components} list.
+     */
+    private final List<C> view = Collections.unmodifiableList(components);
+
+    /**
+     * @param component component to add.
+     * @return {@code true} if argument component wasn't already stored.
+     */
+    boolean add(C component) {
+        if (indices.containsKey(component)) {
+            return false;
+        }
+        indices.put(component, components.size());
+        components.add(component);
+        return true;
+    }
+
+    /**
+     * @param component component to remove.
+     * @return {@code true} if argument component was stored.
+     */
+    boolean remove(C component) {
+        Integer index = indices.remove(component);
+        if (index == null) {
+            return false;
+        }
+        C last = components.remove(components.size() - 1);
+        if (last != component) {
+            components.set(index, last);
+            indices.put(last, index);
+        }
+        return true;
+    }
+
+    /**
+     * @param action action to perform on every stored component.
+     */
+    void forEach(Consumer<? super C> action) {
+        for (int i = 0; i < components.size(); i++) {
+            action.accept(components.get(i));
+        }
+    }
+
+    /**
+     * @return read-only live view of stored components.
+     */
+    List<C> view() {
+        return view;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package hr.caellian.flow.network;
+
+/**
+ * Dormant Components are {@link NetworkComponent Network Components} capable
+ * of reporting that they have nothing to do until an event happens.
+ * <p>
+ * {@link TransferScheduler Transfer Scheduler} stops ticking links of dormant
+ * {@link hr.caellian.flow.network.transfer.FluxEmitter Flux Emitters}.
+ * Dormant components are ticked again after they're {@link
+ * Network#wake(NetworkComponent) woken up}, which happens automatically when
+ * network components change. Components should wake themselves when their
+ * properties change.
+ * <p>
+ * Dormant {@link hr.caellian.flow.network.transfer.FluxReceiver Flux
+ * Receivers} still receive flux. Flux arrival wakes them: {@link #onWake()}
+ * is called right before flux is delivered, and emitting side of the
+ * receiver is ticked during next tick.
+ *
+ * @author Caellian
+ * @since 1.2.0
+ */
+public interface DormantComponent extends NetworkComponent {
+    /**
+     * @return {@code true} if this component has nothing to do until it's
+     * woken up, {@code false} otherwise.
+     */
+    boolean isDormant();
+
+    /**
+     * Called when this component is woken up, either through {@link
+     * Network#wake(NetworkComponent)} or because flux is about to be
+     * delivered to it while it's dormant. Implementations should stop
+     * reporting being {@link #isDormant() dormant} if they have work to do.
+     * <p>
+     * Can be called from threads transferring flux during an update.
+     */
+    default void onWake() {
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package hr.caellian.flow.network;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Hash Position Index is a {@link PositionIndex Position Index} backed by a
+ * {@link HashMap}. It supports any type of position which correctly
+ * implements {@link Object#equals(Object) equals} and {@link
+ * Object#hashCode() hashCode} methods.
+ *
+ * @author Caellian
+ * @since 1.2.0
+ */
+public class HashPositionIndex implements PositionIndex {
+    /**
+     * Position to network component map.
+     */
+    private final HashMap<Object, NetworkComponent> positionMap = new HashMap<>();
+
+    /**
+     * Read-only view of {@link #positionMap}.
+     */
+    private final Map<Object, NetworkComponent> view = Collections.unmodifiableMap(positionMap);
+
+    /**
+     * Function converting positions into packed coordinates, {@code null} if
+     * positions don't represent coordinates.
+     */
+    private final ToLongFunction<Object> packer;
+
+    /**
+     * Default constructor. Created index doesn't support region and
+     * neighbour queries.
+     */
+    public HashPositionIndex() {
+        this(null);
+    }
+
+    /**
+     * Constructor for positions representing coordinates. Region and
+     * neighbour queries test every stored position.
+     *
+     * @param packer function converting positions into {@link PackedPosition
+     *               packed coordinates} or {@code null} if they don't represent
+     *               coordinates.
+     */
+    public HashPositionIndex(ToLongFunction<Object> packer) {
+        this.packer = packer;
+    }
+
+    /**
+     * @param position position to look for {@link NetworkComponent Network
+     *                 Component} at.
+     * @return {@link NetworkComponent Network Component} at argument position
+     * or {@code null} if it doesn't exist.
+     */
+    @Override
+    public NetworkComponent get(Object position) {
+        return positionMap.get(position);
+    }
+
+    /**
+     * @param position  position to store argument component at.
+     * @param component component to store.
+     * @return component previously stored at argument position or {@code
+     * null} if there was none.
+     */
+    @Override
+    public NetworkComponent put(Object position, NetworkComponent component) {
+        return positionMap.put(position, component);
+    }
+
+    /**
+     * @param position position to remove component from.
+     * @return removed component or {@code null} if there was none.
+     */
+    @Override
+    public NetworkComponent remove(Object position) {
+        return positionMap.remove(position);
+    }
+
+    /**
+     * @return number of stored components.
+     */
+    @Override
+    public int size() {
+        return positionMap.size();
+    }
+
+    /**
+     * Performs argument action on every stored component.
+     *
+     * @param action action to perform.
+     */
+    @Override
+    public void forEachValue(Consumer<? super NetworkComponent> action) {
+        positionMap.values().forEach(action);
+    }
+
+    /**
+     * @return read-only view of this index.
+     */
+    @Override
+    public Map<Object, NetworkComponent> asMap() {
+        return view;
+    }
+
+    /**
+     * @return function converting positions into {@link PackedPosition packed
+     * coordinates} or {@code null} if they don't represent coordinates.
+     */
+    @Override
+    public ToLongFunction<Object> getPacker() {
+        return packer;
+    }
+}
@@ -25,7 +25,9 @@
 package hr.caellian.flow.network;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Network is consisted out of {@link NetworkComponent Network Components}
@@ -83,11 +85,65 @@ public interface Network {
      */
     boolean unloadNetworkComponent(NetworkComponent toUnload);
 
+    /**
+     * Loads multiple components at once. Implementations should defer any
+     * recomputation caused by loading until all components are loaded.
+     *
+     * @param toLoad {@link NetworkComponent Network Components} to load.
+     * @return {@code true} if all argument {@link NetworkComponent Network
+     * Components} have been loaded successfully.
+     * @since 1.2.0
+     */
+    default boolean loadNetworkComponents(Collection<? extends NetworkComponent> toLoad) {
+        boolean result = true;
+        for (NetworkComponent component : toLoad) {
+            result &= loadNetworkComponent(component);
+        }
+        return result;
+    }
+
+    /**
+     * Unloads multiple components at once. Implementations should defer any
+     * recomputation caused by unloading until all components are unloaded.
+     *
+     * @param toUnload {@link NetworkComponent Network Components} to unload.
+     * @return {@code true} if all argument {@link NetworkComponent Network
+     * Components} have been unloaded successfully.
+     * @since 1.2.0
+     */
+    default boolean unloadNetworkComponents(Collection<? extends NetworkComponent> toUnload) {
+        boolean result = true;
+        for (NetworkComponent component : toUnload) {
+            result &= unloadNetworkComponent(component);
+        }
+        return result;
+    }
+
     /**
      * @return {@link ArrayList} containing all components in this network.
      */
     ArrayList<NetworkComponent> getNetworkComponents();
 
+    /**
+     * @return read-only live view of all components in this network. Unlike
+     * {@link #getNetworkComponents()}, no copy is made.
+     * @since 1.2.0
+     */
+    default Collection<NetworkComponent> getNetworkComponentsView() {
+        return getNetworkMap().values();
+    }
+
+    /**
+     * Performs argument action on every component in this network without
+     * copying them.
+     *
+     * @param action action to perform.
+     * @since 1.2.0
+     */
+    default void forEachComponent(Consumer<? super NetworkComponent> action) {
+        getNetworkComponentsView().forEach(action);
+    }
+
     /**
      * @return {@link Map} of {@link NetworkComponent Network Component}
      * positions and their respective objects.
@@ -114,6 +170,21 @@ public interface Network {
         return component.getNeighbours();
     }
 
+    /**
+     * Signals that argument component might have work to do. Should be called
+     * after an event which could end dormancy of a {@link DormantComponent
+     * Dormant Component}, such as change of its properties. Implementations
+     * must allow this method to be called from any thread, including threads
+     * transferring flux during an update.
+     * <p>
+     * Default implementation does nothing as networks update all components.
+     *
+     * @param component {@link NetworkComponent Network Component} to wake up.
+     * @since 1.2.0
+     */
+    default void wake(NetworkComponent component) {
+    }
+
     /**
      * Updates network components appropriately.
      */
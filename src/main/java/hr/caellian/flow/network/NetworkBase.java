@@ -26,11 +26,19 @@ package hr.caellian.flow.network;
 
 import hr.caellian.flow.network.structure.StructureComponent;
 import hr.caellian.flow.network.structure.StructureCore;
+import hr.caellian.flow.network.transfer.FluxEmitter;
+import hr.caellian.flow.network.transfer.FluxReceiver;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Basic implementation of Network which is suggested to be used when possible.
@@ -40,11 +48,68 @@ import java.util.Map;
  */
 public abstract class NetworkBase implements Network {
     /**
-     * Position to network component map.
+     * Position to network component index.
      */
-    private HashMap<Object, NetworkComponent> positionMap = new HashMap<>();
+    private final PositionIndex positionIndex;
 
     /**
+     * View of {@link #positionIndex} exposed to subclasses. Changes made
+     * through it update typed indices and are reported like other changes of
+     * components.
+     */
+    private final PositionIndex trackedIndex = new TrackedPositionIndex();
+
+    /**
+     * Modifiable map view of {@link #trackedIndex}.
+     */
+    private final MapAccess mapAccess = new MapAccess();
+
+    /**
+     * Scheduler transferring flux between components of this network.
+     */
+    private final TransferScheduler transferScheduler = new TransferScheduler(this);
+
+    /**
+     * Stored {@link FluxEmitter Flux Emitters}.
+     */
+    private final ComponentSet<FluxEmitter<?>> emitters = new ComponentSet<>();
+
+    /**
+     * Stored {@link FluxReceiver Flux Receivers}.
+     */
+    private final ComponentSet<FluxReceiver<?>> receivers = new ComponentSet<>();
+
+    /**
+     * Number of bulk operations currently in progress.
+     */
+    private int batchDepth;
+
+    /**
+     * {@code true} if components changed during current bulk operation.
+     */
+    private boolean changedDuringBatch;
+
+    /**
+     * Default constructor storing components in a {@link HashPositionIndex}.
+     */
+    public NetworkBase() {
+        this(new HashPositionIndex());
+    }
+
+    /**
+     * Constructor allowing custom position storage.
+     *
+     * @param positionIndex index to store components in.
+     * @since 1.2.0
+     */
+    protected NetworkBase(PositionIndex positionIndex) {
+        this.positionIndex = positionIndex;
+    }
+
+    /**
+     * Adds argument component and merges networks of its neighbours into this
+     * one using {@link NetworkTopology}.
+     *
      * @param toAdd {@link NetworkComponent Network Component} to add to this
      *              network.
      * @return {@code true} if argument {@link NetworkComponent Network
@@ -52,8 +117,29 @@ public abstract class NetworkBase implements Network {
      */
     @Override
     public boolean addNetworkComponent(NetworkComponent toAdd) {
+        beginBatch();
+        try {
+            if (!insert(toAdd)) {
+                return false;
+            }
+            NetworkTopology.merge(this, toAdd);
+            return true;
+        } finally {
+            endBatch();
+        }
+    }
+
+    /**
+     * Stores argument component without changing topology.
+     *
+     * @param toAdd {@link NetworkComponent Network Component} to store.
+     * @return {@code true} if argument {@link NetworkComponent Network
+     * Component} has been stored successfully.
+     */
+    private boolean insert(NetworkComponent toAdd) {
+        componentsChanged();
         if (toAdd instanceof StructureComponent && !((StructureComponent) toAdd).isDelegate()) {
-            return positionMap.put(toAdd.getPosition(), toAdd) != toAdd;
+            return store(toAdd.getPosition(), toAdd);
         } else if (toAdd instanceof StructureComponent) {
             StructureCore structureCore;
             if (!((StructureComponent) toAdd).isDelegate()) {
@@ -61,13 +147,56 @@ public abstract class NetworkBase implements Network {
             } else {
                 structureCore = ((StructureComponent) toAdd).getStructureCore();
             }
-            return positionMap.put(structureCore.getPosition(), structureCore) != structureCore;
+            return store(structureCore.getPosition(), structureCore);
         } else {
-            return positionMap.put(toAdd.getPosition(), toAdd) != toAdd;
+            return store(toAdd.getPosition(), toAdd);
+        }
+    }
+
+    /**
+     * Stores argument component in {@link #positionIndex} and typed indices.
+     *
+     * @param position  position to store argument component at.
+     * @param component component to store.
+     * @return {@code true} if argument component wasn't already stored at
+     * argument position.
+     */
+    private boolean store(Object position, NetworkComponent component) {
+        NetworkComponent previous = positionIndex.put(position, component);
+        if (previous == component) {
+            return false;
+        }
+        if (previous != null) {
+            untrack(previous);
+        }
+        if (component instanceof FluxEmitter) {
+            emitters.add((FluxEmitter<?>) component);
+        }
+        if (component instanceof FluxReceiver) {
+            receivers.add((FluxReceiver<?>) component);
         }
+        return true;
     }
 
     /**
+     * Removes argument component from typed indices.
+     *
+     * @param component component to remove.
+     */
+    private void untrack(NetworkComponent component) {
+        if (component instanceof FluxEmitter) {
+            emitters.remove((FluxEmitter<?>) component);
+        }
+        if (component instanceof FluxReceiver) {
+            receivers.remove((FluxReceiver<?>) component);
+        }
+    }
+
+    /**
+     * Removes argument component and splits this network using {@link
+     * NetworkTopology} if argument component was the only connection between
+     * its parts.
+     *
      * @param toRemove {@link NetworkComponent Network Component} to remove from
      *                 this network.
      * @return {@code true} if argument {@link NetworkComponent Network
@@ -75,27 +204,155 @@ public abstract class NetworkBase implements Network {
      */
     @Override
     public boolean removeNetworkComponent(NetworkComponent toRemove) {
-        return positionMap.remove(toRemove.getPosition()) != null;
+        return removeAndSplit(toRemove) != null;
+    }
+
+    /**
+     * Removes argument component and moves parts of this network which were
+     * only connected through it into new networks.
+     *
+     * @param toRemove {@link NetworkComponent Network Component} to remove.
+     * @return list of networks created for disconnected parts or {@code null}
+     * if argument component wasn't stored by this network.
+     */
+    ArrayList<Network> removeAndSplit(NetworkComponent toRemove) {
+        beginBatch();
+        try {
+            if (!delete(toRemove)) {
+                return null;
+            }
+            return NetworkTopology.split(this, toRemove);
+        } finally {
+            endBatch();
+        }
+    }
+
+    /**
+     * Removes argument component without changing topology.
+     *
+     * @param toRemove {@link NetworkComponent Network Component} to remove.
+     * @return {@code true} if argument {@link NetworkComponent Network
+     * Component} has been removed successfully.
+     */
+    private boolean delete(NetworkComponent toRemove) {
+        componentsChanged();
+        NetworkComponent removed = positionIndex.remove(toRemove.getPosition());
+        if (removed == null) {
+            return false;
+        }
+        untrack(removed);
+        return true;
     }
 
     /**
+     * Loaded components are stored without merging networks of their
+     * neighbours.
+     *
      * @param toLoad {@link NetworkComponent Network Component} to load.
      * @return {@code true} if argument {@link NetworkComponent Network
      * Component} has been loaded successfully.
      */
     @Override
     public boolean loadNetworkComponent(NetworkComponent toLoad) {
-        return addNetworkComponent(toLoad);
+        return insert(toLoad);
     }
 
     /**
+     * Unloaded components are removed without splitting this network.
+     *
      * @param toUnload {@link NetworkComponent Network Component} to unload.
      * @return {@code true} if argument {@link NetworkComponent Network
      * Component} has been unloaded successfully.
      */
     @Override
     public boolean unloadNetworkComponent(NetworkComponent toUnload) {
-        return removeNetworkComponent(toUnload);
+        return delete(toUnload);
+    }
+
+    /**
+     * Loads multiple components at once. Storage is prepared for all
+     * components in advance and {@link #onComponentsChanged()} is called only
+     * once after all components are loaded.
+     *
+     * @param toLoad {@link NetworkComponent Network Components} to load.
+     * @return {@code true} if all argument {@link NetworkComponent Network
+     * Components} have been loaded successfully.
+     */
+    @Override
+    public boolean loadNetworkComponents(Collection<? extends NetworkComponent> toLoad) {
+        beginBatch();
+        try {
+            positionIndex.ensureCapacity(positionIndex.size() + toLoad.size());
+            boolean result = true;
+            for (NetworkComponent component : toLoad) {
+                result &= loadNetworkComponent(component);
+            }
+            return result;
+        } finally {
+            endBatch();
+        }
+    }
+
+    /**
+     * Unloads multiple components at once. {@link #onComponentsChanged()} is
+     * called only once after all components are unloaded.
+     *
+     * @param toUnload {@link NetworkComponent Network Components} to unload.
+     * @return {@code true} if all argument {@link NetworkComponent Network
+     * Components} have been unloaded successfully.
+     */
+    @Override
+    public boolean unloadNetworkComponents(Collection<? extends NetworkComponent> toUnload) {
+        beginBatch();
+        try {
+            boolean result = true;
+            for (NetworkComponent component : toUnload) {
+                result &= unloadNetworkComponent(component);
+            }
+            return result;
+        } finally {
+            endBatch();
+        }
+    }
+
+    /**
+     * Starts a bulk operation. Changes of components won't be reported until
+     * matching {@link #endBatch()} call.
+     */
+    protected void beginBatch() {
+        batchDepth++;
+    }
+
+    /**
+     * Ends a bulk operation and reports changes of components made during it
+     * if this was the outermost bulk operation.
+     */
+    protected void endBatch() {
+        if (--batchDepth == 0 && changedDuringBatch) {
+            changedDuringBatch = false;
+            onComponentsChanged();
+        }
+    }
+
+    /**
+     * Reports that components of this network changed, or defers the report
+     * until the end of current bulk operation.
+     */
+    protected void componentsChanged() {
+        if (batchDepth > 0) {
+            changedDuringBatch = true;
+        } else {
+            onComponentsChanged();
+        }
+    }
+
+    /**
+     * Called after components of this network change. Subclasses which cache
+     * data derived from network components should override this method to
+     * invalidate it.
+     */
+    protected void onComponentsChanged() {
+        transferScheduler.invalidate();
     }
 
     /**
@@ -103,7 +360,54 @@ public abstract class NetworkBase implements Network {
      */
     @Override
     public ArrayList<NetworkComponent> getNetworkComponents() {
-        return new ArrayList<>(positionMap.values());
+        return new ArrayList<>(positionIndex.asMap().values());
+    }
+
+    /**
+     * Performs argument action on every component in this network without
+     * copying them.
+     *
+     * @param action action to perform.
+     */
+    @Override
+    public void forEachComponent(Consumer<? super NetworkComponent> action) {
+        positionIndex.forEachValue(action);
+    }
+
+    /**
+     * @return read-only live view of all {@link FluxEmitter Flux Emitters} in
+     * this network.
+     */
+    public List<FluxEmitter<?>> getEmitters() {
+        return emitters.view();
+    }
+
+    /**
+     * @return read-only live view of all {@link FluxReceiver Flux Receivers}
+     * in this network.
+     */
+    public List<FluxReceiver<?>> getReceivers() {
+        return receivers.view();
+    }
+
+    /**
+     * Performs argument action on every {@link FluxEmitter Flux Emitter} in
+     * this network without copying or filtering components.
+     *
+     * @param action action to perform.
+     */
+    public void forEachEmitter(Consumer<? super FluxEmitter<?>> action) {
+        emitters.forEach(action);
+    }
+
+    /**
+     * Performs argument action on every {@link FluxReceiver Flux Receiver} in
+     * this network without copying or filtering components.
+     *
+     * @param action action to perform.
+     */
+    public void forEachReceiver(Consumer<? super FluxReceiver<?>> action) {
+        receivers.forEach(action);
     }
 
     /**
@@ -112,14 +416,368 @@ public abstract class NetworkBase implements Network {
      */
     @Override
     public Map<Object, NetworkComponent> getNetworkMap() {
-        return Collections.unmodifiableMap(positionMap);
+        return positionIndex.asMap();
     }
 
     /**
+     * @param position position to look for {@link NetworkComponent Network
+     *                 Component} at.
+     * @return {@link NetworkComponent Network Component} at argument position
+     * or {@code null} if it doesn't exist.
+     */
+    @Override
+    public NetworkComponent getNetworkComponentAt(Object position) {
+        return positionIndex.get(position);
+    }
+
+    /**
+     * Returned map is the same view as {@link #getModifiableNetworkMap()}. It
+     * only extends {@link HashMap} to keep compatibility with existing
+     * subclasses and doesn't use its storage.
+     *
      * @return modifiable {@link HashMap} containing {@link NetworkComponent
      * Network Component} positions and their respective objects.
+     * @deprecated use {@link #getPositionIndex()} or {@link
+     * #getModifiableNetworkMap()} instead.
      */
+    @Deprecated
     protected HashMap<Object, NetworkComponent> getNetworkMapAccess() {
-        return positionMap;
+        return mapAccess;
+    }
+
+    /**
+     * Changes made through returned map are applied the same way as changes
+     * made through {@link #getPositionIndex()}. Iteration views of returned
+     * map are read-only.
+     *
+     * @return modifiable {@link Map} containing {@link NetworkComponent
+     * Network Component} positions and their respective objects.
+     * @since 1.2.0
+     */
+    protected Map<Object, NetworkComponent> getModifiableNetworkMap() {
+        return mapAccess;
+    }
+
+    /**
+     * Components stored or removed through returned index are tracked as
+     * {@link FluxEmitter emitters} and {@link FluxReceiver receivers} and
+     * reported through {@link #onComponentsChanged()} like components added
+     * through {@link #addNetworkComponent(NetworkComponent)}.
+     *
+     * @return index containing {@link NetworkComponent Network Component}
+     * positions and their respective objects.
+     */
+    protected PositionIndex getPositionIndex() {
+        return trackedIndex;
+    }
+
+    /**
+     * @return scheduler transferring flux between components of this network.
+     */
+    public TransferScheduler getTransferScheduler() {
+        return transferScheduler;
+    }
+
+    /**
+     * Wakes argument component up in {@link #getTransferScheduler() transfer
+     * scheduler}. Wake-up takes effect after current update is complete.
+     *
+     * @param component {@link NetworkComponent Network Component} to wake up.
+     */
+    @Override
+    public void wake(NetworkComponent component) {
+        transferScheduler.wake(component);
+    }
+
+    /**
+     * Transfers flux between components of this network using {@link
+     * #getTransferScheduler() transfer scheduler}.
+     */
+    @Override
+    public void updateNetwork() {
+        transferScheduler.tick();
+    }
+
+    /**
+     * {@link PositionIndex Position Index} forwarding reads to {@link
+     * #positionIndex} and routing changes through {@link #store(Object,
+     * NetworkComponent)} and {@link #untrack(NetworkComponent)}.
+     */
+    private final class TrackedPositionIndex implements PositionIndex {
+        /**
+         * @param position position to look for {@link NetworkComponent Network
+         *                 Component} at.
+         * @return {@link NetworkComponent Network Component} at argument
+         * position or {@code null} if it doesn't exist.
+         */
+        @Override
+        public NetworkComponent get(Object position) {
+            return positionIndex.get(position);
+        }
+
+        /**
+         * @param position  position to store argument component at.
+         * @param component component to store.
+         * @return component previously stored at argument position or {@code
+         * null} if there was none.
+         */
+        @Override
+        public NetworkComponent put(Object position, NetworkComponent component) {
+            if (component == null) {
+                return remove(position);
+            }
+            componentsChanged();
+            NetworkComponent previous = positionIndex.get(position);
+            store(position, component);
+            return previous;
+        }
+
+        /**
+         * @param position position to remove component from.
+         * @return removed component or {@code null} if there was none.
+         */
+        @Override
+        public NetworkComponent remove(Object position) {
+            componentsChanged();
+            NetworkComponent removed = positionIndex.remove(position);
+            if (removed != null) {
+                untrack(removed);
+            }
+            return removed;
+        }
+
+        /**
+         * @return number of stored components.
+         */
+        @Override
+        public int size() {
+            return positionIndex.size();
+        }
+
+        /**
+         * @param expected expected number of stored components.
+         */
+        @Override
+        public void ensureCapacity(int expected) {
+            positionIndex.ensureCapacity(expected);
+        }
+
+        /**
+         * @param action action to perform.
+         */
+        @Override
+        public void forEachValue(Consumer<? super NetworkComponent> action) {
+            positionIndex.forEachValue(action);
+        }
+
+        /**
+         * @return read-only view of this index.
+         */
+        @Override
+        public Map<Object, NetworkComponent> asMap() {
+            return positionIndex.asMap();
+        }
+    }
+
+    /**
+     * Modifiable {@link Map} view of {@link #trackedIndex}. Iteration views
+     * are read-only. Extends {@link HashMap} only for compatibility of {@link
+     * #getNetworkMapAccess()}; every method is redirected to the index and
+     * storage of {@link HashMap} stays empty.
+     */
+    private final class MapAccess extends HashMap<Object, NetworkComponent> {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Set<Entry<Object, NetworkComponent>> entrySet() {
+            return positionIndex.asMap().entrySet();
+        }
+
+        @Override
+        public Set<Object> keySet() {
+            return positionIndex.asMap().keySet();
+        }
+
+        @Override
+        public Collection<NetworkComponent> values() {
+            return positionIndex.asMap().values();
+        }
+
+        @Override
+        public NetworkComponent get(Object key) {
+            return positionIndex.get(key);
+        }
+
+        @Override
+        public NetworkComponent getOrDefault(Object key, NetworkComponent defaultValue) {
+            NetworkComponent component = positionIndex.get(key);
+            return component != null ? component : defaultValue;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return positionIndex.get(key) != null;
+        }
+
+        @Override
+        public boolean containsValue(Object value) {
+            return positionIndex.asMap().containsValue(value);
+        }
+
+        @Override
+        public int size() {
+            return positionIndex.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return positionIndex.size() == 0;
+        }
+
+        @Override
+        public void forEach(BiConsumer<? super Object, ? super NetworkComponent> action) {
+            positionIndex.asMap().forEach(action);
+        }
+
+        @Override
+        public NetworkComponent put(Object key, NetworkComponent value) {
+            return trackedIndex.put(key, value);
+        }
+
+        @Override
+        public void putAll(Map<?, ? extends NetworkComponent> map) {
+            beginBatch();
+            try {
+                for (Entry<?, ? extends NetworkComponent> entry : map.entrySet()) {
+                    trackedIndex.put(entry.getKey(), entry.getValue());
+                }
+            } finally {
+                endBatch();
+            }
+        }
+
+        @Override
+        public NetworkComponent putIfAbsent(Object key, NetworkComponent value) {
+            NetworkComponent current = positionIndex.get(key);
+            return current != null ? current : trackedIndex.put(key, value);
+        }
+
+        @Override
+        public NetworkComponent remove(Object key) {
+            return trackedIndex.remove(key);
+        }
+
+        @Override
+        public boolean remove(Object key, Object value) {
+            NetworkComponent current = positionIndex.get(key);
+            if (current != null && current.equals(value)) {
+                trackedIndex.remove(key);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public NetworkComponent replace(Object key, NetworkComponent value) {
+            return positionIndex.get(key) != null ? trackedIndex.put(key, value) : null;
+        }
+
+        @Override
+        public boolean replace(Object key, NetworkComponent oldValue, NetworkComponent newValue) {
+            NetworkComponent current = positionIndex.get(key);
+            if (current != null && current.equals(oldValue)) {
+                trackedIndex.put(key, newValue);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void replaceAll(BiFunction<? super Object, ? super NetworkComponent, ? extends NetworkComponent> function) {
+            beginBatch();
+            try {
+                for (Object position : new ArrayList<>(positionIndex.asMap().keySet())) {
+                    update(position, function.apply(position, positionIndex.get(position)));
+                }
+            } finally {
+                endBatch();
+            }
+        }
+
+        @Override
+        public NetworkComponent computeIfAbsent(Object key, Function<? super Object, ? extends NetworkComponent> function) {
+            NetworkComponent current = positionIndex.get(key);
+            if (current == null) {
+                current = function.apply(key);
+                if (current != null) {
+                    trackedIndex.put(key, current);
+                }
+            }
+            return current;
+        }
+
+        @Override
+        public NetworkComponent computeIfPresent(Object key, BiFunction<? super Object, ? super NetworkComponent, ? extends NetworkComponent> function) {
+            NetworkComponent current = positionIndex.get(key);
+            return current != null ? update(key, function.apply(key, current)) : null;
+        }
+
+        @Override
+        public NetworkComponent compute(Object key, BiFunction<? super Object, ? super NetworkComponent, ? extends NetworkComponent> function) {
+            return update(key, function.apply(key, positionIndex.get(key)));
+        }
+
+        @Override
+        public NetworkComponent merge(Object key, NetworkComponent value, BiFunction<? super NetworkComponent, ? super NetworkComponent, ? extends NetworkComponent> function) {
+            NetworkComponent current = positionIndex.get(key);
+            return update(key, current != null ? function.apply(current, value) : value);
+        }
+
+        /**
+         * @param key   position to update.
+         * @param value component to store at argument position or {@code
+         *              null} to remove stored component.
+         * @return argument component.
+         */
+        private NetworkComponent update(Object key, NetworkComponent value) {
+            if (value != null) {
+                trackedIndex.put(key, value);
+            } else {
+                trackedIndex.remove(key);
+            }
+            return value;
+        }
+
+        @Override
+        public void clear() {
+            beginBatch();
+            try {
+                for (Object position : new ArrayList<>(positionIndex.asMap().keySet())) {
+                    trackedIndex.remove(position);
+                }
+            } finally {
+                endBatch();
+            }
+        }
+
+        @Override
+        public Object clone() {
+            return new HashMap<>(positionIndex.asMap());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o == this || positionIndex.asMap().equals(o);
+        }
+
+        @Override
+        public int hashCode() {
+            return positionIndex.asMap().hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return positionIndex.asMap().toString();
+        }
     }
 }
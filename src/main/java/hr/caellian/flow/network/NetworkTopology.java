@@ -0,0 +1,298 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package hr.caellian.flow.network;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+
+/**
+ * Network Topology maintains {@link Network Networks} consisting of connected
+ * {@link NetworkComponent Network Components} as components are connected and
+ * disconnected.
+ * <p>
+ * When a component connecting multiple networks is added, smaller networks
+ * are merged into the largest one. When a component is removed, searches are
+ * started from all of its neighbours at the same time and stopped as soon as
+ * all but one of them have either met another search or explored the whole
+ * part of the network they're in. Only components of parts which were
+ * disconnected are moved into new networks, so the work done is proportional
+ * to the size of smaller parts rather than whole network.
+ * <p>
+ * {@link NetworkBase} maintains its topology this way whenever components are
+ * added or removed. Components moved between networks are transferred with
+ * bulk load and unload operations which don't affect topology.
+ *
+ * @author Caellian
+ * @since 1.2.0
+ */
+public class NetworkTopology {
+    /**
+     * Network Topology only provides static access.
+     */
+    private NetworkTopology() {
+    }
+
+    /**
+     * Adds argument component to network of its neighbours merging all
+     * networks it connects. If none of neighbours belong to a compatible
+     * network, component is added to its {@link
+     * NetworkComponent#createDefaultNetwork() default network}.
+     *
+     * @param component component to connect.
+     * @return network argument component was added to.
+     */
+    public static Network connect(NetworkComponent component) {
+        LinkedHashSet<Network> networks = neighbourNetworks(component);
+
+        Network target = null;
+        for (Network network : networks) {
+            if (target == null || network.getNetworkMap().size() > target.getNetworkMap().size()) {
+                target = network;
+            }
+        }
+        if (target == null) {
+            target = component.createDefaultNetwork();
+        }
+
+        target.addNetworkComponent(component);
+        component.setNetwork(target);
+
+        // NetworkBase merges networks when components are added to it.
+        if (!(target instanceof NetworkBase)) {
+            merge(target, networks);
+        }
+        return target;
+    }
+
+    /**
+     * Removes argument component from its network and splits the network if
+     * removed component was the only connection between its parts.
+     *
+     * @param component component to disconnect.
+     * @return list of networks created for parts which were disconnected from
+     * the original network.
+     */
+    public static ArrayList<Network> disconnect(NetworkComponent component) {
+        Network network = component.getNetwork();
+        if (network == null) {
+            return new ArrayList<>();
+        }
+
+        // NetworkBase splits itself when components are removed from it.
+        if (network instanceof NetworkBase) {
+            ArrayList<Network> result = ((NetworkBase) network).removeAndSplit(component);
+            component.setNetwork(null);
+            return result != null ? result : new ArrayList<>();
+        }
+
+        network.removeNetworkComponent(component);
+        component.setNetwork(null);
+        return split(network, component);
+    }
+
+    /**
+     * Moves components of all compatible networks argument component
+     * connects into argument network. Argument component is expected to
+     * already be stored by argument network.
+     *
+     * @param target    network argument component was added to.
+     * @param component added component.
+     */
+    static void merge(Network target, NetworkComponent component) {
+        merge(target, neighbourNetworks(component));
+    }
+
+    /**
+     * Moves components of argument networks into argument target network.
+     *
+     * @param target   network to move components into.
+     * @param networks networks to merge into target network.
+     */
+    private static void merge(Network target, Collection<Network> networks) {
+        for (Network network : networks) {
+            if (network != target) {
+                move(network.getNetworkComponents(), network, target);
+            }
+        }
+    }
+
+    /**
+     * @param component component to find neighbouring networks of.
+     * @return networks of neighbours of argument component which argument
+     * component could be added to.
+     */
+    private static LinkedHashSet<Network> neighbourNetworks(NetworkComponent component) {
+        LinkedHashSet<Network> networks = new LinkedHashSet<>();
+        for (NetworkComponent neighbour : component.getNeighbours().values()) {
+            Network network = neighbour.getNetwork();
+            if (network != null && component.isCompatibleWithNetwork(network) && network.canAddComponent(component)) {
+                networks.add(network);
+            }
+        }
+        return networks;
+    }
+
+    /**
+     * Moves parts of argument network which were only connected through
+     * argument component into new networks. Argument component is expected to
+     * already be removed from argument network.
+     *
+     * @param network   network argument component was removed from.
+     * @param component removed component.
+     * @return list of networks created for parts which were disconnected from
+     * argument network.
+     */
+    static ArrayList<Network> split(Network network, NetworkComponent component) {
+        ArrayList<Network> result = new ArrayList<>();
+        ArrayList<NetworkComponent> starts = new ArrayList<>();
+        for (NetworkComponent neighbour : network.getNeighbours(component).values()) {
+            if (neighbour != component && neighbour.getNetwork() == network && !starts.contains(neighbour)) {
+                starts.add(neighbour);
+            }
+        }
+        if (starts.size() < 2) {
+            return result;
+        }
+
+        int count = starts.size();
+        // Search which first reached each component.
+        IdentityHashMap<NetworkComponent, Integer> owners = new IdentityHashMap<>();
+        // Union-find parents of searches which met each other.
+        int[] parent = new int[count];
+        ArrayList<ArrayDeque<NetworkComponent>> queues = new ArrayList<>(count);
+        ArrayList<ArrayList<NetworkComponent>> members = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            parent[i] = i;
+            queues.add(new ArrayDeque<>());
+            members.add(new ArrayList<>());
+            if (owners.containsKey(starts.get(i))) {
+                continue;
+            }
+            owners.put(starts.get(i), i);
+            queues.get(i).add(starts.get(i));
+            members.get(i).add(starts.get(i));
+        }
+
+        int active = count;
+        while (active > 1) {
+            active = 0;
+            for (int i = 0; i < count; i++) {
+                if (find(parent, i) != i || queues.get(i).isEmpty()) {
+                    continue;
+                }
+
+                NetworkComponent current = queues.get(i).poll();
+                for (NetworkComponent next : network.getNeighbours(current).values()) {
+                    if (next == component || next.getNetwork() != network) {
+                        continue;
+                    }
+                    Integer owner = owners.get(next);
+                    if (owner == null) {
+                        owners.put(next, i);
+                        queues.get(i).add(next);
+                        members.get(i).add(next);
+                    } else {
+                        int other = find(parent, owner);
+                        if (other != i) {
+                            // Searches met; continue as a single search.
+                            parent[other] = i;
+                            queues.get(i).addAll(queues.get(other));
+                            queues.get(other).clear();
+                            members.get(i).addAll(members.get(other));
+                            members.get(other).clear();
+                        }
+                    }
+                }
+
+                if (!queues.get(i).isEmpty()) {
+                    active++;
+                }
+            }
+        }
+
+        // Parts whose search finished are disconnected from the rest. If all
+        // searches finished, the largest part is kept in original network.
+        int kept = -1;
+        for (int i = 0; i < count; i++) {
+            if (find(parent, i) == i && !queues.get(i).isEmpty()) {
+                kept = i;
+            }
+        }
+        if (kept < 0) {
+            for (int i = 0; i < count; i++) {
+                if (find(parent, i) == i && (kept < 0 || members.get(i).size() > members.get(kept).size())) {
+                    kept = i;
+                }
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            if (i == kept || find(parent, i) != i || members.get(i).isEmpty()) {
+                continue;
+            }
+            ArrayList<NetworkComponent> part = members.get(i);
+            Network created = part.get(0).createDefaultNetwork();
+            move(part, network, created);
+            result.add(created);
+        }
+        return result;
+    }
+
+    /**
+     * Moves argument components from one network to another using bulk
+     * {@link Network#unloadNetworkComponents(Collection) unload} and {@link
+     * Network#loadNetworkComponents(Collection) load} operations, so networks
+     * report the change once and don't maintain topology while components are
+     * moved.
+     *
+     * @param components components to move.
+     * @param from       network to remove components from.
+     * @param to         network to add components to.
+     */
+    private static void move(ArrayList<NetworkComponent> components, Network from, Network to) {
+        from.unloadNetworkComponents(components);
+        to.loadNetworkComponents(components);
+        for (NetworkComponent component : components) {
+            component.setNetwork(to);
+        }
+    }
+
+    /**
+     * @param parent union-find parents.
+     * @param i      index to find root of.
+     * @return root of argument index.
+     */
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package hr.caellian.flow.network;
+
+/**
+ * Packed Position contains utility methods for storing three dimensional
+ * integer coordinates in a single {@code long} value.
+ * <p>
+ * X and Z coordinates are stored in 26 bits and Y coordinate in 12 bits, all
+ * of them as signed values. Supported range is therefore [-33554432, 33554431]
+ * for X and Z and [-2048, 2047] for Y coordinate. {@link #pack(int, int,
+ * int) Packing} coordinates outside of that range fails instead of wrapping
+ * them onto other positions.
+ *
+ * @author Caellian
+ * @since 1.2.0
+ */
+public class PackedPosition {
+    /**
+     * Number of bits used for X and Z coordinates.
+     */
+    private static final int HORIZONTAL_BITS = 26;
+
+    /**
+     * Number of bits used for Y coordinate.
+     */
+    private static final int VERTICAL_BITS = 12;
+
+    /**
+     * Mask of bits used for X and Z coordinates.
+     */
+    private static final long HORIZONTAL_MASK = (1L << HORIZONTAL_BITS) - 1;
+
+    /**
+     * Mask of bits used for Y coordinate.
+     */
+    private static final long VERTICAL_MASK = (1L << VERTICAL_BITS) - 1;
+
+    /**
+     * Minimal supported X and Z coordinate.
+     */
+    public static final int MIN_HORIZONTAL = -(1 << (HORIZONTAL_BITS - 1));
+
+    /**
+     * Maximal supported X and Z coordinate.
+     */
+    public static final int MAX_HORIZONTAL = (1 << (HORIZONTAL_BITS - 1)) - 1;
+
+    /**
+     * Minimal supported Y coordinate.
+     */
+    public static final int MIN_VERTICAL = -(1 << (VERTICAL_BITS - 1));
+
+    /**
+     * Maximal supported Y coordinate.
+     */
+    public static final int MAX_VERTICAL = (1 << (VERTICAL_BITS - 1)) - 1;
+
+    /**
+     * Packed Position only provides static access.
+     */
+    private PackedPosition() {
+    }
+
+    /**
+     * @param x X coordinate.
+     * @param y Y coordinate.
+     * @param z Z coordinate.
+     * @return {@code true} if argument coordinates can be packed.
+     */
+    public static boolean isInRange(int x, int y, int z) {
+        return x >= MIN_HORIZONTAL && x <= MAX_HORIZONTAL &&
+                y >= MIN_VERTICAL && y <= MAX_VERTICAL &&
+                z >= MIN_HORIZONTAL && z <= MAX_HORIZONTAL;
+    }
+
+    /**
+     * @param x X coordinate.
+     * @param y Y coordinate.
+     * @param z Z coordinate.
+     * @return argument coordinates packed into a single value.
+     * @throws IllegalArgumentException if argument coordinates are outside of
+     *                                  supported range.
+     */
+    public static long pack(int x, int y, int z) {
+        if (!isInRange(x, y, z)) {
+            throw new IllegalArgumentException("Position outside of packable range: " + x + ", " + y + ", " + z);
+        }
+        return ((x & HORIZONTAL_MASK) << (HORIZONTAL_BITS + VERTICAL_BITS)) |
+                ((z & HORIZONTAL_MASK) << VERTICAL_BITS) |
+                (y & VERTICAL_MASK);
+    }
+
+    /**
+     * @param packed packed coordinates.
+     * @return X coordinate.
+     */
+    public static int getX(long packed) {
+        return (int) (packed >> (HORIZONTAL_BITS + VERTICAL_BITS));
+    }
+
+    /**
+     * @param packed packed coordinates.
+     * @return Y coordinate.
+     */
+    public static int getY(long packed) {
+        return (int) (packed << (64 - VERTICAL_BITS) >> (64 - VERTICAL_BITS));
+    }
+
+    /**
+     * @param packed packed coordinates.
+     * @return Z coordinate.
+     */
+    public static int getZ(long packed) {
+        return (int) (packed << (64 - HORIZONTAL_BITS - VERTICAL_BITS) >> (64 - HORIZONTAL_BITS));
+    }
+
+    /**
+     * @param packed packed coordinates.
+     * @param dx     offset along X axis.
+     * @param dy     offset along Y axis.
+     * @param dz     offset along Z axis.
+     * @return packed coordinates moved by argument offsets.
+     * @throws IllegalArgumentException if moved coordinates are outside of
+     *                                  supported range.
+     */
+    public static long offset(long packed, int dx, int dy, int dz) {
+        return pack(getX(packed) + dx, getY(packed) + dy, getZ(packed) + dz);
+    }
+}
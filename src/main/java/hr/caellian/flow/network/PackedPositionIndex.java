@@ -0,0 +1,480 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package hr.caellian.flow.network;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Packed Position Index is a {@link PositionIndex Position Index} for
+ * positions representing three dimensional integer coordinates.
+ * <p>
+ * Positions are converted into {@link PackedPosition packed} {@code long}
+ * keys which are stored in an open addressing hash table, avoiding hashing of
+ * position objects and allocation of map entries. Index also supports region
+ * and neighbour queries by coordinates.
+ *
+ * @author Caellian
+ * @since 1.2.0
+ */
+public class PackedPositionIndex implements PositionIndex {
+    /**
+     * Initial capacity of hash table.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Offsets of six direct neighbours.
+     */
+    private static final int[][] NEIGHBOUR_OFFSETS = {
+            {1, 0, 0}, {-1, 0, 0}, {0, 1, 0}, {0, -1, 0}, {0, 0, 1}, {0, 0, -1}
+    };
+
+    /**
+     * Function converting position objects into packed coordinates.
+     */
+    private final ToLongFunction<Object> packer;
+
+    /**
+     * Packed coordinates of stored components.
+     */
+    private long[] keys;
+
+    /**
+     * Position objects of stored components.
+     */
+    private Object[] positions;
+
+    /**
+     * Stored components, {@code null} for empty slots.
+     */
+    private NetworkComponent[] values;
+
+    /**
+     * Number of stored components.
+     */
+    private int size;
+
+    /**
+     * Read-only map view of this index.
+     */
+    private final Map<Object, NetworkComponent> view = new MapView();
+
+    /**
+     * Default constructor.
+     *
+     * @param packer function converting position objects into {@link
+     *               PackedPosition packed coordinates}.
+     */
+    public PackedPositionIndex(ToLongFunction<Object> packer) {
+        this(packer, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor allowing custom initial capacity.
+     *
+     * @param packer   function converting position objects into {@link
+     *                 PackedPosition packed coordinates}.
+     * @param expected expected number of stored components.
+     */
+    public PackedPositionIndex(ToLongFunction<Object> packer, int expected) {
+        this.packer = packer;
+        int capacity = tableSizeFor(expected);
+        keys = new long[capacity];
+        positions = new Object[capacity];
+        values = new NetworkComponent[capacity];
+    }
+
+    /**
+     * @param expected expected number of stored components.
+     * @return power of two table size which keeps load factor under one half.
+     */
+    private static int tableSizeFor(int expected) {
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity < expected * 2 && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * @param key packed coordinates.
+     * @return mixed hash of argument key.
+     */
+    private static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    /**
+     * @param key packed coordinates.
+     * @return slot containing argument key or {@code -1} if it isn't stored.
+     */
+    private int slotOf(long key) {
+        int mask = values.length - 1;
+        for (int slot = hash(key) & mask; values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param packed packed coordinates.
+     * @return component at argument coordinates or {@code null} if it doesn't
+     * exist.
+     */
+    public NetworkComponent get(long packed) {
+        int slot = slotOf(packed);
+        return slot >= 0 ? values[slot] : null;
+    }
+
+    /**
+     * @param x X coordinate.
+     * @param y Y coordinate.
+     * @param z Z coordinate.
+     * @return component at argument coordinates or {@code null} if it doesn't
+     * exist.
+     */
+    public NetworkComponent get(int x, int y, int z) {
+        if (!PackedPosition.isInRange(x, y, z)) {
+            return null;
+        }
+        return get(PackedPosition.pack(x, y, z));
+    }
+
+    /**
+     * @param position position to look for {@link NetworkComponent Network
+     *                 Component} at.
+     * @return {@link NetworkComponent Network Component} at argument position
+     * or {@code null} if it doesn't exist.
+     */
+    @Override
+    public NetworkComponent get(Object position) {
+        return get(packer.applyAsLong(position));
+    }
+
+    /**
+     * @param position  position to store argument component at.
+     * @param component component to store.
+     * @return component previously stored at argument position or {@code
+     * null} if there was none.
+     */
+    @Override
+    public NetworkComponent put(Object position, NetworkComponent component) {
+        if (component == null) {
+            return remove(position);
+        }
+        long key = packer.applyAsLong(position);
+        int mask = values.length - 1;
+        int slot = hash(key) & mask;
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                NetworkComponent previous = values[slot];
+                positions[slot] = position;
+                values[slot] = component;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        positions[slot] = position;
+        values[slot] = component;
+        if (++size * 2 > values.length) {
+            resize(values.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * @param position position to remove component from.
+     * @return removed component or {@code null} if there was none.
+     */
+    @Override
+    public NetworkComponent remove(Object position) {
+        int slot = slotOf(packer.applyAsLong(position));
+        if (slot < 0) {
+            return null;
+        }
+        NetworkComponent removed = values[slot];
+        removeSlot(slot);
+        return removed;
+    }
+
+    /**
+     * Removes component at argument slot and shifts following entries of the
+     * same probe sequence back so no tombstones are needed.
+     *
+     * @param slot slot to clear.
+     */
+    private void removeSlot(int slot) {
+        int mask = values.length - 1;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            if (values[next] == null) {
+                break;
+            }
+            int ideal = hash(keys[next]) & mask;
+            // Entry can be moved if its ideal slot isn't cyclically within
+            // (slot, next].
+            if (((next - ideal) & mask) >= ((next - slot) & mask)) {
+                keys[slot] = keys[next];
+                positions[slot] = positions[next];
+                values[slot] = values[next];
+                slot = next;
+            }
+        }
+        positions[slot] = null;
+        values[slot] = null;
+        size--;
+    }
+
+    /**
+     * Makes sure argument number of components can be stored without
+     * resizing the table.
+     *
+     * @param expected expected number of stored components.
+     */
+    @Override
+    public void ensureCapacity(int expected) {
+        int capacity = tableSizeFor(expected);
+        if (capacity > values.length) {
+            resize(capacity);
+        }
+    }
+
+    /**
+     * @param capacity new size of hash table.
+     */
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldPositions = positions;
+        NetworkComponent[] oldValues = values;
+        keys = new long[capacity];
+        positions = new Object[capacity];
+        values = new NetworkComponent[capacity];
+
+        int mask = capacity - 1;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                positions[slot] = oldPositions[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * @return number of stored components.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Performs argument action on every stored component by iterating slots
+     * of hash table directly.
+     *
+     * @param action action to perform.
+     */
+    @Override
+    public void forEachValue(Consumer<? super NetworkComponent> action) {
+        NetworkComponent[] values = this.values;
+        for (NetworkComponent value : values) {
+            if (value != null) {
+                action.accept(value);
+            }
+        }
+    }
+
+    /**
+     * @return read-only view of this index.
+     */
+    @Override
+    public Map<Object, NetworkComponent> asMap() {
+        return view;
+    }
+
+    /**
+     * @return function converting position objects into {@link PackedPosition
+     * packed coordinates}.
+     */
+    @Override
+    public ToLongFunction<Object> getPacker() {
+        return packer;
+    }
+
+    /**
+     * Passes every component within argument region (inclusive) to argument
+     * consumer. Depending on region volume, either every position within the
+     * region is looked up or every stored component is tested.
+     *
+     * @param minX     minimal X coordinate.
+     * @param minY     minimal Y coordinate.
+     * @param minZ     minimal Z coordinate.
+     * @param maxX     maximal X coordinate.
+     * @param maxY     maximal Y coordinate.
+     * @param maxZ     maximal Z coordinate.
+     * @param consumer consumer accepting components within the region.
+     */
+    @Override
+    public void forEachInRegion(int minX, int minY, int minZ, int maxX, int maxY, int maxZ, Consumer<? super NetworkComponent> consumer) {
+        minX = Math.max(minX, PackedPosition.MIN_HORIZONTAL);
+        minY = Math.max(minY, PackedPosition.MIN_VERTICAL);
+        minZ = Math.max(minZ, PackedPosition.MIN_HORIZONTAL);
+        maxX = Math.min(maxX, PackedPosition.MAX_HORIZONTAL);
+        maxY = Math.min(maxY, PackedPosition.MAX_VERTICAL);
+        maxZ = Math.min(maxZ, PackedPosition.MAX_HORIZONTAL);
+        if (minX > maxX || minY > maxY || minZ > maxZ) {
+            return;
+        }
+        // Volume of the whole packable range doesn't fit into a long, so
+        // number of columns is compared against slots per column instead.
+        long columns = ((long) maxX - minX + 1) * ((long) maxZ - minZ + 1);
+        if (columns <= values.length / (maxY - minY + 1)) {
+            for (int x = minX; x <= maxX; x++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    for (int y = minY; y <= maxY; y++) {
+                        NetworkComponent component = get(PackedPosition.pack(x, y, z));
+                        if (component != null) {
+                            consumer.accept(component);
+                        }
+                    }
+                }
+            }
+        } else {
+            for (int slot = 0; slot < values.length; slot++) {
+                if (values[slot] != null) {
+                    long key = keys[slot];
+                    int x = PackedPosition.getX(key);
+                    int y = PackedPosition.getY(key);
+                    int z = PackedPosition.getZ(key);
+                    if (x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ) {
+                        consumer.accept(values[slot]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Passes every component directly adjacent to argument coordinates to
+     * argument consumer.
+     *
+     * @param packed   packed coordinates to look for neighbours of.
+     * @param consumer consumer accepting neighbour components.
+     */
+    @Override
+    public void forEachNeighbour(long packed, Consumer<? super NetworkComponent> consumer) {
+        int x = PackedPosition.getX(packed);
+        int y = PackedPosition.getY(packed);
+        int z = PackedPosition.getZ(packed);
+        for (int[] offset : NEIGHBOUR_OFFSETS) {
+            NetworkComponent component = get(x + offset[0], y + offset[1], z + offset[2]);
+            if (component != null) {
+                consumer.accept(component);
+            }
+        }
+    }
+
+    /**
+     * Read-only map view of this index.
+     */
+    private final class MapView extends AbstractMap<Object, NetworkComponent> {
+        /**
+         * Set view of entries of this map.
+         */
+        private final Set<Entry<Object, NetworkComponent>> entries = new AbstractSet<Entry<Object, NetworkComponent>>() {
+            @Override
+            public Iterator<Entry<Object, NetworkComponent>> iterator() {
+                return new Iterator<Entry<Object, NetworkComponent>>() {
+                    private int slot = advance(0);
+
+                    private int advance(int from) {
+                        while (from < values.length && values[from] == null) {
+                            from++;
+                        }
+                        return from;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return slot < values.length;
+                    }
+
+                    @Override
+                    public Entry<Object, NetworkComponent> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        Entry<Object, NetworkComponent> entry = new SimpleImmutableEntry<>(positions[slot], values[slot]);
+                        slot = advance(slot + 1);
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+
+        @Override
+        public Set<Entry<Object, NetworkComponent>> entrySet() {
+            return entries;
+        }
+
+        @Override
+        public NetworkComponent get(Object key) {
+            return PackedPositionIndex.this.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return PackedPositionIndex.this.get(key) != null;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
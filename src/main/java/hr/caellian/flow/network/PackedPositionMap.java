@@ -0,0 +1,194 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package hr.caellian.flow.network;
+
+import java.util.Arrays;
+
+/**
+ * Packed Position Map maps {@link PackedPosition packed coordinates} to
+ * values.
+ * <p>
+ * Like {@link PackedPositionIndex}, entries are stored in an open addressing
+ * hash table keyed by primitive {@code long} values, so neither lookups nor
+ * insertions box keys or allocate map entries.
+ *
+ * @param <V> type of stored values.
+ * @author Caellian
+ * @since 1.2.0
+ */
+public class PackedPositionMap<V> {
+    /**
+     * Initial capacity of hash table.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Packed coordinates of stored values.
+     */
+    private long[] keys = new long[DEFAULT_CAPACITY];
+
+    /**
+     * Stored values, {@code null} for empty slots.
+     */
+    private Object[] values = new Object[DEFAULT_CAPACITY];
+
+    /**
+     * Number of stored values.
+     */
+    private int size;
+
+    /**
+     * @param key packed coordinates.
+     * @return mixed hash of argument key.
+     */
+    private static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    /**
+     * @param key packed coordinates.
+     * @return slot containing argument key or {@code -1} if it isn't stored.
+     */
+    private int slotOf(long key) {
+        int mask = values.length - 1;
+        for (int slot = hash(key) & mask; values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param key packed coordinates.
+     * @return value stored at argument coordinates or {@code null} if there
+     * is none.
+     */
+    public V get(long key) {
+        int slot = slotOf(key);
+        //noinspection unchecked
+        return slot >= 0 ? (V) values[slot] : null;
+    }
+
+    /**
+     * @param key   packed coordinates.
+     * @param value value to store, {@code null} removes stored value.
+     * @return value previously stored at argument coordinates or {@code null}
+     * if there was none.
+     */
+    public V put(long key, V value) {
+        if (value == null) {
+            return remove(key);
+        }
+        int mask = values.length - 1;
+        int slot = hash(key) & mask;
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                //noinspection unchecked
+                V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size * 2 > values.length) {
+            resize(values.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * @param key packed coordinates.
+     * @return removed value or {@code null} if there was none.
+     */
+    public V remove(long key) {
+        int slot = slotOf(key);
+        if (slot < 0) {
+            return null;
+        }
+        //noinspection unchecked
+        V removed = (V) values[slot];
+        int mask = values.length - 1;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            if (values[next] == null) {
+                break;
+            }
+            int ideal = hash(keys[next]) & mask;
+            // Entry can be moved if its ideal slot isn't cyclically within
+            // (slot, next].
+            if (((next - ideal) & mask) >= ((next - slot) & mask)) {
+                keys[slot] = keys[next];
+                values[slot] = values[next];
+                slot = next;
+            }
+        }
+        values[slot] = null;
+        size--;
+        return removed;
+    }
+
+    /**
+     * @return number of stored values.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all stored values.
+     */
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * @param capacity new size of hash table.
+     */
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[capacity];
+        values = new Object[capacity];
+
+        int mask = capacity - 1;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package hr.caellian.flow.network;
+
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Position Index stores {@link NetworkComponent Network Components} of a
+ * {@link Network Network} by their positions.
+ * <p>
+ * Different implementations allow networks to pick storage best suited for
+ * type of positions they use. Indices whose positions represent three
+ * dimensional integer coordinates also support region and neighbour queries.
+ *
+ * @author Caellian
+ * @see HashPositionIndex
+ * @see PackedPositionIndex
+ * @since 1.2.0
+ */
+public interface PositionIndex {
+    /**
+     * @param position position to look for {@link NetworkComponent Network
+     *                 Component} at.
+     * @return {@link NetworkComponent Network Component} at argument position
+     * or {@code null} if it doesn't exist.
+     */
+    NetworkComponent get(Object position);
+
+    /**
+     * @param position  position to store argument component at.
+     * @param component component to store.
+     * @return component previously stored at argument position or {@code
+     * null} if there was none.
+     */
+    NetworkComponent put(Object position, NetworkComponent component);
+
+    /**
+     * @param position position to remove component from.
+     * @return removed component or {@code null} if there was none.
+     */
+    NetworkComponent remove(Object position);
+
+    /**
+     * @return number of stored components.
+     */
+    int size();
+
+    /**
+     * Prepares index for storing argument number of components. Default
+     * implementation does nothing.
+     *
+     * @param expected expected number of stored components.
+     */
+    default void ensureCapacity(int expected) {
+    }
+
+    /**
+     * Performs argument action on every stored component. Default
+     * implementation iterates {@link #asMap() map view}; implementations
+     * should override it to iterate their storage directly without
+     * allocating.
+     *
+     * @param action action to perform.
+     */
+    default void forEachValue(Consumer<? super NetworkComponent> action) {
+        asMap().values().forEach(action);
+    }
+
+    /**
+     * @return function converting positions stored by this index into {@link
+     * PackedPosition packed coordinates} or {@code null} if they don't
+     * represent coordinates. Default implementation returns {@code null}.
+     */
+    default ToLongFunction<Object> getPacker() {
+        return null;
+    }
+
+    /**
+     * Passes every component within argument region (inclusive) to argument
+     * consumer. Default implementation tests every stored component using
+     * {@link #getPacker() packer}; implementations should override it to look
+     * up positions within the region directly.
+     *
+     * @param minX     minimal X coordinate.
+     * @param minY     minimal Y coordinate.
+     * @param minZ     minimal Z coordinate.
+     * @param maxX     maximal X coordinate.
+     * @param maxY     maximal Y coordinate.
+     * @param maxZ     maximal Z coordinate.
+     * @param consumer consumer accepting components within the region.
+     * @throws UnsupportedOperationException if positions stored by this index
+     *                                       don't represent coordinates.
+     */
+    default void forEachInRegion(int minX, int minY, int minZ, int maxX, int maxY, int maxZ, Consumer<? super NetworkComponent> consumer) {
+        ToLongFunction<Object> packer = getPacker();
+        if (packer == null) {
+            throw new UnsupportedOperationException("Positions stored by this index don't represent coordinates.");
+        }
+        asMap().forEach((position, component) -> {
+            long packed = packer.applyAsLong(position);
+            int x = PackedPosition.getX(packed);
+            int y = PackedPosition.getY(packed);
+            int z = PackedPosition.getZ(packed);
+            if (x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ) {
+                consumer.accept(component);
+            }
+        });
+    }
+
+    /**
+     * Passes every component directly adjacent to argument coordinates to
+     * argument consumer. Default implementation tests every stored component
+     * using {@link #getPacker() packer}; implementations should override it to
+     * look up neighbouring positions directly.
+     *
+     * @param packed   packed coordinates to look for neighbours of.
+     * @param consumer consumer accepting neighbour components.
+     * @throws UnsupportedOperationException if positions stored by this index
+     *                                       don't represent coordinates.
+     */
+    default void forEachNeighbour(long packed, Consumer<? super NetworkComponent> consumer) {
+        ToLongFunction<Object> packer = getPacker();
+        if (packer == null) {
+            throw new UnsupportedOperationException("Positions stored by this index don't represent coordinates.");
+        }
+        int x = PackedPosition.getX(packed);
+        int y = PackedPosition.getY(packed);
+        int z = PackedPosition.getZ(packed);
+        asMap().forEach((position, component) -> {
+            long other = packer.applyAsLong(position);
+            int distance = Math.abs(PackedPosition.getX(other) - x) + Math.abs(PackedPosition.getY(other) - y) + Math.abs(PackedPosition.getZ(other) - z);
+            if (distance == 1) {
+                consumer.accept(component);
+            }
+        });
+    }
+
+    /**
+     * @return read-only view of this index as a {@link Map} of positions and
+     * their respective components. Changes of the index are visible through
+     * returned map.
+     */
+    Map<Object, NetworkComponent> asMap();
+}
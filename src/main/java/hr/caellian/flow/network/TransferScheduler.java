@@ -0,0 +1,960 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package hr.caellian.flow.network;
+
+import hr.caellian.flow.network.structure.StructureComponent;
+import hr.caellian.flow.network.structure.StructureCore;
+import hr.caellian.flow.network.transfer.BatchFluxEmitter;
+import hr.caellian.flow.network.transfer.BatchFluxReceiver;
+import hr.caellian.flow.data.Flux;
+import hr.caellian.flow.network.transfer.FluxBuffer;
+import hr.caellian.flow.network.transfer.FluxEmitter;
+import hr.caellian.flow.network.transfer.FluxPublisher;
+import hr.caellian.flow.network.transfer.FluxReceiver;
+import hr.caellian.flow.network.transfer.FluxSubscriber;
+import hr.caellian.flow.network.transfer.FluxSubscription;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Transfer Scheduler drives transfer of flux between {@link FluxEmitter Flux
+ * Emitters} and {@link FluxReceiver Flux Receivers} of a {@link Network
+ * Network}.
+ * <p>
+ * Scheduler precomputes a routing plan containing every emitter and receiver
+ * pair connected through network components. Receivers of each emitter are
+ * ordered by distance from it so closer receivers are supplied first. Plan is
+ * stored in arrays and reused by every {@link #tick() tick} until it's
+ * {@link #invalidate() invalidated} by a change of network components.
+ * <p>
+ * Links are grouped by connected sub-network they belong to. If scheduler is
+ * given a {@link ForkJoinPool}, independent sub-networks are ticked in
+ * parallel. Links within a single sub-network are always processed in the
+ * same order by a single thread, so parallel ticks produce the same results as
+ * sequential ones as long as components don't access components outside of
+ * their sub-network.
+ * <p>
+ * Links between {@link BatchFluxEmitter Batch Flux Emitters} and {@link
+ * BatchFluxReceiver Batch Flux Receivers} are grouped by receiver. Flux of all
+ * batch emitters connected to a batch receiver is collected into a single
+ * reusable {@link FluxBuffer Flux Buffer} and delivered with one call after
+ * other links of the same sub-network were processed.
+ * <p>
+ * Receivers which are {@link FluxSubscriber Flux Subscribers} are subscribed
+ * to connected emitters which are {@link FluxPublisher Flux Publishers} when
+ * routing plan is built. Such links aren't processed by ticks at all; flux is
+ * pushed by publishers whenever subscribers signal demand. Subscriptions are
+ * cancelled and recreated whenever routing plan is rebuilt.
+ * <p>
+ * Each task keeps a list of awake emitters and ticks only those. Emitters
+ * which are {@link DormantComponent Dormant Components} and report being
+ * dormant are dropped from the list until they're {@link
+ * #wake(NetworkComponent) woken up}, so cost of a tick is proportional to the
+ * number of active emitters rather than network size. Emitters are woken up
+ * when routing plan is rebuilt, when flux is transferred into them and when
+ * a dormant receiver they're linked to is woken up. Dormant receivers still
+ * receive flux and are {@link DormantComponent#onWake() woken} by its
+ * arrival.
+ *
+ * @author Caellian
+ * @since 1.2.0
+ */
+public class TransferScheduler {
+    /**
+     * Network this scheduler is transferring flux in.
+     */
+    private final Network network;
+
+    /**
+     * Emitting side of each link in routing plan.
+     */
+    private FluxEmitter<?>[] linkEmitters = new FluxEmitter<?>[0];
+
+    /**
+     * Receiving side of each link in routing plan.
+     */
+    private FluxReceiver<?>[] linkReceivers = new FluxReceiver<?>[0];
+
+    /**
+     * Number of links in routing plan which aren't batched.
+     */
+    private int linkCount;
+
+    /**
+     * Index of emitter receiving side of each link in routing plan is known
+     * as, {@code -1} if receiver isn't an emitter.
+     */
+    private int[] linkReceiverEmitter = new int[0];
+
+    /**
+     * Distinct emitters of links which aren't batched.
+     */
+    private FluxEmitter<?>[] activeEmitters = new FluxEmitter<?>[0];
+
+    /**
+     * Index of first link of each emitter in {@link #activeEmitters},
+     * followed by {@link #linkCount}.
+     */
+    private int[] emitterLinkStart = new int[1];
+
+    /**
+     * Index of task ticking each emitter in {@link #activeEmitters}.
+     */
+    private int[] emitterTask = new int[0];
+
+    /**
+     * {@code true} for emitters queued to be ticked during next tick.
+     */
+    private boolean[] emitterQueued = new boolean[0];
+
+    /**
+     * Indices of emitters in {@link #activeEmitters}.
+     */
+    private Map<NetworkComponent, Integer> emitterIndices = Collections.emptyMap();
+
+    /**
+     * Indices of emitters linked to each receiver.
+     */
+    private Map<NetworkComponent, int[]> receiverEmitters = Collections.emptyMap();
+
+    /**
+     * Receivers of batched links in routing plan.
+     */
+    private BatchFluxReceiver<?>[] batchReceivers = new BatchFluxReceiver<?>[0];
+
+    /**
+     * Index of first emitter in {@link #batchEmitters} for each receiver in
+     * {@link #batchReceivers}, followed by total number of batched links.
+     */
+    private int[] batchEmitterStart = new int[1];
+
+    /**
+     * Emitters of batched links grouped by receiver.
+     */
+    private BatchFluxEmitter<?>[] batchEmitters = new BatchFluxEmitter<?>[0];
+
+    /**
+     * Subscriptions of reactive links in routing plan.
+     */
+    private ReactiveLink[] reactiveLinks = new ReactiveLink[0];
+
+    /**
+     * Largest number of batch emitters connected to a single batch receiver.
+     */
+    private int maxBatchEmitters;
+
+    /**
+     * Minimal number of links processed by a single parallel task. Smaller
+     * sub-networks are grouped together to reduce scheduling overhead.
+     */
+    private static final int MIN_TASK_LINKS = 64;
+
+    /**
+     * Pool used to tick independent sub-networks in parallel, {@code null} if
+     * network is ticked sequentially.
+     */
+    private ForkJoinPool pool;
+
+    /**
+     * Tasks processing groups of sub-networks, reused between ticks.
+     */
+    private LinkTask[] tasks = new LinkTask[0];
+
+    /**
+     * Task forking all {@link #tasks} and waiting for them to complete.
+     */
+    private final RecursiveAction rootTask = new RecursiveAction() {
+        @Override
+        protected void compute() {
+            ForkJoinTask.invokeAll(tasks);
+        }
+    };
+
+    /**
+     * {@code true} if routing plan has to be rebuilt before next tick.
+     */
+    private boolean invalid = true;
+
+    /**
+     * Components {@link #wake(NetworkComponent) woken up} since pending
+     * wake-ups were last applied. Wake-ups are queued so they can be requested
+     * from any thread, including workers ticking the network.
+     */
+    private final ConcurrentLinkedQueue<NetworkComponent> pendingWakes = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Default constructor.
+     *
+     * @param network network to transfer flux in.
+     */
+    public TransferScheduler(Network network) {
+        this.network = network;
+    }
+
+    /**
+     * @return network this scheduler is transferring flux in.
+     */
+    public Network getNetwork() {
+        return network;
+    }
+
+    /**
+     * Marks routing plan as outdated. Plan will be rebuilt before next tick.
+     * Should be called whenever components are added to or removed from the
+     * network or their connections change.
+     */
+    public void invalidate() {
+        invalid = true;
+    }
+
+    /**
+     * @return pool used to tick independent sub-networks in parallel, {@code
+     * null} if network is ticked sequentially.
+     */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * @param pool pool to tick independent sub-networks in parallel with or
+     *             {@code null} to tick network sequentially.
+     */
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Queues argument component to be ticked during next tick. If argument
+     * component is a receiver, emitters linked to it are queued as well.
+     * <p>
+     * Can be called from any thread, including during a {@link #tick() tick}.
+     * Wake-ups are applied once current tick is complete.
+     *
+     * @param component component to wake up.
+     */
+    public void wake(NetworkComponent component) {
+        pendingWakes.add(component);
+    }
+
+    /**
+     * Applies wake-ups queued by {@link #wake(NetworkComponent)}. Must only
+     * be called from thread ticking the network while no tick is in progress.
+     */
+    private void applyPendingWakes() {
+        NetworkComponent component;
+        while ((component = pendingWakes.poll()) != null) {
+            if (component instanceof DormantComponent) {
+                ((DormantComponent) component).onWake();
+            }
+            if (!invalid) {
+                applyWake(component);
+            }
+            // Otherwise all emitters will be awake after rebuild.
+        }
+    }
+
+    /**
+     * @param component component to wake up.
+     */
+    private void applyWake(NetworkComponent component) {
+        Integer emitter = emitterIndices.get(component);
+        if (emitter != null) {
+            wake(emitter);
+        }
+        int[] emitters = receiverEmitters.get(component);
+        if (emitters != null) {
+            for (int linked : emitters) {
+                wake(linked);
+            }
+        }
+    }
+
+    /**
+     * @param emitter index of emitter to queue for next tick.
+     */
+    private void wake(int emitter) {
+        tasks[emitterTask[emitter]].wake(emitter);
+    }
+
+    /**
+     * Doesn't modify scheduler state, so wake-ups {@link
+     * #wake(NetworkComponent) requested} since last tick aren't counted and
+     * no emitters are counted while routing plan {@link #isInvalid() is
+     * invalid}.
+     *
+     * @return number of emitters currently queued for next tick.
+     */
+    public int getAwakeCount() {
+        int result = 0;
+        for (LinkTask task : tasks) {
+            result += task.nextAwakeCount;
+        }
+        return result;
+    }
+
+    /**
+     * @return {@code true} if routing plan will be rebuilt before next tick.
+     */
+    public boolean isInvalid() {
+        return invalid;
+    }
+
+    /**
+     * @return number of emitter and receiver pairs in routing plan.
+     */
+    public int getLinkCount() {
+        if (invalid) {
+            rebuild();
+        }
+        return linkCount + batchEmitters.length + reactiveLinks.length;
+    }
+
+    /**
+     * Transfers flux over every link in routing plan whose emitter can emit
+     * and receiver can receive flux.
+     */
+    public void tick() {
+        if (invalid) {
+            rebuild();
+        }
+        applyPendingWakes();
+        ForkJoinPool pool = this.pool;
+        if (pool != null && tasks.length > 1) {
+            for (LinkTask task : tasks) {
+                task.reinitialize();
+            }
+            rootTask.reinitialize();
+            pool.invoke(rootTask);
+        } else {
+            for (LinkTask task : tasks) {
+                task.run();
+            }
+        }
+        applyPendingWakes();
+    }
+
+    /**
+     * Transfers flux over a single link.
+     *
+     * @param emitter  emitting side of the link.
+     * @param receiver receiving side of the link.
+     */
+    protected void transfer(FluxEmitter<?> emitter, FluxReceiver<?> receiver) {
+        if (emitter.canEmitFlux() && receiver.canReceiveFlux()) {
+            wakeOnArrival(receiver);
+            emit(emitter, receiver);
+        }
+    }
+
+    /**
+     * Rebuilds routing plan from current network components.
+     */
+    protected void rebuild() {
+        for (ReactiveLink link : reactiveLinks) {
+            link.cancel();
+        }
+
+        ArrayList<ReactiveLink> reactiveLinks = new ArrayList<>();
+        ArrayList<FluxEmitter<?>> emitters = new ArrayList<>();
+        ArrayList<FluxReceiver<?>> receivers = new ArrayList<>();
+        ArrayList<BatchFluxReceiver<?>> batchReceivers = new ArrayList<>();
+        ArrayList<Integer> batchEmitterStart = new ArrayList<>();
+        ArrayList<BatchFluxEmitter<?>> batchEmitters = new ArrayList<>();
+        ArrayList<int[]> taskRanges = new ArrayList<>();
+        Map<BatchFluxReceiver<?>, ArrayList<BatchFluxEmitter<?>>> batches = new IdentityHashMap<>();
+        ArrayList<BatchFluxReceiver<?>> batchOrder = new ArrayList<>();
+        int taskStart = 0;
+        int batchTaskStart = 0;
+        int batchTaskLinkStart = 0;
+        int maxBatchEmitters = 0;
+
+        for (ArrayList<NetworkComponent> subNetwork : findSubNetworks()) {
+            for (NetworkComponent component : subNetwork) {
+                if (component instanceof FluxEmitter) {
+                    FluxEmitter<?> emitter = (FluxEmitter<?>) component;
+                    for (FluxReceiver<?> receiver : findReceivers(emitter)) {
+                        if (emitter instanceof FluxPublisher && receiver instanceof FluxSubscriber) {
+                            reactiveLinks.add(new ReactiveLink((FluxPublisher<?>) emitter, (FluxSubscriber<?>) receiver));
+                        } else if (emitter instanceof BatchFluxEmitter && receiver instanceof BatchFluxReceiver) {
+                            ArrayList<BatchFluxEmitter<?>> batch = batches.get(receiver);
+                            if (batch == null) {
+                                batch = new ArrayList<>();
+                                batches.put((BatchFluxReceiver<?>) receiver, batch);
+                                batchOrder.add((BatchFluxReceiver<?>) receiver);
+                            }
+                            batch.add((BatchFluxEmitter<?>) emitter);
+                        } else {
+                            emitters.add(emitter);
+                            receivers.add(receiver);
+                        }
+                    }
+                }
+            }
+            // Receivers belong to a single sub-network, so batches are complete.
+            for (BatchFluxReceiver<?> receiver : batchOrder) {
+                ArrayList<BatchFluxEmitter<?>> batch = batches.get(receiver);
+                batchReceivers.add(receiver);
+                batchEmitterStart.add(batchEmitters.size());
+                batchEmitters.addAll(batch);
+                maxBatchEmitters = Math.max(maxBatchEmitters, batch.size());
+            }
+            batches.clear();
+            batchOrder.clear();
+
+            if (emitters.size() - taskStart + batchEmitters.size() - batchTaskLinkStart >= MIN_TASK_LINKS) {
+                taskRanges.add(new int[]{taskStart, emitters.size(), batchTaskStart, batchReceivers.size()});
+                taskStart = emitters.size();
+                batchTaskStart = batchReceivers.size();
+                batchTaskLinkStart = batchEmitters.size();
+            }
+        }
+        if (emitters.size() > taskStart || batchReceivers.size() > batchTaskStart) {
+            taskRanges.add(new int[]{taskStart, emitters.size(), batchTaskStart, batchReceivers.size()});
+        }
+        batchEmitterStart.add(batchEmitters.size());
+
+        linkCount = emitters.size();
+        linkEmitters = emitters.toArray(new FluxEmitter<?>[linkCount]);
+        linkReceivers = receivers.toArray(new FluxReceiver<?>[linkCount]);
+        this.batchReceivers = batchReceivers.toArray(new BatchFluxReceiver<?>[batchReceivers.size()]);
+        this.batchEmitterStart = new int[batchEmitterStart.size()];
+        for (int i = 0; i < this.batchEmitterStart.length; i++) {
+            this.batchEmitterStart[i] = batchEmitterStart.get(i);
+        }
+        this.batchEmitters = batchEmitters.toArray(new BatchFluxEmitter<?>[batchEmitters.size()]);
+        this.maxBatchEmitters = maxBatchEmitters;
+        indexEmitters();
+        tasks = new LinkTask[taskRanges.size()];
+        for (int i = 0; i < tasks.length; i++) {
+            int[] range = taskRanges.get(i);
+            tasks[i] = new LinkTask(i, emitterAt(range[0]), emitterAt(range[1]), range[2], range[3]);
+        }
+        this.reactiveLinks = reactiveLinks.toArray(new ReactiveLink[reactiveLinks.size()]);
+        invalid = false;
+
+        for (ReactiveLink link : this.reactiveLinks) {
+            link.subscribe();
+        }
+    }
+
+    /**
+     * Groups links which aren't batched by emitter and indexes emitters and
+     * receivers so they can be woken up.
+     */
+    private void indexEmitters() {
+        ArrayList<FluxEmitter<?>> emitters = new ArrayList<>();
+        int[] linkStart = new int[linkCount + 1];
+        Map<NetworkComponent, Integer> emitterIndices = new IdentityHashMap<>();
+        for (int link = 0; link < linkCount; link++) {
+            if (link == 0 || linkEmitters[link] != linkEmitters[link - 1]) {
+                linkStart[emitters.size()] = link;
+                emitterIndices.put(linkEmitters[link], emitters.size());
+                emitters.add(linkEmitters[link]);
+            }
+        }
+        linkStart[emitters.size()] = linkCount;
+
+        Map<NetworkComponent, ArrayList<Integer>> receiverEmitters = new IdentityHashMap<>();
+        linkReceiverEmitter = new int[linkCount];
+        for (int emitter = 0; emitter < emitters.size(); emitter++) {
+            for (int link = linkStart[emitter]; link < linkStart[emitter + 1]; link++) {
+                Integer receiverEmitter = emitterIndices.get(linkReceivers[link]);
+                linkReceiverEmitter[link] = receiverEmitter != null ? receiverEmitter : -1;
+                receiverEmitters.computeIfAbsent(linkReceivers[link], receiver -> new ArrayList<>()).add(emitter);
+            }
+        }
+
+        this.activeEmitters = emitters.toArray(new FluxEmitter<?>[emitters.size()]);
+        this.emitterLinkStart = Arrays.copyOf(linkStart, activeEmitters.length + 1);
+        this.emitterTask = new int[activeEmitters.length];
+        this.emitterQueued = new boolean[activeEmitters.length];
+        this.emitterIndices = emitterIndices;
+        this.receiverEmitters = new IdentityHashMap<>();
+        for (Map.Entry<NetworkComponent, ArrayList<Integer>> entry : receiverEmitters.entrySet()) {
+            int[] linked = new int[entry.getValue().size()];
+            for (int i = 0; i < linked.length; i++) {
+                linked[i] = entry.getValue().get(i);
+            }
+            this.receiverEmitters.put(entry.getKey(), linked);
+        }
+    }
+
+    /**
+     * @param link index of a link starting a task range.
+     * @return index of emitter of argument link or number of emitters if
+     * argument link is past the last link.
+     */
+    private int emitterAt(int link) {
+        return link < linkCount ? emitterIndices.get(linkEmitters[link]) : activeEmitters.length;
+    }
+
+    /**
+     * @param component component to check.
+     * @return {@code true} if argument component is a {@link DormantComponent
+     * Dormant Component} which reports being dormant.
+     */
+    private static boolean isDormant(Object component) {
+        return component instanceof DormantComponent && ((DormantComponent) component).isDormant();
+    }
+
+    /**
+     * Wakes argument receiver if it's dormant as flux is about to be delivered
+     * to it.
+     *
+     * @param receiver receiver flux is delivered to.
+     */
+    protected static void wakeOnArrival(FluxReceiver<?> receiver) {
+        if (isDormant(receiver)) {
+            ((DormantComponent) receiver).onWake();
+        }
+    }
+
+    /**
+     * Transfers flux of all batch emitters connected to a batch receiver in a
+     * single call. Flux receiver didn't take is restored to emitters it came
+     * from.
+     *
+     * @param receiver receiving side of the links.
+     * @param emitters emitting sides of the links.
+     * @param start    index of first emitter (inclusive).
+     * @param end      index of last emitter (exclusive).
+     * @param buffer   buffer used to pass flux.
+     * @param ends     reusable array used to store end of flux emitted by each
+     *                 emitter, at least as long as number of emitters.
+     */
+    protected void transfer(BatchFluxReceiver<?> receiver, BatchFluxEmitter<?>[] emitters, int start, int end, FluxBuffer<?> buffer, int[] ends) {
+        if (!receiver.canReceiveFlux()) {
+            return;
+        }
+        buffer.clear();
+        for (int i = start; i < end; i++) {
+            BatchFluxEmitter<?> emitter = emitters[i];
+            if (emitter.canEmitFlux()) {
+                emit(emitter, buffer, receiver);
+            }
+            ends[i - start] = buffer.size();
+        }
+        if (buffer.size() == 0) {
+            return;
+        }
+        wakeOnArrival(receiver);
+        receive(receiver, buffer);
+        int segmentStart = 0;
+        for (int i = start; i < end; i++) {
+            int segmentEnd = ends[i - start];
+            if (segmentEnd > segmentStart && buffer.remaining() > 0) {
+                restore(emitters[i], buffer, segmentStart, segmentEnd);
+            }
+            segmentStart = segmentEnd;
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Emits flux from argument emitter into argument receiver. Links only
+     * connect emitters and receivers of the same flux, so type of receiver is
+     * assumed to match the emitter.
+     *
+     * @param emitter  emitting side of the link.
+     * @param receiver receiving side of the link.
+     * @param <B>      type of flux transferred over the link.
+     */
+    @SuppressWarnings("unchecked")
+    private static <B extends Flux<?>> void emit(FluxEmitter<B> emitter, FluxReceiver<?> receiver) {
+        emitter.emit((FluxReceiver<B>) receiver);
+    }
+
+    /**
+     * Emits flux from argument batch emitter into argument buffer.
+     *
+     * @param emitter  emitting side of the link.
+     * @param buffer   buffer to emit flux into.
+     * @param receiver receiving side of the link.
+     * @param <B>      type of flux transferred over the link.
+     */
+    @SuppressWarnings("unchecked")
+    private static <B extends Flux<?>> void emit(BatchFluxEmitter<B> emitter, FluxBuffer<?> buffer, FluxReceiver<?> receiver) {
+        emitter.emit((FluxBuffer<B>) buffer, (FluxReceiver<B>) receiver);
+    }
+
+    /**
+     * Delivers flux stored in argument buffer to argument batch receiver.
+     *
+     * @param receiver receiving side of the links.
+     * @param buffer   buffer containing emitted flux.
+     * @param <B>      type of flux transferred over the links.
+     */
+    @SuppressWarnings("unchecked")
+    private static <B extends Flux<?>> void receive(BatchFluxReceiver<B> receiver, FluxBuffer<?> buffer) {
+        receiver.receive((FluxBuffer<B>) buffer, BatchFluxReceiver.NO_CONDITIONS);
+    }
+
+    /**
+     * Returns flux receiver didn't take to argument batch emitter.
+     *
+     * @param emitter emitter flux was emitted by.
+     * @param buffer  buffer containing leftover flux.
+     * @param start   index of first flux emitted by argument emitter.
+     * @param end     index after last flux emitted by argument emitter.
+     * @param <B>     type of flux transferred over the links.
+     */
+    @SuppressWarnings("unchecked")
+    private static <B extends Flux<?>> void restore(BatchFluxEmitter<B> emitter, FluxBuffer<?> buffer, int start, int end) {
+        emitter.restore((FluxBuffer<B>) buffer, start, end);
+    }
+
+    /**
+     * Splits network components into groups of connected components.
+     * <p>
+     * Neighbours reported by {@link Network#getNeighbours(NetworkComponent)}
+     * aren't required to be symmetric, so connections are followed in both
+     * directions. Otherwise a receiver reached only through one-way
+     * connections could end up in a different group than its emitters.
+     *
+     * @return lists of components of each connected sub-network.
+     */
+    protected ArrayList<ArrayList<NetworkComponent>> findSubNetworks() {
+        Map<NetworkComponent, ArrayList<NetworkComponent>> connections = new IdentityHashMap<>();
+        for (NetworkComponent component : network.getNetworkComponentsView()) {
+            for (Map.Entry<Object, NetworkComponent> neighbour : network.getNeighbours(component).entrySet()) {
+                NetworkComponent next = resolve(neighbour.getKey(), neighbour.getValue());
+                if (next != null && next != component) {
+                    connections.computeIfAbsent(component, key -> new ArrayList<>()).add(next);
+                    connections.computeIfAbsent(next, key -> new ArrayList<>()).add(component);
+                }
+            }
+        }
+
+        ArrayList<ArrayList<NetworkComponent>> result = new ArrayList<>();
+        Set<NetworkComponent> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        ArrayDeque<NetworkComponent> queue = new ArrayDeque<>();
+
+        for (NetworkComponent component : network.getNetworkComponentsView()) {
+            if (!visited.add(component)) {
+                continue;
+            }
+            ArrayList<NetworkComponent> subNetwork = new ArrayList<>();
+            queue.add(component);
+            while (!queue.isEmpty()) {
+                NetworkComponent current = queue.poll();
+                subNetwork.add(current);
+                ArrayList<NetworkComponent> connected = connections.get(current);
+                if (connected == null) {
+                    continue;
+                }
+                for (NetworkComponent next : connected) {
+                    if (visited.add(next)) {
+                        queue.add(next);
+                    }
+                }
+            }
+            result.add(subNetwork);
+        }
+        return result;
+    }
+
+    /**
+     * Performs level-order search through network components connected to
+     * argument emitter.
+     *
+     * @param emitter emitter to search receivers for.
+     * @return receivers connected to argument emitter ordered by distance.
+     */
+    protected ArrayList<FluxReceiver<?>> findReceivers(FluxEmitter<?> emitter) {
+        ArrayList<FluxReceiver<?>> result = new ArrayList<>();
+        Set<NetworkComponent> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        ArrayDeque<NetworkComponent> queue = new ArrayDeque<>();
+        visited.add(emitter);
+        queue.add(emitter);
+
+        while (!queue.isEmpty()) {
+            NetworkComponent current = queue.poll();
+            for (Map.Entry<Object, NetworkComponent> neighbour : network.getNeighbours(current).entrySet()) {
+                NetworkComponent next = resolve(neighbour.getKey(), neighbour.getValue());
+                if (next != null && visited.add(next)) {
+                    if (next instanceof FluxReceiver) {
+                        result.add((FluxReceiver<?>) next);
+                    }
+                    queue.add(next);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param position  position of neighbour component.
+     * @param neighbour neighbour component.
+     * @return component of this network representing argument neighbour or
+     * {@code null} if neighbour isn't a part of this network.
+     */
+    private NetworkComponent resolve(Object position, NetworkComponent neighbour) {
+        NetworkComponent stored = network.getNetworkComponentAt(position);
+        if (stored != null) {
+            return stored;
+        }
+        // Network stores only cores of structures.
+        if (neighbour instanceof StructureComponent && ((StructureComponent) neighbour).isDelegate()) {
+            StructureCore core = ((StructureComponent) neighbour).getStructureCore();
+            if (core != null && network.getNetworkComponentAt(core.getPosition()) == core) {
+                return core;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Subscription of a {@link FluxSubscriber Flux Subscriber} receiver to a
+     * {@link FluxPublisher Flux Publisher} emitter. Forwards all signals to
+     * receiver and remembers the subscription so it can be cancelled when
+     * routing plan is rebuilt.
+     */
+    private static final class ReactiveLink implements FluxSubscriber<Flux<?>> {
+        /**
+         * Emitting side of the link.
+         */
+        private final FluxPublisher<Flux<?>> publisher;
+
+        /**
+         * Receiving side of the link.
+         */
+        private final FluxSubscriber<Flux<?>> subscriber;
+
+        /**
+         * Subscription given by publisher or {@code null} if publisher didn't
+         * call {@link #onSubscribe(FluxSubscription)} yet.
+         */
+        private volatile FluxSubscription subscription;
+
+        /**
+         * {@code true} if link was cancelled.
+         */
+        private volatile boolean cancelled;
+
+        /**
+         * Default constructor.
+         *
+         * @param publisher  emitting side of the link.
+         * @param subscriber receiving side of the link.
+         */
+        @SuppressWarnings("unchecked")
+        private ReactiveLink(FluxPublisher<?> publisher, FluxSubscriber<?> subscriber) {
+            // Links only connect publishers and subscribers of the same flux.
+            this.publisher = (FluxPublisher<Flux<?>>) publisher;
+            this.subscriber = (FluxSubscriber<Flux<?>>) subscriber;
+        }
+
+        /**
+         * Subscribes this link to publisher.
+         */
+        private void subscribe() {
+            publisher.subscribe(this);
+        }
+
+        /**
+         * Cancels subscription of this link. Subscription given to publisher
+         * afterwards is cancelled immediately.
+         */
+        private void cancel() {
+            cancelled = true;
+            FluxSubscription subscription = this.subscription;
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+
+        /**
+         * @param subscription subscription forwarded to receiver.
+         */
+        @Override
+        public void onSubscribe(FluxSubscription subscription) {
+            this.subscription = subscription;
+            if (cancelled) {
+                subscription.cancel();
+                return;
+            }
+            subscriber.onSubscribe(subscription);
+        }
+
+        /**
+         * @param flux flux forwarded to receiver.
+         */
+        @Override
+        public void onNext(Flux<?> flux) {
+            if (!cancelled) {
+                subscriber.onNext(flux);
+            }
+        }
+
+        /**
+         * @param throwable error forwarded to receiver.
+         */
+        @Override
+        public void onError(Throwable throwable) {
+            if (!cancelled) {
+                subscriber.onError(throwable);
+            }
+        }
+
+        /**
+         * Forwards completion to receiver.
+         */
+        @Override
+        public void onComplete() {
+            if (!cancelled) {
+                subscriber.onComplete();
+            }
+        }
+    }
+
+    /**
+     * Task transferring flux over a range of links belonging to one or more
+     * whole sub-networks.
+     */
+    private final class LinkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Index of first batch receiver (inclusive).
+         */
+        private final int batchStart;
+
+        /**
+         * Index of last batch receiver (exclusive).
+         */
+        private final int batchEnd;
+
+        /**
+         * Buffer reused by all batched transfers of this task.
+         */
+        private final FluxBuffer<Flux<?>> buffer = new FluxBuffer<>();
+
+        /**
+         * Array reused to store end of flux emitted by each batch emitter.
+         */
+        private final int[] ends;
+
+        /**
+         * Emitters ticked during current tick.
+         */
+        private int[] awake;
+
+        /**
+         * Emitters queued for next tick.
+         */
+        private int[] nextAwake;
+
+        /**
+         * Number of emitters in {@link #nextAwake}.
+         */
+        private int nextAwakeCount;
+
+        /**
+         * Default constructor. All emitters of constructed task are awake.
+         *
+         * @param index        index of this task in {@link #tasks}.
+         * @param emitterStart index of first emitter (inclusive).
+         * @param emitterEnd   index of last emitter (exclusive).
+         * @param batchStart   index of first batch receiver (inclusive).
+         * @param batchEnd     index of last batch receiver (exclusive).
+         */
+        private LinkTask(int index, int emitterStart, int emitterEnd, int batchStart, int batchEnd) {
+            this.batchStart = batchStart;
+            this.batchEnd = batchEnd;
+            this.ends = new int[maxBatchEmitters];
+            this.awake = new int[emitterEnd - emitterStart];
+            this.nextAwake = new int[emitterEnd - emitterStart];
+            for (int emitter = emitterStart; emitter < emitterEnd; emitter++) {
+                emitterTask[emitter] = index;
+                wake(emitter);
+            }
+        }
+
+        /**
+         * @param emitter index of emitter to queue for next tick.
+         */
+        private void wake(int emitter) {
+            if (!emitterQueued[emitter]) {
+                emitterQueued[emitter] = true;
+                nextAwake[nextAwakeCount++] = emitter;
+            }
+        }
+
+        /**
+         * Transfers flux over links of this task.
+         */
+        @Override
+        protected void compute() {
+            run();
+        }
+
+        /**
+         * Transfers flux over links of awake emitters of this task in calling
+         * thread.
+         */
+        private void run() {
+            int[] current = nextAwake;
+            int count = nextAwakeCount;
+            nextAwake = awake;
+            nextAwakeCount = 0;
+            awake = current;
+
+            FluxEmitter<?>[] emitters = activeEmitters;
+            FluxReceiver<?>[] receivers = linkReceivers;
+            for (int i = 0; i < count; i++) {
+                int emitter = current[i];
+                emitterQueued[emitter] = false;
+                FluxEmitter<?> active = emitters[emitter];
+                if (isDormant(active)) {
+                    continue;
+                }
+                for (int link = emitterLinkStart[emitter]; link < emitterLinkStart[emitter + 1]; link++) {
+                    transfer(active, receivers[link]);
+                    if (linkReceiverEmitter[link] >= 0) {
+                        // Receiver might have received flux to emit.
+                        wake(linkReceiverEmitter[link]);
+                    }
+                }
+                wake(emitter);
+            }
+
+            BatchFluxReceiver<?>[] batchReceivers = TransferScheduler.this.batchReceivers;
+            int[] batchEmitterStart = TransferScheduler.this.batchEmitterStart;
+            for (int batch = batchStart; batch < batchEnd; batch++) {
+                transfer(batchReceivers[batch], batchEmitters, batchEmitterStart[batch], batchEmitterStart[batch + 1], buffer, ends);
+            }
+        }
+    }
+}
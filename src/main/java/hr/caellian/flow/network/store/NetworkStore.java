@@ -0,0 +1,704 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package hr.caellian.flow.network.store;
+
+import hr.caellian.flow.data.Flux;
+import hr.caellian.flow.data.codec.FluxCodec;
+import hr.caellian.flow.data.codec.VarInt;
+import hr.caellian.flow.network.Network;
+import hr.caellian.flow.network.NetworkComponent;
+import hr.caellian.flow.network.structure.StructureCore;
+import hr.caellian.flow.network.transfer.FluxContainer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.StreamCorruptedException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.function.IntConsumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Network Store is a memory-mapped file containing topology of a {@link
+ * Network Network} and contents of its {@link FluxContainer Flux Containers}
+ * in a fixed layout.
+ * <p>
+ * Opening a store only maps the file and reads its header. Positions,
+ * neighbour edges, structure links and container contents are read directly
+ * from mapped memory when they're queried, and components are created only
+ * when they're {@link #load(int, ComponentFactory, FluxCodec) loaded}, so
+ * large networks can be reopened without deserializing or re-adding all of
+ * their components. Header and bounds of all sections are validated when a
+ * store is opened; malformed entries are reported when they're read.
+ * <p>
+ * File consists of a header followed by these sections:
+ * <ol>
+ * <li>positions: {@link hr.caellian.flow.network.PackedPosition packed
+ * position} of every component, sorted in ascending order. Index of a
+ * position is index of its component in all other sections.</li>
+ * <li>types: index of type key of every component.</li>
+ * <li>edge starts: index of first neighbour edge of every component, followed
+ * by number of edges.</li>
+ * <li>edges: component indices of neighbours of every component.</li>
+ * <li>structure links: packed position of every structure member which isn't
+ * a part of network and index of its structure core, sorted by position.</li>
+ * <li>data index: offset and length of encoded container contents of every
+ * component.</li>
+ * <li>data: container contents encoded by {@link FluxCodec Flux Codec}, each
+ * with its own interned IDs.</li>
+ * <li>type table: {@link VarInt#writeString(ByteBuffer, String) strings}
+ * of all type keys.</li>
+ * </ol>
+ * Stores are read only once written. Mapped memory is released when store is
+ * garbage collected.
+ *
+ * @author Caellian
+ * @since 1.2.0
+ */
+public final class NetworkStore implements Closeable {
+    /**
+     * Value identifying network store files.
+     */
+    private static final int MAGIC = 0x464C4E53;
+
+    /**
+     * Version of file layout.
+     */
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * Size of file header in bytes.
+     */
+    private static final int HEADER_SIZE = 80;
+
+    /**
+     * Size of a single structure link in bytes.
+     */
+    private static final int LINK_SIZE = Long.BYTES + Integer.BYTES;
+
+    /**
+     * Size of a single data index entry in bytes.
+     */
+    private static final int DATA_INDEX_SIZE = Long.BYTES + Integer.BYTES;
+
+    /**
+     * Channel of mapped file.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Mapped file.
+     */
+    private final MappedByteBuffer buffer;
+
+    /**
+     * Number of stored components.
+     */
+    private final int componentCount;
+
+    /**
+     * Number of stored neighbour edges.
+     */
+    private final int edgeCount;
+
+    /**
+     * Number of stored structure links.
+     */
+    private final int linkCount;
+
+    /**
+     * Offset of positions section.
+     */
+    private final long positionsOffset;
+
+    /**
+     * Offset of types section.
+     */
+    private final long typesOffset;
+
+    /**
+     * Offset of edge starts section.
+     */
+    private final long edgeStartOffset;
+
+    /**
+     * Offset of edges section.
+     */
+    private final long edgesOffset;
+
+    /**
+     * Offset of structure links section.
+     */
+    private final long linksOffset;
+
+    /**
+     * Offset of data index section.
+     */
+    private final long dataIndexOffset;
+
+    /**
+     * Stored type keys.
+     */
+    private final String[] typeKeys;
+
+    /**
+     * Constructor used by {@link #open(Path)}.
+     *
+     * @param channel channel of mapped file.
+     * @param buffer  mapped file.
+     * @throws IOException if mapped file isn't a valid network store.
+     */
+    private NetworkStore(FileChannel channel, MappedByteBuffer buffer) throws IOException {
+        this.channel = channel;
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("File isn't a network store.");
+        }
+        if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Unsupported network store version: " + buffer.getInt(4));
+        }
+        componentCount = buffer.getInt(8);
+        edgeCount = buffer.getInt(12);
+        linkCount = buffer.getInt(16);
+        int typeCount = buffer.getInt(20);
+        if (componentCount < 0 || edgeCount < 0 || linkCount < 0 || typeCount < 0) {
+            throw new StreamCorruptedException("Malformed network store header: negative count.");
+        }
+        positionsOffset = checkSection(buffer.getLong(24), (long) componentCount * Long.BYTES, "positions");
+        typesOffset = checkSection(buffer.getLong(32), (long) componentCount * Integer.BYTES, "types");
+        edgeStartOffset = checkSection(buffer.getLong(40), (long) (componentCount + 1) * Integer.BYTES, "edge starts");
+        edgesOffset = checkSection(buffer.getLong(48), (long) edgeCount * Integer.BYTES, "edges");
+        linksOffset = checkSection(buffer.getLong(56), (long) linkCount * LINK_SIZE, "structure links");
+        dataIndexOffset = checkSection(buffer.getLong(64), (long) componentCount * DATA_INDEX_SIZE, "data index");
+        long typeTableOffset = checkSection(buffer.getLong(72), typeCount, "type table");
+
+        ByteBuffer typeTable = buffer.duplicate();
+        typeTable.position((int) typeTableOffset);
+        typeKeys = new String[typeCount];
+        for (int i = 0; i < typeCount; i++) {
+            typeKeys[i] = VarInt.readString(typeTable);
+        }
+    }
+
+    /**
+     * @param offset offset of section.
+     * @param length minimal length of section in bytes.
+     * @param name   name of section used in exception message.
+     * @return argument offset.
+     * @throws StreamCorruptedException if section doesn't fit into mapped
+     *                                  file after header.
+     */
+    private long checkSection(long offset, long length, String name) throws StreamCorruptedException {
+        if (offset < HEADER_SIZE || offset > buffer.capacity() || length > buffer.capacity() - offset) {
+            throw new StreamCorruptedException("Malformed network store: " + name + " section out of bounds.");
+        }
+        return offset;
+    }
+
+    /**
+     * @param message description of malformed content.
+     * @return exception reporting malformed content found by a lazy read.
+     */
+    private static UncheckedIOException corrupted(String message) {
+        return new UncheckedIOException(new StreamCorruptedException("Malformed network store: " + message));
+    }
+
+    /**
+     * Maps an existing store file.
+     *
+     * @param path path of store file.
+     * @return opened store.
+     * @throws IOException if file can't be mapped or isn't a valid network
+     *                     store.
+     */
+    public static NetworkStore open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new NetworkStore(channel, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @param packer   function converting positions into {@link
+     *                 hr.caellian.flow.network.PackedPosition packed
+     *                 positions}.
+     * @param position position to pack.
+     * @return packed position.
+     * @throws IOException if argument position is outside of packable range.
+     */
+    private static long pack(ToLongFunction<Object> packer, Object position) throws IOException {
+        try {
+            return packer.applyAsLong(position);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Position can't be packed: " + position, e);
+        }
+    }
+
+    /**
+     * Writes topology and container contents of argument network into a store
+     * file, replacing existing file.
+     *
+     * @param path    path of store file.
+     * @param network network to store.
+     * @param packer  function converting component positions into {@link
+     *                hr.caellian.flow.network.PackedPosition packed
+     *                positions}.
+     * @param typeKey function returning key {@link ComponentFactory Component
+     *                Factory} will use to recreate argument component.
+     * @param codec   codec used to encode container contents.
+     * @throws IOException if file can't be written, container contents can't
+     *                     be encoded, or a component position can't be packed
+     *                     or is shared with another component.
+     */
+    public static void write(Path path, Network network, ToLongFunction<Object> packer, Function<NetworkComponent, String> typeKey, FluxCodec codec) throws IOException {
+        Collection<NetworkComponent> view = network.getNetworkComponentsView();
+        int componentCount = view.size();
+        long[] positions = new long[componentCount];
+        HashMap<Long, NetworkComponent> byPosition = new HashMap<>();
+        for (NetworkComponent component : view) {
+            if (byPosition.size() == componentCount) {
+                throw new IOException("Network changed while it was being stored.");
+            }
+            long position = pack(packer, component.getPosition());
+            NetworkComponent previous = byPosition.put(position, component);
+            if (previous != null) {
+                throw new IOException("Components " + previous + " and " + component + " share packed position " + position + ".");
+            }
+            positions[byPosition.size() - 1] = position;
+        }
+        if (byPosition.size() != componentCount) {
+            throw new IOException("Network changed while it was being stored.");
+        }
+        // Components are stored in order of their positions.
+        Arrays.sort(positions);
+        NetworkComponent[] components = new NetworkComponent[componentCount];
+        for (int i = 0; i < componentCount; i++) {
+            components[i] = byPosition.get(positions[i]);
+        }
+
+        HashMap<String, Integer> typeIndices = new HashMap<>();
+        ArrayList<String> typeTable = new ArrayList<>();
+        int[] types = new int[componentCount];
+        int[] edgeStart = new int[componentCount + 1];
+        ArrayList<Integer> edges = new ArrayList<>();
+        ArrayList<long[]> links = new ArrayList<>();
+        for (int i = 0; i < componentCount; i++) {
+            NetworkComponent component = components[i];
+            String key = typeKey.apply(component);
+            Integer type = typeIndices.get(key);
+            if (type == null) {
+                type = typeTable.size();
+                typeIndices.put(key, type);
+                typeTable.add(key);
+            }
+            types[i] = type;
+
+            edgeStart[i] = edges.size();
+            for (Object neighbour : network.getNeighbours(component).keySet()) {
+                int index = Arrays.binarySearch(positions, pack(packer, neighbour));
+                if (index >= 0) {
+                    edges.add(index);
+                }
+            }
+
+            if (component instanceof StructureCore) {
+                ArrayList<Object> members = new ArrayList<>();
+                ((StructureCore) component).forEachStructureComponent(member -> {
+                    if (member != component) {
+                        members.add(member.getPosition());
+                    }
+                });
+                for (Object member : members) {
+                    long position = pack(packer, member);
+                    if (Arrays.binarySearch(positions, position) < 0) {
+                        links.add(new long[]{position, i});
+                    }
+                }
+            }
+        }
+        edgeStart[componentCount] = edges.size();
+        links.sort((a, b) -> Long.compare(a[0], b[0]));
+
+        ByteBuffer data = ByteBuffer.allocate(4096);
+        long[] dataOffsets = new long[componentCount];
+        int[] dataLengths = new int[componentCount];
+        for (int i = 0; i < componentCount; i++) {
+            if (components[i] instanceof FluxContainer) {
+                int start = data.position();
+                while (true) {
+                    try {
+                        codec.reset();
+                        codec.writeContainer(data, (FluxContainer<?>) components[i]);
+                        break;
+                    } catch (BufferOverflowException e) {
+                        ByteBuffer larger = ByteBuffer.allocate(data.capacity() * 2);
+                        larger.put(data.array(), 0, start);
+                        data = larger;
+                    }
+                }
+                dataOffsets[i] = start;
+                dataLengths[i] = data.position() - start;
+            }
+        }
+        codec.reset();
+
+        ByteBuffer typeData = ByteBuffer.allocate(typeTable.stream().mapToInt(key -> key.getBytes(StandardCharsets.UTF_8).length + 5).sum());
+        for (String key : typeTable) {
+            VarInt.writeString(typeData, key);
+        }
+
+        long positionsOffset = HEADER_SIZE;
+        long typesOffset = positionsOffset + (long) componentCount * Long.BYTES;
+        long edgeStartOffset = typesOffset + (long) componentCount * Integer.BYTES;
+        long edgesOffset = edgeStartOffset + (long) (componentCount + 1) * Integer.BYTES;
+        long linksOffset = edgesOffset + (long) edges.size() * Integer.BYTES;
+        long dataIndexOffset = linksOffset + (long) links.size() * LINK_SIZE;
+        long dataOffset = dataIndexOffset + (long) componentCount * DATA_INDEX_SIZE;
+        long typeTableOffset = dataOffset + data.position();
+        long size = typeTableOffset + typeData.position();
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Network store can't be larger than 2 GiB.");
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            out.putInt(MAGIC).putInt(FORMAT_VERSION);
+            out.putInt(componentCount).putInt(edges.size()).putInt(links.size()).putInt(typeTable.size());
+            out.putLong(positionsOffset).putLong(typesOffset).putLong(edgeStartOffset).putLong(edgesOffset);
+            out.putLong(linksOffset).putLong(dataIndexOffset).putLong(typeTableOffset);
+            for (long position : positions) {
+                out.putLong(position);
+            }
+            for (int type : types) {
+                out.putInt(type);
+            }
+            for (int start : edgeStart) {
+                out.putInt(start);
+            }
+            for (int edge : edges) {
+                out.putInt(edge);
+            }
+            for (long[] link : links) {
+                out.putLong(link[0]).putInt((int) link[1]);
+            }
+            for (int i = 0; i < componentCount; i++) {
+                out.putLong(dataLengths[i] > 0 ? dataOffset + dataOffsets[i] : 0).putInt(dataLengths[i]);
+            }
+            out.put(data.array(), 0, data.position());
+            out.put(typeData.array(), 0, typeData.position());
+            out.force();
+        }
+    }
+
+    /**
+     * @return number of stored components.
+     */
+    public int size() {
+        return componentCount;
+    }
+
+    /**
+     * @return number of stored neighbour edges.
+     */
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * @param index index of component.
+     * @return {@link hr.caellian.flow.network.PackedPosition packed position}
+     * of argument component.
+     */
+    public long getPosition(int index) {
+        checkIndex(index);
+        return buffer.getLong((int) (positionsOffset + (long) index * Long.BYTES));
+    }
+
+    /**
+     * Performs binary search through stored positions.
+     *
+     * @param position {@link hr.caellian.flow.network.PackedPosition packed
+     *                 position} of component.
+     * @return index of component at argument position or {@code -1} if
+     * there's no such component.
+     */
+    public int indexOf(long position) {
+        int low = 0;
+        int high = componentCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long value = buffer.getLong((int) (positionsOffset + (long) middle * Long.BYTES));
+            if (value < position) {
+                low = middle + 1;
+            } else if (value > position) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param index index of component.
+     * @return type key argument component was stored with.
+     * @throws UncheckedIOException if stored type index is malformed.
+     */
+    public String getTypeKey(int index) {
+        checkIndex(index);
+        int type = buffer.getInt((int) (typesOffset + (long) index * Integer.BYTES));
+        if (type < 0 || type >= typeKeys.length) {
+            throw corrupted("type index " + type + " out of bounds.");
+        }
+        return typeKeys[type];
+    }
+
+    /**
+     * @param index index of component.
+     * @return number of stored neighbours of argument component.
+     * @throws UncheckedIOException if stored edges are malformed.
+     */
+    public int getNeighbourCount(int index) {
+        checkIndex(index);
+        int count = edgeStart(index + 1) - edgeStart(index);
+        if (count < 0) {
+            throw corrupted("edge starts of component " + index + " aren't ascending.");
+        }
+        return count;
+    }
+
+    /**
+     * Performs argument action on index of every stored neighbour of argument
+     * component.
+     *
+     * @param index  index of component.
+     * @param action action to perform.
+     * @throws UncheckedIOException if stored edges are malformed.
+     */
+    public void forEachNeighbour(int index, IntConsumer action) {
+        checkIndex(index);
+        int end = edgeStart(index + 1);
+        for (int edge = edgeStart(index); edge < end; edge++) {
+            action.accept(checkComponent(buffer.getInt((int) (edgesOffset + (long) edge * Integer.BYTES))));
+        }
+    }
+
+    /**
+     * @param position {@link hr.caellian.flow.network.PackedPosition packed
+     *                 position} of structure member which isn't a part of
+     *                 network.
+     * @return index of structure core argument member was linked to or {@code
+     * -1} if there's no such member.
+     * @throws UncheckedIOException if stored link is malformed.
+     */
+    public int getStructureCore(long position) {
+        int low = 0;
+        int high = linkCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long value = buffer.getLong((int) (linksOffset + (long) middle * LINK_SIZE));
+            if (value < position) {
+                low = middle + 1;
+            } else if (value > position) {
+                high = middle - 1;
+            } else {
+                return checkComponent(buffer.getInt((int) (linksOffset + (long) middle * LINK_SIZE + Long.BYTES)));
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Performs argument action on every stored structure link.
+     *
+     * @param action action to perform.
+     * @throws UncheckedIOException if a stored link is malformed.
+     */
+    public void forEachStructureLink(LinkConsumer action) {
+        for (int link = 0; link < linkCount; link++) {
+            int offset = (int) (linksOffset + (long) link * LINK_SIZE);
+            action.accept(buffer.getLong(offset), checkComponent(buffer.getInt(offset + Long.BYTES)));
+        }
+    }
+
+    /**
+     * @param index index of component.
+     * @return {@code true} if container contents of argument component are
+     * stored.
+     */
+    public boolean hasContainerData(int index) {
+        checkIndex(index);
+        return buffer.getInt((int) (dataIndexOffset + (long) index * DATA_INDEX_SIZE + Long.BYTES)) > 0;
+    }
+
+    /**
+     * Decodes stored contents of argument component into argument container.
+     *
+     * @param index     index of component.
+     * @param codec     codec used to decode container contents.
+     * @param container container to add decoded Flux to.
+     * @param <B>       Flux superclass supported by argument container.
+     * @return {@code true} if all stored Flux was added to argument container.
+     * @throws IOException if stored contents are malformed.
+     */
+    public <B extends Flux> boolean readContainer(int index, FluxCodec codec, FluxContainer<B> container) throws IOException {
+        checkIndex(index);
+        int entry = (int) (dataIndexOffset + (long) index * DATA_INDEX_SIZE);
+        int length = buffer.getInt(entry + Long.BYTES);
+        if (length == 0) {
+            return true;
+        }
+        long offset = buffer.getLong(entry);
+        if (length < 0 || offset < HEADER_SIZE || offset > buffer.capacity() || length > buffer.capacity() - offset) {
+            throw new StreamCorruptedException("Malformed network store: container data of component " + index + " out of bounds.");
+        }
+        ByteBuffer in = buffer.duplicate();
+        in.limit((int) offset + length).position((int) offset);
+        codec.reset();
+        try {
+            return codec.readContainer(in, container);
+        } finally {
+            codec.reset();
+        }
+    }
+
+    /**
+     * Creates argument component and restores its container contents.
+     *
+     * @param index   index of component.
+     * @param factory factory creating the component.
+     * @param codec   codec used to decode container contents.
+     * @return created component or {@code null} if factory couldn't create it.
+     * @throws IOException if stored contents are malformed or created
+     *                     component didn't accept all of stored Flux.
+     */
+    public NetworkComponent load(int index, ComponentFactory factory, FluxCodec codec) throws IOException {
+        NetworkComponent component = factory.create(getTypeKey(index), getPosition(index));
+        if (component instanceof FluxContainer && hasContainerData(index)) {
+            if (!readContainer(index, codec, (FluxContainer<?>) component)) {
+                throw new InvalidObjectException("Component at index " + index + " didn't accept all of its stored Flux.");
+            }
+        }
+        return component;
+    }
+
+    /**
+     * Creates all stored components and loads them into argument network
+     * using {@link Network#loadNetworkComponents(Collection)}, so batching
+     * networks process them at once.
+     *
+     * @param network network to load components into.
+     * @param factory factory creating components.
+     * @param codec   codec used to decode container contents.
+     * @return {@code true} if all components were created and loaded.
+     * @throws IOException if stored contents are malformed or a created
+     *                     component didn't accept all of its stored Flux.
+     */
+    public boolean loadInto(Network network, ComponentFactory factory, FluxCodec codec) throws IOException {
+        ArrayList<NetworkComponent> loaded = new ArrayList<>(componentCount);
+        boolean result = true;
+        for (int index = 0; index < componentCount; index++) {
+            NetworkComponent component = load(index, factory, codec);
+            if (component != null) {
+                loaded.add(component);
+            } else {
+                result = false;
+            }
+        }
+        return network.loadNetworkComponents(loaded) && result;
+    }
+
+    /**
+     * Closes channel of mapped file. Mapped memory remains readable until
+     * this store is garbage collected.
+     *
+     * @throws IOException if channel can't be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * @param index index of component.
+     * @return index of first edge of argument component.
+     */
+    private int edgeStart(int index) {
+        int start = buffer.getInt((int) (edgeStartOffset + (long) index * Integer.BYTES));
+        if (start < 0 || start > edgeCount) {
+            throw corrupted("edge start " + start + " out of bounds.");
+        }
+        return start;
+    }
+
+    /**
+     * @param index stored component index.
+     * @return argument index.
+     * @throws UncheckedIOException if argument index is out of bounds.
+     */
+    private int checkComponent(int index) {
+        if (index < 0 || index >= componentCount) {
+            throw corrupted("component index " + index + " out of bounds.");
+        }
+        return index;
+    }
+
+    /**
+     * @param index index to check.
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= componentCount) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + componentCount);
+        }
+    }
+
+    /**
+     * Consumer of stored structure links.
+     */
+    @FunctionalInterface
+    public interface LinkConsumer {
+        /**
+         * @param position {@link hr.caellian.flow.network.PackedPosition
+         *                 packed position} of structure member.
+         * @param core     index of structure core.
+         */
+        void accept(long position, int core);
+    }
+}
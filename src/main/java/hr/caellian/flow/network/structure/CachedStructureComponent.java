@@ -0,0 +1,49 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package hr.caellian.flow.network.structure;
+
+/**
+ * Cached Structure Component is a {@link StructureComponent Structure
+ * Component} whose {@link StructureCore Structure Core} is resolved only once
+ * and then cached by {@link StructureRegistry Structure Registry}.
+ * <p>
+ * Implementations must call {@link StructureRegistry#invalidate(StructureCore)}
+ * whenever their structure changes, otherwise cached core will be outdated.
+ *
+ * @author Caellian
+ * @since 1.2.0
+ */
+public interface CachedStructureComponent extends StructureComponent {
+    /**
+     * Structure core is resolved only once and then cached by {@link
+     * StructureRegistry Structure Registry} until the structure is
+     * invalidated.
+     *
+     * @return structure core.
+     */
+    @Override
+    default StructureCore getStructureCore() {
+        return StructureRegistry.getStructureCore(this);
+    }
+}
@@ -27,6 +27,7 @@ package hr.caellian.flow.network.structure;
 import hr.caellian.flow.network.NetworkComponent;
 
 import java.util.ArrayList;
+import java.util.function.Consumer;
 
 /**
  * Structure component is a {@link NetworkComponent Network Component} consisted
@@ -54,6 +55,22 @@ public interface StructureComponent extends NetworkComponent {
     ArrayList<NetworkComponent> getStructureComponents();
 
     /**
+     * Performs argument action on every structure component. Implementations
+     * storing structure components should override this method to avoid
+     * constructing a list.
+     *
+     * @param action action to perform.
+     * @since 1.2.0
+     */
+    default void forEachStructureComponent(Consumer<? super NetworkComponent> action) {
+        getStructureComponents().forEach(action);
+    }
+
+    /**
+     * Structure core is resolved on every call. Implementations which don't
+     * store their core can implement {@link CachedStructureComponent} to have
+     * it cached instead.
+     *
      * @return structure core.
      */
     default StructureCore getStructureCore() {
@@ -0,0 +1,117 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package hr.caellian.flow.network.structure;
+
+import hr.caellian.flow.network.NetworkComponent;
+
+import java.util.ArrayList;
+import java.util.function.Predicate;
+
+/**
+ * Structure Pattern is a declarative description of a multiblock structure
+ * shape.
+ * <p>
+ * Pattern consists of cells placed relative to position of {@link
+ * StructureCore Structure Core}. Each cell contains a predicate which tests
+ * {@link NetworkComponent Network Component} found at cell position. Predicate
+ * receives {@code null} if there is no component at cell position.
+ *
+ * @author Caellian
+ * @see StructureValidator
+ * @since 1.2.0
+ */
+public class StructurePattern {
+    /**
+     * Offsets of cells from structure core.
+     */
+    private final ArrayList<int[]> offsets = new ArrayList<>();
+
+    /**
+     * Predicates of cells.
+     */
+    private final ArrayList<Predicate<NetworkComponent>> matchers = new ArrayList<>();
+
+    /**
+     * Adds a cell to this pattern. Adding a cell with the same offset as an
+     * existing one replaces its predicate.
+     *
+     * @param dx      offset of cell from core along X axis.
+     * @param dy      offset of cell from core along Y axis.
+     * @param dz      offset of cell from core along Z axis.
+     * @param matcher predicate component at cell position has to satisfy.
+     */
+    public void addCell(int dx, int dy, int dz, Predicate<NetworkComponent> matcher) {
+        for (int i = 0; i < offsets.size(); i++) {
+            int[] offset = offsets.get(i);
+            if (offset[0] == dx && offset[1] == dy && offset[2] == dz) {
+                matchers.set(i, matcher);
+                return;
+            }
+        }
+        offsets.add(new int[]{dx, dy, dz});
+        matchers.add(matcher);
+    }
+
+    /**
+     * @return number of cells in this pattern.
+     */
+    public int size() {
+        return offsets.size();
+    }
+
+    /**
+     * @param cell index of cell.
+     * @return offset of cell from core along X axis.
+     */
+    public int getOffsetX(int cell) {
+        return offsets.get(cell)[0];
+    }
+
+    /**
+     * @param cell index of cell.
+     * @return offset of cell from core along Y axis.
+     */
+    public int getOffsetY(int cell) {
+        return offsets.get(cell)[1];
+    }
+
+    /**
+     * @param cell index of cell.
+     * @return offset of cell from core along Z axis.
+     */
+    public int getOffsetZ(int cell) {
+        return offsets.get(cell)[2];
+    }
+
+    /**
+     * @param cell      index of cell.
+     * @param component component at cell position or {@code null} if there is
+     *                  none.
+     * @return {@code true} if argument component satisfies cell predicate.
+     */
+    public boolean matches(int cell, NetworkComponent component) {
+        return matchers.get(cell).test(component);
+    }
+}
@@ -0,0 +1,375 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package hr.caellian.flow.network.structure;
+
+import hr.caellian.flow.network.NetworkComponent;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Structure Registry caches links between {@link StructureComponent Structure
+ * Components} and their {@link StructureCore Structure Cores}, as well as
+ * validity of structures.
+ * <p>
+ * Registry is only used by components which opt into caching by implementing
+ * {@link CachedStructureComponent} or {@link CachedStructureDelegate}, and by
+ * {@link StructureValidator Structure Validator}. Structure core of such a
+ * component is resolved by scanning its {@link
+ * StructureComponent#getStructureComponents() structure components} only the
+ * first time it's requested. Structure implementations must call {@link
+ * #invalidate(StructureCore)} whenever their structure changes so that cached
+ * links and validity are recomputed.
+ * <p>
+ * Components are compared by identity and referenced weakly, both as keys
+ * and as cached cores, so registry doesn't prevent unloaded structures from
+ * being garbage collected. Cached values are read without locking, so
+ * registry can be queried from multiple threads ticking a network in
+ * parallel.
+ *
+ * @author Caellian
+ * @since 1.2.0
+ */
+public class StructureRegistry {
+    /**
+     * Map of structure components and their cores.
+     */
+    private static final WeakIdentityMap<StructureComponent, WeakReference<StructureCore>> cores = new WeakIdentityMap<>();
+
+    /**
+     * Map of structure cores and components linked to them.
+     */
+    private static final WeakIdentityMap<StructureCore, WeakIdentityMap<StructureComponent, Boolean>> members = new WeakIdentityMap<>();
+
+    /**
+     * Map of structure cores and their cached validity.
+     */
+    private static final WeakIdentityMap<StructureCore, Boolean> validity = new WeakIdentityMap<>();
+
+    /**
+     * Number of changes of cached links and validity. Values computed without
+     * locking are cached only if no change happened while computing them, so
+     * a concurrent {@link #invalidate(StructureCore) invalidation} can't be
+     * overwritten by an outdated value.
+     */
+    private static volatile long changes;
+
+    /**
+     * Structure Registry only provides static access.
+     */
+    private StructureRegistry() {
+    }
+
+    /**
+     * @param component component to return structure core of.
+     * @return cached structure core of argument component or structure core
+     * resolved from its structure components, {@code null} if it has no core.
+     */
+    public static StructureCore getStructureCore(StructureComponent component) {
+        WeakReference<StructureCore> cached = cores.get(component);
+        StructureCore core = cached != null ? cached.get() : null;
+        if (core == null) {
+            long stamp = changes;
+            core = resolve(component);
+            if (core != null) {
+                cache(component, core, stamp);
+            }
+        }
+        return core;
+    }
+
+    /**
+     * @param component component to resolve structure core of.
+     * @return first {@link StructureCore Structure Core} among structure
+     * components of argument component, {@code null} if there is none.
+     */
+    private static StructureCore resolve(StructureComponent component) {
+        for (NetworkComponent structureComponent : component.getStructureComponents()) {
+            if (structureComponent instanceof StructureCore) {
+                return (StructureCore) structureComponent;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Caches resolved link unless links changed since it was resolved.
+     *
+     * @param component component to link.
+     * @param core      resolved structure core of argument component.
+     * @param stamp     value of {@link #changes} before link was resolved.
+     */
+    private static synchronized void cache(StructureComponent component, StructureCore core, long stamp) {
+        if (changes == stamp) {
+            store(component, core);
+        }
+    }
+
+    /**
+     * Explicitly links argument component to argument core, replacing any
+     * previously cached link.
+     *
+     * @param component component to link.
+     * @param core      structure core of argument component.
+     */
+    public static synchronized void link(StructureComponent component, StructureCore core) {
+        changes++;
+        store(component, core);
+        validity.remove(core);
+    }
+
+    /**
+     * Stores link between argument component and core, removing previous link
+     * of argument component.
+     *
+     * @param component component to link.
+     * @param core      structure core of argument component.
+     */
+    private static void store(StructureComponent component, StructureCore core) {
+        WeakReference<StructureCore> previous = cores.put(component, new WeakReference<>(core));
+        StructureCore previousCore = previous != null ? previous.get() : null;
+        if (previousCore != null && previousCore != core) {
+            WeakIdentityMap<StructureComponent, Boolean> previousMembers = members.get(previousCore);
+            if (previousMembers != null) {
+                previousMembers.remove(component);
+            }
+            validity.remove(previousCore);
+        }
+        WeakIdentityMap<StructureComponent, Boolean> coreMembers = members.get(core);
+        if (coreMembers == null) {
+            coreMembers = new WeakIdentityMap<>();
+            members.put(core, coreMembers);
+        }
+        coreMembers.put(component, Boolean.TRUE);
+    }
+
+    /**
+     * Removes cached link of argument component.
+     *
+     * @param component component to unlink.
+     */
+    public static synchronized void unlink(StructureComponent component) {
+        changes++;
+        WeakReference<StructureCore> removed = cores.remove(component);
+        StructureCore core = removed != null ? removed.get() : null;
+        if (core != null) {
+            WeakIdentityMap<StructureComponent, Boolean> coreMembers = members.get(core);
+            if (coreMembers != null) {
+                coreMembers.remove(component);
+            }
+            validity.remove(core);
+        }
+    }
+
+    /**
+     * Removes all cached links to argument core and its cached validity.
+     * Should be called whenever structure of argument core changes.
+     *
+     * @param core core of changed structure.
+     */
+    public static synchronized void invalidate(StructureCore core) {
+        changes++;
+        WeakIdentityMap<StructureComponent, Boolean> coreMembers = members.remove(core);
+        if (coreMembers != null) {
+            coreMembers.forEachKey(cores::remove);
+        }
+        validity.remove(core);
+    }
+
+    /**
+     * @param core core of structure to check.
+     * @return cached validity of structure with argument core.
+     */
+    public static boolean isStructureValid(StructureCore core) {
+        Boolean valid = validity.get(core);
+        if (valid == null) {
+            long stamp = changes;
+            valid = core.isStructureValid();
+            cacheValidity(core, valid, stamp);
+        }
+        return valid;
+    }
+
+    /**
+     * Caches computed validity unless cached values changed since it was
+     * computed.
+     *
+     * @param core  core of checked structure.
+     * @param valid validity of structure with argument core.
+     * @param stamp value of {@link #changes} before validity was computed.
+     */
+    private static synchronized void cacheValidity(StructureCore core, boolean valid, long stamp) {
+        if (changes == stamp) {
+            validity.put(core, valid);
+        }
+    }
+
+    /**
+     * Concurrent map comparing keys by identity and referencing them weakly.
+     * Entries of collected keys are removed whenever map is modified.
+     *
+     * @param <K> type of keys.
+     * @param <V> type of values.
+     */
+    private static final class WeakIdentityMap<K, V> {
+        /**
+         * Stored entries keyed by {@link WeakKey weak keys}.
+         */
+        private final ConcurrentHashMap<Object, V> map = new ConcurrentHashMap<>();
+
+        /**
+         * Queue of weak keys whose referents were collected.
+         */
+        private final ReferenceQueue<K> queue = new ReferenceQueue<>();
+
+        /**
+         * @param key key to return value of.
+         * @return value of argument key or {@code null} if there is none.
+         */
+        private V get(K key) {
+            return map.get(new LookupKey(key));
+        }
+
+        /**
+         * @param key   key to store value for.
+         * @param value value to store.
+         * @return value previously stored for argument key.
+         */
+        private V put(K key, V value) {
+            expunge();
+            return map.put(new WeakKey<>(key, queue), value);
+        }
+
+        /**
+         * @param key key to remove value of.
+         * @return removed value or {@code null} if there was none.
+         */
+        private V remove(K key) {
+            expunge();
+            return map.remove(new LookupKey(key));
+        }
+
+        /**
+         * Performs argument action on every key which wasn't collected yet.
+         *
+         * @param action action to perform.
+         */
+        private void forEachKey(Consumer<? super K> action) {
+            for (Object stored : map.keySet()) {
+                //noinspection unchecked
+                K key = ((WeakKey<K>) stored).get();
+                if (key != null) {
+                    action.accept(key);
+                }
+            }
+        }
+
+        /**
+         * Removes entries of collected keys.
+         */
+        private void expunge() {
+            Reference<? extends K> collected;
+            while ((collected = queue.poll()) != null) {
+                map.remove(collected);
+            }
+        }
+    }
+
+    /**
+     * Weakly referenced key of {@link WeakIdentityMap}. Equal only to keys
+     * referring to the same object.
+     *
+     * @param <K> type of referenced object.
+     */
+    private static final class WeakKey<K> extends WeakReference<K> {
+        /**
+         * Identity hash code of referenced object.
+         */
+        private final int hash;
+
+        /**
+         * Default constructor.
+         *
+         * @param referent referenced object.
+         * @param queue    queue key is enqueued to once referent is collected.
+         */
+        private WeakKey(K referent, ReferenceQueue<? super K> queue) {
+            super(referent, queue);
+            this.hash = System.identityHashCode(referent);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            Object referent = get();
+            if (referent == null) {
+                return false;
+            }
+            if (other instanceof WeakKey) {
+                return referent == ((WeakKey<?>) other).get();
+            }
+            return other instanceof LookupKey && referent == ((LookupKey) other).referent;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Short-lived key used to look up entries of {@link WeakIdentityMap}
+     * without registering a weak reference.
+     */
+    private static final class LookupKey {
+        /**
+         * Looked up object.
+         */
+        private final Object referent;
+
+        /**
+         * Default constructor.
+         *
+         * @param referent looked up object.
+         */
+        private LookupKey(Object referent) {
+            this.referent = referent;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof WeakKey && ((WeakKey<?>) other).get() == referent;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(referent);
+        }
+    }
+}
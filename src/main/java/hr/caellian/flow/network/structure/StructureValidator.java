@@ -0,0 +1,360 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package hr.caellian.flow.network.structure;
+
+import hr.caellian.flow.network.Network;
+import hr.caellian.flow.network.NetworkComponent;
+import hr.caellian.flow.network.PackedPosition;
+import hr.caellian.flow.network.PackedPositionMap;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Structure Validator incrementally matches {@link StructurePattern Structure
+ * Patterns} against components of a {@link Network Network} or another source
+ * of components.
+ * <p>
+ * Every tracked structure stores which of its cells currently match. When a
+ * single position changes, only cells of structures covering that position are
+ * tested again, so revalidation cost doesn't depend on structure size.
+ * Membership of matched {@link StructureComponent Structure Components} is
+ * pushed to {@link StructureRegistry Structure Registry} and changes of
+ * structure validity are reported to a {@link Listener}.
+ *
+ * @author Caellian
+ * @since 1.2.0
+ */
+public class StructureValidator {
+    /**
+     * Function looking up components at positions.
+     */
+    private final Function<Object, NetworkComponent> lookup;
+
+    /**
+     * Function converting positions into {@link PackedPosition packed
+     * coordinates}.
+     */
+    private final ToLongFunction<Object> packer;
+
+    /**
+     * Function converting {@link PackedPosition packed coordinates} into
+     * positions accepted by {@link #lookup}.
+     */
+    private final LongFunction<Object> unpacker;
+
+    /**
+     * Listener notified about changes of structure validity, can be {@code
+     * null}.
+     */
+    private final Listener listener;
+
+    /**
+     * Tracked structures and their cores.
+     */
+    private final IdentityHashMap<StructureCore, TrackedStructure> structures = new IdentityHashMap<>();
+
+    /**
+     * Tracked structures covering each packed position.
+     */
+    private final PackedPositionMap<ArrayList<TrackedStructure>> cellIndex = new PackedPositionMap<>();
+
+    /**
+     * Default constructor.
+     *
+     * @param network  network to look up components in using {@link
+     *                 Network#getNetworkComponentAt(Object)}.
+     * @param packer   function converting positions into {@link
+     *                 PackedPosition packed coordinates}.
+     * @param unpacker function converting {@link PackedPosition packed
+     *                 coordinates} into positions used by argument network.
+     * @param listener listener notified about changes of structure validity or
+     *                 {@code null}.
+     */
+    public StructureValidator(Network network, ToLongFunction<Object> packer, LongFunction<Object> unpacker, Listener listener) {
+        this(network::getNetworkComponentAt, packer, unpacker, listener);
+    }
+
+    /**
+     * Constructor allowing components to be looked up outside of a network.
+     * Useful when structure delegates aren't stored by the network at their
+     * own positions, as is the case with {@link
+     * hr.caellian.flow.network.NetworkBase NetworkBase}.
+     *
+     * @param lookup   function looking up components at positions.
+     * @param packer   function converting positions into {@link
+     *                 PackedPosition packed coordinates}.
+     * @param unpacker function converting {@link PackedPosition packed
+     *                 coordinates} into positions accepted by lookup function.
+     * @param listener listener notified about changes of structure validity or
+     *                 {@code null}.
+     */
+    public StructureValidator(Function<Object, NetworkComponent> lookup, ToLongFunction<Object> packer, LongFunction<Object> unpacker, Listener listener) {
+        this.lookup = lookup;
+        this.packer = packer;
+        this.unpacker = unpacker;
+        this.listener = listener;
+    }
+
+    /**
+     * Starts tracking structure of argument core and matches all of its cells.
+     *
+     * @param core    core of tracked structure.
+     * @param pattern pattern structure has to match.
+     * @return {@code true} if structure is valid.
+     * @throws IllegalArgumentException if a cell of argument pattern lies
+     *                                  outside of {@link PackedPosition
+     *                                  packable range}.
+     */
+    public boolean track(StructureCore core, StructurePattern pattern) {
+        long origin = packer.applyAsLong(core.getPosition());
+        TrackedStructure structure = new TrackedStructure(core, pattern);
+        for (int cell = 0; cell < pattern.size(); cell++) {
+            structure.cells[cell] = PackedPosition.offset(origin, pattern.getOffsetX(cell), pattern.getOffsetY(cell), pattern.getOffsetZ(cell));
+        }
+
+        untrack(core);
+        for (int cell = 0; cell < pattern.size(); cell++) {
+            long position = structure.cells[cell];
+            ArrayList<TrackedStructure> covering = cellIndex.get(position);
+            if (covering == null) {
+                covering = new ArrayList<>();
+                cellIndex.put(position, covering);
+            }
+            covering.add(structure);
+            update(structure, cell);
+        }
+        structures.put(core, structure);
+
+        StructureRegistry.invalidate(core);
+        if (structure.isValid()) {
+            for (int cell = 0; cell < structure.cells.length; cell++) {
+                link(structure, cell);
+            }
+        }
+        notifyListener(structure);
+        return structure.isValid();
+    }
+
+    /**
+     * Stops tracking structure of argument core.
+     *
+     * @param core core of tracked structure.
+     */
+    public void untrack(StructureCore core) {
+        TrackedStructure structure = structures.remove(core);
+        if (structure == null) {
+            return;
+        }
+        for (long position : structure.cells) {
+            ArrayList<TrackedStructure> covering = cellIndex.get(position);
+            if (covering != null) {
+                covering.remove(structure);
+                if (covering.isEmpty()) {
+                    cellIndex.remove(position);
+                }
+            }
+        }
+        StructureRegistry.invalidate(core);
+    }
+
+    /**
+     * Revalidates cells of all tracked structures at argument position. Should
+     * be called whenever a component at argument position is added, removed
+     * or replaced.
+     * <p>
+     * Listener is allowed to track and untrack structures while it's being
+     * notified.
+     *
+     * @param position changed position.
+     */
+    public void positionChanged(Object position) {
+        long packed = packer.applyAsLong(position);
+        ArrayList<TrackedStructure> covering = cellIndex.get(packed);
+        if (covering == null) {
+            return;
+        }
+        // Listener might change covering structures.
+        TrackedStructure[] snapshot = covering.toArray(new TrackedStructure[covering.size()]);
+        for (TrackedStructure structure : snapshot) {
+            if (structures.get(structure.core) != structure) {
+                // Untracked by listener.
+                continue;
+            }
+            boolean wasValid = structure.isValid();
+            for (int cell = 0; cell < structure.cells.length; cell++) {
+                if (structure.cells[cell] == packed) {
+                    update(structure, cell);
+                }
+            }
+
+            if (structure.isValid()) {
+                // Newly formed structures link all members, already valid ones
+                // only the changed cell.
+                for (int cell = 0; cell < structure.cells.length; cell++) {
+                    if (!wasValid || structure.cells[cell] == packed) {
+                        link(structure, cell);
+                    }
+                }
+            } else if (wasValid) {
+                StructureRegistry.invalidate(structure.core);
+            }
+
+            if (wasValid != structure.isValid()) {
+                notifyListener(structure);
+            }
+        }
+    }
+
+    /**
+     * @param core core of tracked structure.
+     * @return {@code true} if structure of argument core is tracked and all of
+     * its cells match.
+     */
+    public boolean isValid(StructureCore core) {
+        TrackedStructure structure = structures.get(core);
+        return structure != null && structure.isValid();
+    }
+
+    /**
+     * Matches a single cell of argument structure and updates its member.
+     *
+     * @param structure structure to update.
+     * @param cell      index of cell to match.
+     */
+    private void update(TrackedStructure structure, int cell) {
+        NetworkComponent component = lookup.apply(unpacker.apply(structure.cells[cell]));
+        boolean matched = structure.pattern.matches(cell, component);
+
+        NetworkComponent member = matched ? component : null;
+        NetworkComponent previous = structure.members[cell];
+        if (previous != member) {
+            if (previous instanceof StructureComponent && previous != structure.core) {
+                StructureRegistry.unlink((StructureComponent) previous);
+            }
+            structure.members[cell] = member;
+        }
+
+        if (matched != structure.matched[cell]) {
+            structure.matched[cell] = matched;
+            structure.matchedCount += matched ? 1 : -1;
+        }
+    }
+
+    /**
+     * Links member of argument cell to core of argument structure.
+     *
+     * @param structure structure to link member of.
+     * @param cell      index of cell containing the member.
+     */
+    private void link(TrackedStructure structure, int cell) {
+        NetworkComponent member = structure.members[cell];
+        if (member instanceof StructureComponent && member != structure.core) {
+            StructureRegistry.link((StructureComponent) member, structure.core);
+        }
+    }
+
+    /**
+     * @param structure structure validity of which changed.
+     */
+    private void notifyListener(TrackedStructure structure) {
+        if (listener != null) {
+            listener.structureChanged(structure.core, structure.isValid());
+        }
+    }
+
+    /**
+     * Listener notified about changes of structure validity.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        /**
+         * @param core  core of changed structure.
+         * @param valid {@code true} if structure became valid, {@code false}
+         *              if it became invalid.
+         */
+        void structureChanged(StructureCore core, boolean valid);
+    }
+
+    /**
+     * Matching state of a single tracked structure.
+     */
+    private static final class TrackedStructure {
+        /**
+         * Core of this structure.
+         */
+        private final StructureCore core;
+
+        /**
+         * Pattern this structure has to match.
+         */
+        private final StructurePattern pattern;
+
+        /**
+         * Packed positions of pattern cells.
+         */
+        private final long[] cells;
+
+        /**
+         * Match state of pattern cells.
+         */
+        private final boolean[] matched;
+
+        /**
+         * Components matching pattern cells, {@code null} for cells which
+         * don't match.
+         */
+        private final NetworkComponent[] members;
+
+        /**
+         * Number of matching cells.
+         */
+        private int matchedCount;
+
+        /**
+         * Default constructor.
+         *
+         * @param core    core of this structure.
+         * @param pattern pattern this structure has to match.
+         */
+        private TrackedStructure(StructureCore core, StructurePattern pattern) {
+            this.core = core;
+            this.pattern = pattern;
+            this.cells = new long[pattern.size()];
+            this.matched = new boolean[pattern.size()];
+            this.members = new NetworkComponent[pattern.size()];
+        }
+
+        /**
+         * @return {@code true} if all cells match.
+         */
+        private boolean isValid() {
+            return matchedCount == cells.length;
+        }
+    }
+}
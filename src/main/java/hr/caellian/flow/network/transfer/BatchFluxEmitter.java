@@ -0,0 +1,67 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package hr.caellian.flow.network.transfer;
+
+import hr.caellian.flow.data.Flux;
+
+/**
+ * Batch Flux Emitters are {@link FluxEmitter Flux Emitters} capable of
+ * emitting flux into reusable {@link FluxBuffer Flux Buffers}.
+ * <p>
+ * When both sides of a link support batching, {@link
+ * hr.caellian.flow.network.TransferScheduler Transfer Scheduler} collects flux
+ * of all batch emitters connected to a {@link BatchFluxReceiver Batch Flux
+ * Receiver} into a single buffer and delivers it with one call. Flux receiver
+ * didn't take is then {@link #restore(FluxBuffer, int, int) restored} to the
+ * emitter it came from.
+ *
+ * @param <B> Flux superclass supported by instances of this Flux Emitter.
+ * @author Caellian
+ * @since 1.2.0
+ */
+public interface BatchFluxEmitter<B extends Flux> extends FluxEmitter<B> {
+    /**
+     * Moves flux intended for argument receiver from this emitter into
+     * argument buffer.
+     *
+     * @param out      buffer to append emitted flux to.
+     * @param receiver {@link FluxReceiver Flux Receiver} flux is emitted to.
+     * @return number of flux objects appended to argument buffer.
+     */
+    int emit(FluxBuffer<B> out, FluxReceiver<B> receiver);
+
+    /**
+     * Returns flux which wasn't taken by receiver back into this emitter.
+     * Slots taken by receiver contain {@code null} and should be skipped.
+     *
+     * @param leftovers buffer containing flux previously emitted by this
+     *                  emitter.
+     * @param start     index of first slot emitted by this emitter
+     *                  (inclusive).
+     * @param end       index of last slot emitted by this emitter
+     *                  (exclusive).
+     */
+    void restore(FluxBuffer<B> leftovers, int start, int end);
+}
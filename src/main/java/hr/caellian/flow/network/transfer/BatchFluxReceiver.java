@@ -0,0 +1,59 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package hr.caellian.flow.network.transfer;
+
+import hr.caellian.flow.data.Flux;
+import hr.caellian.flow.data.Property;
+
+/**
+ * Batch Flux Receivers are {@link FluxReceiver Flux Receivers} capable of
+ * receiving flux of many {@link BatchFluxEmitter Batch Flux Emitters} from a
+ * single reusable {@link FluxBuffer Flux Buffer}.
+ *
+ * @param <B> Flux superclass supported by instances of this flux receiver.
+ * @author Caellian
+ * @since 1.2.0
+ */
+public interface BatchFluxReceiver<B extends Flux> extends FluxReceiver<B> {
+    /**
+     * Shared empty conditions array which avoids allocation of varargs arrays
+     * when flux is transmitted without conditions.
+     */
+    Property[] NO_CONDITIONS = new Property[0];
+
+    /**
+     * Receives flux from argument buffer. Accepted flux should be removed
+     * using {@link FluxBuffer#take(int)}; flux left in the buffer is returned
+     * to emitters it came from.
+     * <p>
+     * Implementations shouldn't keep reference to argument buffer or
+     * conditions after this method returns as both are reused.
+     *
+     * @param in         buffer containing {@link Flux Flux} passed to this
+     *                   receiver.
+     * @param conditions conditions under which flux was transmitted.
+     */
+    void receive(FluxBuffer<B> in, Property... conditions);
+}
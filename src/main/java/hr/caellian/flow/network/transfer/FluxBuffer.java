@@ -0,0 +1,192 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package hr.caellian.flow.network.transfer;
+
+import hr.caellian.flow.data.Flux;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Flux Buffer is a reusable array-backed container used to pass batches of
+ * {@link Flux Flux} between {@link BatchFluxEmitter Batch Flux Emitters} and
+ * {@link BatchFluxReceiver Batch Flux Receivers}.
+ * <p>
+ * Buffer grows when needed but never shrinks, so once it reaches the size of
+ * the largest batch transferred through it, filling and clearing it doesn't
+ * allocate.
+ * <p>
+ * Receivers {@link #take(int) take} flux they accept out of the buffer. Taken
+ * slots are left empty so that flux remaining in the buffer keeps its index
+ * and can be returned to emitter it came from.
+ *
+ * @param <B> Flux superclass stored in this buffer.
+ * @author Caellian
+ * @since 1.2.0
+ */
+public class FluxBuffer<B extends Flux> {
+    /**
+     * Initial capacity of buffers constructed with default constructor.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Stored flux, {@code null} for slots which were taken.
+     */
+    private Flux<?>[] elements;
+
+    /**
+     * Number of used slots.
+     */
+    private int size;
+
+    /**
+     * Number of used slots which weren't taken.
+     */
+    private int remaining;
+
+    /**
+     * Default constructor.
+     */
+    public FluxBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity initial capacity of this buffer.
+     */
+    public FluxBuffer(int capacity) {
+        elements = new Flux<?>[Math.max(capacity, 1)];
+    }
+
+    /**
+     * @param flux flux to append to this buffer.
+     */
+    public void add(B flux) {
+        if (flux == null) {
+            throw new NullPointerException("Flux Buffer can't store null flux.");
+        }
+        if (size == elements.length) {
+            ensureCapacity(size + 1);
+        }
+        elements[size++] = flux;
+        remaining++;
+    }
+
+    /**
+     * @param flux flux to append to this buffer.
+     */
+    public void addAll(Collection<? extends B> flux) {
+        ensureCapacity(size + flux.size());
+        for (B element : flux) {
+            add(element);
+        }
+    }
+
+    /**
+     * @param index index of slot to return flux from.
+     * @return flux stored in argument slot or {@code null} if it was taken.
+     */
+    public B get(int index) {
+        checkIndex(index);
+        //noinspection unchecked
+        return (B) elements[index];
+    }
+
+    /**
+     * Removes flux from argument slot without moving other flux.
+     *
+     * @param index index of slot to take flux from.
+     * @return flux stored in argument slot or {@code null} if it was already
+     * taken.
+     */
+    public B take(int index) {
+        checkIndex(index);
+        //noinspection unchecked
+        B result = (B) elements[index];
+        if (result != null) {
+            elements[index] = null;
+            remaining--;
+        }
+        return result;
+    }
+
+    /**
+     * @return number of used slots, including ones which were taken.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return number of flux objects which weren't taken.
+     */
+    public int remaining() {
+        return remaining;
+    }
+
+    /**
+     * @return {@code true} if there's no flux which wasn't taken in this
+     * buffer.
+     */
+    public boolean isEmpty() {
+        return remaining == 0;
+    }
+
+    /**
+     * @return number of flux objects this buffer can store without growing.
+     */
+    public int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * @param capacity minimal number of flux objects this buffer should be
+     *                 able to store without growing.
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity > elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(capacity, elements.length * 2));
+        }
+    }
+
+    /**
+     * Empties this buffer while retaining its capacity.
+     */
+    public void clear() {
+        Arrays.fill(elements, 0, size, null);
+        size = 0;
+        remaining = 0;
+    }
+
+    /**
+     * @param index index to check.
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
@@ -24,6 +24,9 @@
 
 package hr.caellian.flow.network.transfer;
 
+import hr.caellian.flow.data.DoubleProperty;
+import hr.caellian.flow.data.IntProperty;
+import hr.caellian.flow.data.LongProperty;
 import hr.caellian.flow.data.Property;
 
 import java.util.HashMap;
@@ -57,4 +60,61 @@ public interface FluxConductor {
     default Property getProperty(String ID) {
         return getProperties().get(ID);
     }
+
+    /**
+     * Reads a numeric property without boxing if it's a {@link
+     * DoubleProperty Double Property}.
+     *
+     * @param ID           ID of property to read.
+     * @param defaultValue value returned if property doesn't exist or isn't
+     *                     numeric.
+     * @return value of property with specified ID as a {@code double}.
+     * @since 1.2.0
+     */
+    default double getDouble(String ID, double defaultValue) {
+        Property<?> property = getProperty(ID);
+        if (property instanceof DoubleProperty) {
+            return ((DoubleProperty) property).getAsDouble();
+        }
+        Object value = property != null ? property.get() : null;
+        return value instanceof Number ? ((Number) value).doubleValue() : defaultValue;
+    }
+
+    /**
+     * Reads a numeric property without boxing if it's a {@link
+     * LongProperty Long Property}.
+     *
+     * @param ID           ID of property to read.
+     * @param defaultValue value returned if property doesn't exist or isn't
+     *                     numeric.
+     * @return value of property with specified ID as a {@code long}.
+     * @since 1.2.0
+     */
+    default long getLong(String ID, long defaultValue) {
+        Property<?> property = getProperty(ID);
+        if (property instanceof LongProperty) {
+            return ((LongProperty) property).getAsLong();
+        }
+        Object value = property != null ? property.get() : null;
+        return value instanceof Number ? ((Number) value).longValue() : defaultValue;
+    }
+
+    /**
+     * Reads a numeric property without boxing if it's a {@link
+     * IntProperty Int Property}.
+     *
+     * @param ID           ID of property to read.
+     * @param defaultValue value returned if property doesn't exist or isn't
+     *                     numeric.
+     * @return value of property with specified ID as an {@code int}.
+     * @since 1.2.0
+     */
+    default int getInt(String ID, int defaultValue) {
+        Property<?> property = getProperty(ID);
+        if (property instanceof IntProperty) {
+            return ((IntProperty) property).getAsInt();
+        }
+        Object value = property != null ? property.get() : null;
+        return value instanceof Number ? ((Number) value).intValue() : defaultValue;
+    }
 }
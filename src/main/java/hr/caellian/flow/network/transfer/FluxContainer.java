@@ -29,6 +29,7 @@ import hr.caellian.flow.network.NetworkComponent;
 
 import java.io.Externalizable;
 import java.util.ArrayList;
+import java.util.function.Consumer;
 
 /**
  * Flux containers are objects capable of containing Flux objects.
@@ -43,6 +44,18 @@ public interface FluxContainer<B extends Flux> extends NetworkComponent, Externa
      */
     ArrayList<B> getFlux();
 
+    /**
+     * Performs argument action on all Flux stored within this Flux Container.
+     * Implementations should override this method to avoid constructing a
+     * list.
+     *
+     * @param action action to perform.
+     * @since 1.2.0
+     */
+    default void forEachFlux(Consumer<? super B> action) {
+        getFlux().forEach(action);
+    }
+
     /**
      * Implementation of this function should be capable of storing
      *
@@ -52,15 +65,20 @@ public interface FluxContainer<B extends Flux> extends NetworkComponent, Externa
     boolean addFlux(B flux);
 
     /**
+     * Default implementation performs a linear search through {@link
+     * #getFlux()}. {@link IndexedFluxContainer Indexed Flux Container} removes
+     * Flux in constant time.
+     *
      * @param ID ID of Flux to remove from this Container.
      * @return {@code true} if Flux was contained in this Flux Container, {@code
      * false} otherwise.
      */
     default boolean removeFlux(String ID) {
         boolean result = false;
-        for (B flux : getFlux()) {
+        // Copied as implementations may return list they remove Flux from.
+        for (B flux : new ArrayList<>(getFlux())) {
             if (flux.getID().equals(ID)) {
-                result = result || removeFlux(flux);
+                result = removeFlux(flux) || result;
             }
         }
         return result;
@@ -0,0 +1,51 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package hr.caellian.flow.network.transfer;
+
+import hr.caellian.flow.data.Flux;
+
+/**
+ * Flux Publishers push {@link Flux Flux} to {@link FluxSubscriber Flux
+ * Subscribers} as long as subscribers signal demand for it.
+ * <p>
+ * Mirrors {@code java.util.concurrent.Flow.Publisher} which isn't available
+ * on Java 8.
+ *
+ * @param <B> Flux superclass published by instances of this Flux Publisher.
+ * @author Caellian
+ * @see FluxStream
+ * @since 1.2.0
+ */
+@FunctionalInterface
+public interface FluxPublisher<B extends Flux> {
+    /**
+     * Adds argument subscriber. Subscriber is given a {@link FluxSubscription
+     * Flux Subscription} through {@link FluxSubscriber#onSubscribe(
+     *FluxSubscription)} and won't receive any flux until it requests it.
+     *
+     * @param subscriber subscriber to add.
+     */
+    void subscribe(FluxSubscriber<? super B> subscriber);
+}
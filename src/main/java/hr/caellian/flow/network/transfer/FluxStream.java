@@ -0,0 +1,329 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package hr.caellian.flow.network.transfer;
+
+import hr.caellian.flow.data.Flux;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+
+/**
+ * Flux Stream is a {@link FluxPublisher Flux Publisher} implementation
+ * {@link FluxEmitter Flux Emitters} can use to push flux to subscribed
+ * receivers.
+ * <p>
+ * Offered flux is delivered immediately to the first subscriber with
+ * outstanding demand in order of subscription. If no subscriber has demand,
+ * flux is kept in a bounded queue and delivered as soon as demand is
+ * signalled. Once the queue is full, {@link #offer(Flux)} refuses flux so
+ * that emitter keeps it instead of allocating work receivers can't accept.
+ * <p>
+ * Stream is thread safe. Subscriber methods are never called while lock of
+ * the stream is held, so subscribers may freely call back into the stream.
+ * Flux is delivered by one thread at a time; if multiple threads offer flux
+ * or signal demand concurrently, the thread already delivering flux delivers
+ * flux offered by others as well, preserving order.
+ *
+ * @param <B> Flux superclass published by this stream.
+ * @author Caellian
+ * @since 1.2.0
+ */
+public class FluxStream<B extends Flux> implements FluxPublisher<B> {
+    /**
+     * Default maximal number of queued flux objects.
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    /**
+     * Subscriptions in order of subscription.
+     */
+    private final ArrayList<StreamSubscription> subscriptions = new ArrayList<>();
+
+    /**
+     * Flux waiting for demand.
+     */
+    private final ArrayDeque<B> pending = new ArrayDeque<>();
+
+    /**
+     * Maximal number of queued flux objects.
+     */
+    private final int capacity;
+
+    /**
+     * {@code true} while a thread is delivering flux. Prevents recursive and
+     * concurrent delivery.
+     */
+    private boolean draining;
+
+    /**
+     * {@code true} if no more flux will be offered.
+     */
+    private boolean completed;
+
+    /**
+     * Default constructor.
+     */
+    public FluxStream() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity maximal number of flux objects queued while subscribers
+     *                 have no demand.
+     */
+    public FluxStream(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Flux Stream capacity can't be negative.");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Adds argument subscriber. Subscribers added after stream was completed
+     * and emptied are completed immediately.
+     *
+     * @param subscriber subscriber to add.
+     */
+    @Override
+    public void subscribe(FluxSubscriber<? super B> subscriber) {
+        StreamSubscription subscription = new StreamSubscription(subscriber);
+        synchronized (this) {
+            subscriptions.add(subscription);
+        }
+        subscriber.onSubscribe(subscription);
+        synchronized (this) {
+            subscription.started = true;
+        }
+        drain();
+    }
+
+    /**
+     * Publishes argument flux.
+     *
+     * @param flux flux to publish.
+     * @return {@code true} if flux was delivered or queued, {@code false} if
+     * queue is full and emitter should keep argument flux.
+     */
+    public boolean offer(B flux) {
+        synchronized (this) {
+            if (completed) {
+                throw new IllegalStateException("Flux Stream was completed.");
+            }
+            if (pending.size() >= capacity && !hasDemand()) {
+                return false;
+            }
+            pending.add(flux);
+        }
+        drain();
+        return true;
+    }
+
+    /**
+     * Signals subscribers that no more flux will be offered. Queued flux is
+     * still delivered before subscribers are completed.
+     */
+    public void complete() {
+        synchronized (this) {
+            completed = true;
+        }
+        drain();
+    }
+
+    /**
+     * @return {@code true} if at least one subscriber can currently receive
+     * flux.
+     */
+    public synchronized boolean hasDemand() {
+        for (StreamSubscription subscription : subscriptions) {
+            if (subscription.demand > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return number of flux objects waiting for demand.
+     */
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * @return number of active subscriptions.
+     */
+    public synchronized int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Delivers queued flux to subscribers with outstanding demand and
+     * completes subscribers once stream is completed and emptied.
+     * <p>
+     * State is inspected while lock is held, but subscribers are called after
+     * it's released.
+     */
+    private void drain() {
+        synchronized (this) {
+            if (draining) {
+                // Thread already delivering will pick up changed state.
+                return;
+            }
+            draining = true;
+        }
+        boolean done = false;
+        try {
+            while (true) {
+                StreamSubscription target = null;
+                B flux = null;
+                ArrayList<StreamSubscription> toComplete = null;
+                synchronized (this) {
+                    if (!pending.isEmpty()) {
+                        for (StreamSubscription subscription : subscriptions) {
+                            if (subscription.demand > 0) {
+                                target = subscription;
+                                break;
+                            }
+                        }
+                    }
+                    if (target != null) {
+                        if (target.demand != Long.MAX_VALUE) {
+                            target.demand--;
+                        }
+                        flux = pending.poll();
+                    } else if (completed && pending.isEmpty()) {
+                        toComplete = takeStarted();
+                    }
+                    if (target == null && toComplete == null) {
+                        // Threads changing state from now on will deliver.
+                        draining = false;
+                        done = true;
+                        return;
+                    }
+                }
+                if (target != null) {
+                    target.subscriber.onNext(flux);
+                } else if (toComplete != null) {
+                    for (StreamSubscription subscription : toComplete) {
+                        subscription.subscriber.onComplete();
+                    }
+                }
+            }
+        } finally {
+            if (!done) {
+                synchronized (this) {
+                    draining = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes subscriptions whose subscribers were already given their
+     * subscription. Must be called while lock of the stream is held.
+     *
+     * @return removed subscriptions or {@code null} if there were none.
+     */
+    private ArrayList<StreamSubscription> takeStarted() {
+        ArrayList<StreamSubscription> result = null;
+        for (int i = 0; i < subscriptions.size(); ) {
+            StreamSubscription subscription = subscriptions.get(i);
+            if (subscription.started) {
+                if (result == null) {
+                    result = new ArrayList<>();
+                }
+                result.add(subscription);
+                subscriptions.remove(i);
+            } else {
+                i++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Subscription of a single subscriber to this stream.
+     */
+    private final class StreamSubscription implements FluxSubscription {
+        /**
+         * Subscribed subscriber.
+         */
+        private final FluxSubscriber<? super B> subscriber;
+
+        /**
+         * Number of flux objects subscriber can still receive.
+         */
+        private long demand;
+
+        /**
+         * {@code true} once subscriber was given this subscription, only such
+         * subscribers are completed.
+         */
+        private boolean started;
+
+        /**
+         * Default constructor.
+         *
+         * @param subscriber subscribed subscriber.
+         */
+        private StreamSubscription(FluxSubscriber<? super B> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        /**
+         * @param n number of additional flux objects subscriber can receive.
+         *          Subscription is terminated with an error if it isn't
+         *          positive.
+         */
+        @Override
+        public void request(long n) {
+            synchronized (FluxStream.this) {
+                if (!subscriptions.contains(this)) {
+                    return;
+                }
+                if (n > 0) {
+                    demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                } else {
+                    subscriptions.remove(this);
+                }
+            }
+            if (n > 0) {
+                drain();
+            } else {
+                subscriber.onError(new IllegalArgumentException("Requested flux count must be positive."));
+            }
+        }
+
+        /**
+         * Removes this subscription from stream.
+         */
+        @Override
+        public void cancel() {
+            synchronized (FluxStream.this) {
+                subscriptions.remove(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package hr.caellian.flow.network.transfer;
+
+import hr.caellian.flow.data.Flux;
+
+/**
+ * Flux Subscribers receive {@link Flux Flux} pushed by {@link FluxPublisher
+ * Flux Publishers} they're subscribed to. Subscribers control amount of
+ * received flux by {@link FluxSubscription#request(long) requesting} it, so
+ * saturated subscribers apply backpressure by not requesting more.
+ * <p>
+ * Mirrors {@code java.util.concurrent.Flow.Subscriber} which isn't available
+ * on Java 8.
+ *
+ * @param <B> Flux superclass supported by instances of this Flux Subscriber.
+ * @author Caellian
+ * @since 1.2.0
+ */
+public interface FluxSubscriber<B extends Flux> {
+    /**
+     * Called once when subscriber is subscribed to a publisher, before any
+     * other method.
+     *
+     * @param subscription subscription used to request flux or cancel
+     *                     subscription.
+     */
+    void onSubscribe(FluxSubscription subscription);
+
+    /**
+     * Called for every published flux object, never more times than
+     * requested.
+     *
+     * @param flux published flux.
+     */
+    void onNext(B flux);
+
+    /**
+     * Called when subscription was terminated due to an error. No other
+     * methods are called afterwards.
+     *
+     * @param throwable cause of termination.
+     */
+    void onError(Throwable throwable);
+
+    /**
+     * Called when publisher won't publish any more flux. No other methods are
+     * called afterwards.
+     */
+    void onComplete();
+}
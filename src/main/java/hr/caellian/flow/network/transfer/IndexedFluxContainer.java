@@ -0,0 +1,339 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+
+package hr.caellian.flow.network.transfer;
+
+import hr.caellian.flow.data.Flux;
+import hr.caellian.flow.data.VersionClock;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Indexed Flux Container is a reference {@link FluxContainer Flux Container}
+ * implementation storing at most one Flux object per {@link Flux#getID() Flux
+ * ID}.
+ * <p>
+ * Flux of the same ID is merged using {@link Flux#add(Flux)} when it's added,
+ * so lookup, insertion and removal by ID take constant time regardless of
+ * number of stored Flux kinds.
+ * <p>
+ * Every addition, replacement and removal stamps affected Flux ID with a new
+ * version of {@link #getVersionClock() clock owned by this container}, so IDs
+ * {@link #getChangedSince(long) changed since} a version can be retrieved
+ * without scanning the whole container.
+ * <p>
+ * Subclasses implement {@link hr.caellian.flow.network.NetworkComponent
+ * Network Component} and {@link FluxConductor Flux Conductor} methods.
+ *
+ * @param <B> Flux superclass supported by instances of this flux container.
+ * @author Caellian
+ * @since 1.2.0
+ */
+public abstract class IndexedFluxContainer<B extends Flux> implements FluxContainer<B> {
+    /**
+     * Stored Flux indexed by {@link Flux#getID() Flux ID}.
+     */
+    private final HashMap<String, B> flux = new HashMap<>();
+
+    /**
+     * {@link VersionClock Version} of last change of each Flux ID, including
+     * IDs of removed Flux.
+     */
+    private final HashMap<String, Long> versions = new HashMap<>();
+
+    /**
+     * Flux IDs ordered by {@link VersionClock version} of their last change.
+     */
+    private final TreeMap<Long, String> changes = new TreeMap<>();
+
+    /**
+     * Clock stamping changes of stored Flux.
+     */
+    private final VersionClock clock = new VersionClock();
+
+    /**
+     * @return copy of Flux currently stored within this Flux Container.
+     */
+    @Override
+    public ArrayList<B> getFlux() {
+        return new ArrayList<>(flux.values());
+    }
+
+    /**
+     * Performs argument action on all Flux stored within this Flux Container
+     * without constructing a list.
+     *
+     * @param action action to perform.
+     */
+    @Override
+    public void forEachFlux(Consumer<? super B> action) {
+        flux.values().forEach(action);
+    }
+
+    /**
+     * @param ID ID of Flux to return.
+     * @return Flux with argument ID stored in this Flux Container or {@code
+     * null} if there's no such Flux.
+     */
+    public B getFlux(String ID) {
+        return flux.get(ID);
+    }
+
+    /**
+     * @param ID ID of Flux to look for.
+     * @return {@code true} if Flux with argument ID is stored in this Flux
+     * Container, {@code false} otherwise.
+     */
+    public boolean containsFlux(String ID) {
+        return flux.containsKey(ID);
+    }
+
+    /**
+     * @return number of stored Flux objects.
+     */
+    public int size() {
+        return flux.size();
+    }
+
+    /**
+     * @return {@code true} if this Flux Container contains no Flux.
+     */
+    public boolean isEmpty() {
+        return flux.isEmpty();
+    }
+
+    /**
+     * Stores argument Flux. If Flux with the same ID is already stored, they
+     * are merged using {@link Flux#add(Flux)}.
+     *
+     * @param flux Flux to store in this Flux Container.
+     * @return {@code true} if argument Flux was stored properly, {@code
+     * false} if it can't be stored or merged with stored Flux, in which case
+     * stored Flux is left unchanged.
+     */
+    @Override
+    public boolean addFlux(B flux) {
+        if (flux == null || !canStoreFlux(flux)) {
+            return false;
+        }
+        B stored = this.flux.get(flux.getID());
+        if (stored == null) {
+            this.flux.put(flux.getID(), flux);
+        } else {
+            //noinspection unchecked
+            B merged = (B) stored.add(flux);
+            if (merged == null) {
+                return false;
+            }
+            this.flux.put(flux.getID(), merged);
+        }
+        markChanged(flux.getID());
+        return true;
+    }
+
+    /**
+     * Stores argument Flux replacing Flux with the same ID without merging
+     * them.
+     *
+     * @param flux Flux to store in this Flux Container.
+     */
+    public void replaceFlux(B flux) {
+        this.flux.put(flux.getID(), flux);
+        markChanged(flux.getID());
+    }
+
+    /**
+     * @param flux Flux about to be stored in this Flux Container.
+     * @return {@code true} if argument Flux can be stored in this Flux
+     * Container. Default implementation accepts all Flux.
+     */
+    protected boolean canStoreFlux(B flux) {
+        return true;
+    }
+
+    /**
+     * @param ID ID of Flux to remove from this Container.
+     * @return {@code true} if Flux was contained in this Flux Container, {@code
+     * false} otherwise.
+     */
+    @Override
+    public boolean removeFlux(String ID) {
+        if (flux.remove(ID) == null) {
+            return false;
+        }
+        markChanged(ID);
+        return true;
+    }
+
+    /**
+     * @param flux Flux to remove from this Container.
+     * @return {@code true} if argument Flux object was contained in this Flux
+     * Container, {@code false} otherwise.
+     */
+    @Override
+    public boolean removeFlux(B flux) {
+        if (flux == null || this.flux.get(flux.getID()) != flux) {
+            return false;
+        }
+        this.flux.remove(flux.getID());
+        markChanged(flux.getID());
+        return true;
+    }
+
+    /**
+     * Removes all Flux from this Flux Container and passes it to argument
+     * action.
+     *
+     * @param action action receiving removed Flux.
+     */
+    public void drainFlux(Consumer<? super B> action) {
+        flux.values().forEach(action);
+        clearFlux();
+    }
+
+    /**
+     * Removes all Flux from this Flux Container and appends it to argument
+     * buffer.
+     *
+     * @param out buffer to append removed Flux to.
+     * @return number of appended Flux objects.
+     */
+    public int drainFlux(FluxBuffer<B> out) {
+        int count = flux.size();
+        out.ensureCapacity(out.size() + count);
+        drainFlux(out::add);
+        return count;
+    }
+
+    /**
+     * Removes all Flux from this Flux Container.
+     */
+    public void clearFlux() {
+        for (String ID : flux.keySet()) {
+            markChanged(ID);
+        }
+        flux.clear();
+    }
+
+    /**
+     * Stamps argument Flux ID with a new {@link VersionClock version}. Should
+     * be called after stored Flux was mutated in place.
+     *
+     * @param ID ID of changed Flux.
+     */
+    public void markChanged(String ID) {
+        long version = clock.next();
+        Long previous = versions.put(ID, version);
+        if (previous != null) {
+            changes.remove(previous);
+        }
+        changes.put(version, ID);
+    }
+
+    /**
+     * @return clock stamping changes of stored Flux. Its {@link
+     * VersionClock#current() current version} should be recorded before
+     * changes are read.
+     */
+    public VersionClock getVersionClock() {
+        return clock;
+    }
+
+    /**
+     * @param ID Flux ID to return version of.
+     * @return {@link VersionClock version} of last change of Flux with
+     * argument ID or {@code 0} if it never changed or was {@link
+     * #forgetRemovedBefore(long) forgotten}.
+     */
+    public long getVersion(String ID) {
+        Long version = versions.get(ID);
+        return version != null ? version : 0;
+    }
+
+    /**
+     * @param version {@link VersionClock version} to compare against.
+     * @return read-only live view of IDs of Flux which were added, replaced or
+     * removed after argument version, ordered by version of their last
+     * change. Removed IDs have no {@link #getFlux(String) stored Flux}.
+     */
+    public Collection<String> getChangedSince(long version) {
+        return Collections.unmodifiableCollection(changes.tailMap(version, false).values());
+    }
+
+    /**
+     * Forgets IDs of Flux removed before or at argument version. Should be
+     * called once all consumers of {@link #getChangedSince(long) changes}
+     * have seen removals up to argument version.
+     *
+     * @param version {@link VersionClock version} up to which removals are
+     *                forgotten.
+     */
+    public void forgetRemovedBefore(long version) {
+        Iterator<Map.Entry<Long, String>> iterator = changes.headMap(version, true).entrySet().iterator();
+        while (iterator.hasNext()) {
+            String ID = iterator.next().getValue();
+            if (!flux.containsKey(ID)) {
+                versions.remove(ID);
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * @param out output to write stored Flux to.
+     * @throws IOException if an I/O error occurs.
+     */
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeInt(flux.size());
+        for (B stored : flux.values()) {
+            out.writeObject(stored);
+        }
+    }
+
+    /**
+     * @param in input to read stored Flux from.
+     * @throws IOException            if an I/O error occurs.
+     * @throws ClassNotFoundException if class of stored Flux can't be found.
+     */
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        clearFlux();
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            //noinspection unchecked
+            addFlux((B) in.readObject());
+        }
+    }
+}
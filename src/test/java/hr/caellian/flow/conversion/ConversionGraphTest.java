@@ -0,0 +1,189 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package hr.caellian.flow.conversion;
+
+import hr.caellian.flow.data.Pair;
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests path searches and distances of {@link ConversionGraph}.
+ *
+ * @author Caellian
+ * @since 1.2.0
+ */
+public class ConversionGraphTest {
+    @Test
+    public void shortestPathUsesFewestConverters() {
+        ConversionGraph<TestConverter> graph = graph("a>b", "b>c", "c>d", "a>x", "x>d", "d>a");
+
+        assertEquals("a>x x>d", describe(graph.findShortestPath("a", "d", 5)));
+        assertEquals("b>c c>d d>a", describe(graph.findShortestPath("b", "a", 3)));
+        assertEquals("a>b", describe(graph.findShortestPath("a", "b", 1)));
+    }
+
+    @Test
+    public void shortestPathRespectsStepLimit() {
+        ConversionGraph<TestConverter> graph = graph("a>b", "b>c", "c>d");
+
+        assertNull(graph.findShortestPath("a", "d", 2));
+        assertEquals("a>b b>c c>d", describe(graph.findShortestPath("a", "d", 3)));
+        assertNull(graph.findShortestPath("d", "a", 10));
+    }
+
+    @Test
+    public void distancesFollowConverterDirection() {
+        ConversionGraph<TestConverter> graph = graph("a>b", "b>c", "c>d", "a>x", "x>d", "d>a");
+
+        assertEquals(2, graph.getDistance("a", "d"));
+        assertEquals(1, graph.getDistance("d", "a"));
+        assertEquals(3, graph.getDistance("a", "a"));
+        assertTrue(graph.isReachable("c", "x"));
+
+        ConversionGraph<TestConverter> acyclic = graph("a>b", "b>c");
+        assertEquals(ConversionGraph.UNREACHABLE, acyclic.getDistance("c", "a"));
+        assertEquals(ConversionGraph.UNREACHABLE, acyclic.getDistance("a", "a"));
+        assertFalse(acyclic.isReachable("b", "a"));
+    }
+
+    @Test
+    public void unknownFluxTypesAreUnreachable() {
+        ConversionGraph<TestConverter> graph = graph("a>b");
+
+        assertEquals(-1, graph.indexOf("unknown"));
+        assertFalse(graph.isReachable("a", "unknown"));
+        assertFalse(graph.isReachable("unknown", "a"));
+        assertEquals(ConversionGraph.UNREACHABLE, graph.getDistance("unknown", "b"));
+        assertNull(graph.findShortestPath("a", "unknown", 5));
+        assertNull(graph.findCheapestPath("unknown", "b", 5));
+    }
+
+    @Test
+    public void graphIndexesAllFluxTypes() {
+        ConversionGraph<TestConverter> graph = graph("a>b", "b>c", "c>a");
+
+        assertEquals(3, graph.size());
+        assertEquals(3, graph.getConverterCount());
+        for (String ID : new String[]{"a", "b", "c"}) {
+            assertEquals(ID, graph.getID(graph.indexOf(ID)));
+        }
+    }
+
+    /**
+     * @param converters converters written as {@code input>output}.
+     * @return graph containing argument converters.
+     */
+    static ConversionGraph<TestConverter> graph(String... converters) {
+        LinkedHashMap<Pair<String, String>, TestConverter> converterMap = new LinkedHashMap<>();
+        for (String converter : converters) {
+            String[] IDs = converter.split(">");
+            String[] parts = IDs[1].split(":");
+            double cost = parts.length > 1 ? Double.parseDouble(parts[1]) : 1.0;
+            converterMap.put(new Pair<>(IDs[0], parts[0]), new TestConverter(IDs[0], parts[0], cost));
+        }
+        return new ConversionGraph<>(converterMap);
+    }
+
+    /**
+     * @param path path of converters, may be {@code null}.
+     * @return converters of argument path separated by spaces or {@code null}
+     * if argument path is {@code null}.
+     */
+    static String describe(List<TestConverter> path) {
+        if (path == null) {
+            return null;
+        }
+        StringBuilder result = new StringBuilder();
+        for (TestConverter converter : path) {
+            if (result.length() > 0) {
+                result.append(' ');
+            }
+            result.append(converter);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Converter appending its output ID to converted strings.
+     */
+    static final class TestConverter implements Converter<String, String> {
+        /**
+         * ID of input flux type.
+         */
+        private final String inputID;
+
+        /**
+         * ID of output flux type.
+         */
+        private final String outputID;
+
+        /**
+         * Cost of using this converter.
+         */
+        private final double cost;
+
+        /**
+         * @param inputID  ID of input flux type.
+         * @param outputID ID of output flux type.
+         * @param cost     cost of using this converter.
+         */
+        TestConverter(String inputID, String outputID, double cost) {
+            this.inputID = inputID;
+            this.outputID = outputID;
+            this.cost = cost;
+        }
+
+        @Override
+        public String apply(String input) {
+            return input + ">" + outputID;
+        }
+
+        @Override
+        public String getInputID() {
+            return inputID;
+        }
+
+        @Override
+        public String getOutputID() {
+            return outputID;
+        }
+
+        @Override
+        public double getCost() {
+            return cost;
+        }
+
+        @Override
+        public String toString() {
+            return inputID + ">" + outputID;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package hr.caellian.flow.conversion;
+
+import hr.caellian.flow.conversion.ConversionGraphTest.TestConverter;
+import hr.caellian.flow.conversion.ConversionManager.RoutingMode;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static hr.caellian.flow.conversion.ConversionGraphTest.describe;
+import static hr.caellian.flow.conversion.ConversionGraphTest.graph;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests cost-weighted routing and caching of routes by {@link RoutingTable}
+ * and {@link ConversionManager}.
+ *
+ * @author Caellian
+ * @since 1.2.0
+ */
+public class RoutingTableTest {
+    @Test
+    public void cheapestPathPrefersLowerTotalCost() {
+        ConversionGraph<TestConverter> graph = graph("a>d:10", "a>b:1", "b>c:1", "c>d:1");
+
+        assertEquals("a>b b>c c>d", describe(graph.findCheapestPath("a", "d", 5)));
+        assertEquals("a>d", describe(graph.findCheapestPath("a", "d", 2)));
+        assertEquals("a>d", describe(graph.findShortestPath("a", "d", 5)));
+    }
+
+    @Test
+    public void cheapestPathCanReturnToItsStart() {
+        ConversionGraph<TestConverter> graph = graph("a>b:1", "b>a:5", "b>c:1", "c>a:1");
+
+        assertEquals("a>b b>c c>a", describe(graph.findCheapestPath("a", "a", 3)));
+        assertEquals("a>b b>a", describe(graph.findCheapestPath("a", "a", 2)));
+        assertNull(graph.findCheapestPath("a", "a", 1));
+    }
+
+    @Test
+    public void routesAreComposedOnce() {
+        RoutingTable<TestConverter> table = new RoutingTable<>(graph("a>b", "b>c"));
+        CountingComposer composer = new CountingComposer();
+
+        TestConverter route = table.getRoute("a", "c", 5, RoutingMode.FEWEST_STEPS, composer);
+        assertSame(route, table.getRoute("a", "c", 5, RoutingMode.FEWEST_STEPS, composer));
+        assertEquals(1, composer.calls);
+        assertEquals("a>c", route.toString());
+
+        table.getRoute("a", "c", 5, RoutingMode.LOWEST_COST, composer);
+        assertEquals(2, composer.calls);
+    }
+
+    @Test
+    public void missingRoutesAreCached() {
+        RoutingTable<TestConverter> table = new RoutingTable<>(graph("a>b", "b>c"));
+        CountingComposer composer = new CountingComposer();
+
+        assertNull(table.getRoute("c", "a", 5, RoutingMode.FEWEST_STEPS, composer));
+        assertNull(table.getRoute("a", "c", 1, RoutingMode.FEWEST_STEPS, composer));
+        assertNull(table.getRoute("c", "a", 5, RoutingMode.FEWEST_STEPS, composer));
+        assertEquals(0, composer.calls);
+    }
+
+    @Test
+    public void managerSelectsRouteByRoutingMode() {
+        ConcurrentConversionManager<DoubleConverter> manager = new ConcurrentConversionManager<>();
+        LinearDoubleConverter direct = new LinearDoubleConverter("a", "d", 2, 10);
+        manager.register(direct);
+        manager.register(new LinearDoubleConverter("a", "b", 1, 1));
+        manager.register(new LinearDoubleConverter("b", "c", 2, 1));
+        manager.register(new LinearDoubleConverter("c", "d", 3, 1));
+
+        assertSame(direct, manager.getConverter("a", "d", 5, RoutingMode.FEWEST_STEPS));
+        assertSame(direct, manager.getConverter("a", "d", 1, RoutingMode.LOWEST_COST));
+        DoubleConverter cheapest = manager.getConverter("a", "d", 5, RoutingMode.LOWEST_COST);
+        assertEquals(6.0, cheapest.applyAsDouble(1.0), 1e-9);
+        assertSame(cheapest, manager.getConverter("a", "d", 5, RoutingMode.LOWEST_COST));
+    }
+
+    /**
+     * Composer counting its calls and joining paths into a single
+     * {@link TestConverter}.
+     */
+    private static final class CountingComposer implements Function<List<TestConverter>, TestConverter> {
+        /**
+         * Number of composed paths.
+         */
+        private int calls;
+
+        @Override
+        public TestConverter apply(List<TestConverter> path) {
+            calls++;
+            return new TestConverter(path.get(0).getInputID(), path.get(path.size() - 1).getOutputID(), path.size());
+        }
+    }
+}
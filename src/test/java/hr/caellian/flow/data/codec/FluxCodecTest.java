@@ -0,0 +1,442 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package hr.caellian.flow.data.codec;
+
+import hr.caellian.flow.data.DoubleProperty;
+import hr.caellian.flow.data.Flux;
+import hr.caellian.flow.data.FluxType;
+import hr.caellian.flow.data.IntProperty;
+import hr.caellian.flow.data.LongProperty;
+import hr.caellian.flow.data.Property;
+import hr.caellian.flow.network.Network;
+import hr.caellian.flow.network.NetworkComponent;
+import hr.caellian.flow.network.transfer.IndexedFluxContainer;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.InvalidObjectException;
+import java.io.NotSerializableException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests encoding and decoding of values, properties, Flux and containers by
+ * {@link FluxCodec}.
+ *
+ * @author Caellian
+ * @since 1.2.0
+ */
+public class FluxCodecTest {
+    /**
+     * Flux Type shared by all test Flux.
+     */
+    private static final TestType TYPE = new TestType();
+
+    @Test
+    public void valuesSurviveRoundTrip() throws IOException {
+        Object[] values = {null, true, false, (byte) -3, (short) -300, 'Š', -7, Long.MIN_VALUE, 1.5F, -2.25, "text"};
+        FluxCodec writer = new FluxCodec();
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        for (Object value : values) {
+            writer.writeValue(buffer, value);
+        }
+        writer.writeValue(buffer, new byte[]{1, 2, 3});
+        buffer.flip();
+
+        FluxCodec reader = new FluxCodec();
+        for (Object value : values) {
+            assertEquals(value, reader.readValue(buffer));
+        }
+        assertArrayEquals(new byte[]{1, 2, 3}, (byte[]) reader.readValue(buffer));
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void specializedPropertiesKeepTheirType() throws IOException {
+        FluxCodec writer = new FluxCodec();
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        writer.writeProperty(buffer, new DoubleProperty("double", 1.5));
+        writer.writeProperty(buffer, new LongProperty("long", -5L));
+        writer.writeProperty(buffer, new IntProperty("int", 7));
+        writer.writeProperty(buffer, new Property<>("string", "value"));
+        buffer.flip();
+
+        FluxCodec reader = new FluxCodec();
+        Property<?> property = reader.readProperty(buffer);
+        assertTrue(property instanceof DoubleProperty);
+        assertEquals("double", property.getID());
+        assertEquals(1.5, ((DoubleProperty) property).getAsDouble(), 0);
+
+        property = reader.readProperty(buffer);
+        assertTrue(property instanceof LongProperty);
+        assertEquals(-5L, ((LongProperty) property).getAsLong());
+
+        property = reader.readProperty(buffer);
+        assertTrue(property instanceof IntProperty);
+        assertEquals(7, ((IntProperty) property).getAsInt());
+
+        property = reader.readProperty(buffer);
+        assertSame(Property.class, property.getClass());
+        assertEquals("string", property.getID());
+        assertEquals("value", property.get());
+    }
+
+    @Test
+    public void repeatedIDsAreInterned() throws IOException {
+        FluxCodec writer = new FluxCodec();
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        writer.writeProperty(buffer, new IntProperty("amount", 1));
+        int first = buffer.position();
+        writer.writeProperty(buffer, new IntProperty("amount", 2));
+        assertEquals(3, buffer.position() - first);
+        buffer.flip();
+
+        FluxCodec reader = new FluxCodec();
+        assertEquals("amount", reader.readProperty(buffer).getID());
+        assertEquals("amount", reader.readProperty(buffer).getID());
+    }
+
+    @Test
+    public void fluxAndContainerSurviveRoundTrip() throws IOException {
+        TestContainer written = new TestContainer();
+        written.addFlux(new TestFlux("first", 5));
+        written.addFlux(new TestFlux("second", 8));
+        FluxCodec writer = new FluxCodec();
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        writer.writeContainer(buffer, written);
+        buffer.flip();
+
+        FluxCodec reader = new FluxCodec();
+        reader.registerType(TYPE);
+        TestContainer read = new TestContainer();
+        assertTrue(reader.readContainer(buffer, read));
+        assertFalse(buffer.hasRemaining());
+
+        assertEquals(2, read.size());
+        assertEquals(5, read.getFlux("first").getInt("amount"));
+        assertEquals(8, read.getFlux("second").getInt("amount"));
+    }
+
+    @Test
+    public void failedWriteRestoresPositionAndInternedIDs() throws IOException {
+        FluxCodec writer = new FluxCodec();
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        writer.writeProperty(buffer, new IntProperty("kept", 1));
+        int position = buffer.position();
+        try {
+            writer.writeProperty(buffer, new Property<>("failed", new Object()));
+            fail("Writing a value without a codec should fail.");
+        } catch (NotSerializableException expected) {
+            assertEquals(position, buffer.position());
+        }
+        writer.writeProperty(buffer, new IntProperty("failed", 2));
+        writer.writeProperty(buffer, new IntProperty("kept", 3));
+        buffer.flip();
+
+        FluxCodec reader = new FluxCodec();
+        assertEquals(1, ((IntProperty) reader.readProperty(buffer)).getAsInt());
+        Property<?> property = reader.readProperty(buffer);
+        assertEquals("failed", property.getID());
+        assertEquals(2, ((IntProperty) property).getAsInt());
+        assertEquals("kept", reader.readProperty(buffer).getID());
+    }
+
+    @Test
+    public void customCodecIsUsedForItsType() throws IOException {
+        FluxCodec writer = new FluxCodec();
+        FluxCodec reader = new FluxCodec();
+        for (FluxCodec codec : Arrays.asList(writer, reader)) {
+            codec.registerValueCodec(FluxCodec.FIRST_CUSTOM_TAG, Point.class, new PointCodec());
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        writer.writeValue(buffer, new Point(3, -4));
+        buffer.flip();
+
+        Point read = (Point) reader.readValue(buffer);
+        assertEquals(3, read.x);
+        assertEquals(-4, read.y);
+    }
+
+    @Test
+    public void serializedValuesRespectFallbackAndFilter() throws IOException {
+        FluxCodec codec = new FluxCodec();
+        codec.setSerializationFallback(true);
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        codec.writeValue(buffer, new ArrayList<>(Arrays.asList(1, 2)));
+        buffer.flip();
+
+        codec.setSerializationFilter("java.lang.String"::equals);
+        try {
+            codec.readValue(buffer.duplicate());
+            fail("Class rejected by filter shouldn't be deserialized.");
+        } catch (InvalidClassException expected) {
+        }
+
+        codec.setSerializationFallback(false);
+        try {
+            codec.readValue(buffer.duplicate());
+            fail("Serialized values shouldn't be read with fallback disabled.");
+        } catch (InvalidClassException expected) {
+        }
+
+        codec.setSerializationFallback(true);
+        codec.setSerializationFilter(null);
+        assertEquals(Arrays.asList(1, 2), codec.readValue(buffer));
+    }
+
+    @Test(expected = StreamCorruptedException.class)
+    public void readFailsOnUnknownTag() throws IOException {
+        new FluxCodec().readValue(ByteBuffer.wrap(new byte[]{FluxCodec.FIRST_CUSTOM_TAG}));
+    }
+
+    @Test(expected = StreamCorruptedException.class)
+    public void readFailsOnUnknownInternedID() throws IOException {
+        new FluxCodec().readID(ByteBuffer.wrap(new byte[]{1}));
+    }
+
+    @Test(expected = StreamCorruptedException.class)
+    public void readFailsOnTruncatedDouble() throws IOException {
+        new FluxCodec().readValue(ByteBuffer.wrap(new byte[]{9, 0, 0, 0}));
+    }
+
+    @Test(expected = StreamCorruptedException.class)
+    public void readFailsOnOversizedByteArray() throws IOException {
+        new FluxCodec().readValue(ByteBuffer.wrap(new byte[]{11, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07}));
+    }
+
+    @Test
+    public void readFluxFailsOnUnregisteredType() throws IOException {
+        FluxCodec writer = new FluxCodec();
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        writer.writeFlux(buffer, new TestFlux("flux", 1));
+        buffer.flip();
+
+        try {
+            new FluxCodec().readFlux(buffer);
+            fail("Flux of unregistered type shouldn't be read.");
+        } catch (InvalidObjectException expected) {
+            assertFalse(buffer.hasRemaining());
+        }
+    }
+
+    @Test
+    public void resetForgetsInternedIDs() throws IOException {
+        FluxCodec codec = new FluxCodec();
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        codec.writeID(buffer, "id");
+        codec.reset();
+        codec.writeID(buffer, "id");
+        buffer.flip();
+
+        FluxCodec reader = new FluxCodec();
+        assertEquals("id", reader.readID(buffer));
+        reader.reset();
+        assertEquals("id", reader.readID(buffer));
+        assertNull(reader.readValue(ByteBuffer.wrap(new byte[]{0})));
+    }
+
+    /**
+     * Value encoded by {@link PointCodec}.
+     */
+    private static final class Point {
+        /**
+         * X coordinate.
+         */
+        private final int x;
+
+        /**
+         * Y coordinate.
+         */
+        private final int y;
+
+        /**
+         * @param x X coordinate.
+         * @param y Y coordinate.
+         */
+        private Point(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    /**
+     * Value Codec writing {@link Point} coordinates as fixed width ints.
+     */
+    private static final class PointCodec implements ValueCodec<Point> {
+        @Override
+        public void write(ByteBuffer out, Point value) {
+            out.putInt(value.x);
+            out.putInt(value.y);
+        }
+
+        @Override
+        public Point read(ByteBuffer in) {
+            return new Point(in.getInt(), in.getInt());
+        }
+    }
+
+    /**
+     * Flux Type of {@link TestFlux}.
+     */
+    private static final class TestType implements FluxType<TestFlux> {
+        @Override
+        public String getID() {
+            return "test";
+        }
+
+        @Override
+        public TestFlux createUnit(Property... properties) {
+            TestFlux result = new TestFlux();
+            for (Property property : properties) {
+                result.addProperty(property);
+            }
+            return result;
+        }
+
+        @Override
+        public void writeExternal(ObjectOutput out) {
+        }
+
+        @Override
+        public void readExternal(ObjectInput in) {
+        }
+    }
+
+    /**
+     * Flux identified by its "name" property.
+     */
+    private static final class TestFlux implements Flux<TestType> {
+        /**
+         * Properties of this Flux.
+         */
+        private final HashMap<String, Property> properties = new HashMap<>();
+
+        /**
+         * Creates Flux without properties.
+         */
+        private TestFlux() {
+        }
+
+        /**
+         * @param name   name of this Flux.
+         * @param amount stored amount.
+         */
+        private TestFlux(String name, int amount) {
+            addProperty(new Property<>("name", name));
+            addProperty(new IntProperty("amount", amount));
+        }
+
+        @Override
+        public String getID() {
+            return getValue("name");
+        }
+
+        @Override
+        public Map<String, Property> getModifiableProperties() {
+            return properties;
+        }
+
+        @Override
+        public TestType getType() {
+            return TYPE;
+        }
+
+        @Override
+        public Flux<TestType> add(Flux<FluxType> other) {
+            return null;
+        }
+
+        @Override
+        public Flux<TestType> take(Property[] subtract, String[] clone) {
+            return null;
+        }
+
+        @Override
+        public void writeExternal(ObjectOutput out) {
+        }
+
+        @Override
+        public void readExternal(ObjectInput in) {
+        }
+    }
+
+    /**
+     * Container which isn't a part of any network.
+     */
+    private static final class TestContainer extends IndexedFluxContainer<TestFlux> {
+        @Override
+        public Network getNetwork() {
+            return null;
+        }
+
+        @Override
+        public boolean isCompatibleWithNetwork(Network network) {
+            return true;
+        }
+
+        @Override
+        public Network setNetwork(Network network) {
+            return null;
+        }
+
+        @Override
+        public Network createDefaultNetwork() {
+            return null;
+        }
+
+        @Override
+        public void networkNotFound() {
+        }
+
+        @Override
+        public Object getPosition() {
+            return null;
+        }
+
+        @Override
+        public Map<Object, NetworkComponent> getNeighbours() {
+            return new HashMap<>();
+        }
+
+        @Override
+        public HashMap<String, Property> getProperties() {
+            return new HashMap<>();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package hr.caellian.flow.data.codec;
+
+import org.junit.Test;
+
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Tests encoding and decoding of {@link VarInt variable length} values.
+ *
+ * @author Caellian
+ * @since 1.2.0
+ */
+public class VarIntTest {
+    @Test
+    public void intsSurviveRoundTrip() throws StreamCorruptedException {
+        int[] values = {0, 1, -1, 63, -64, 64, 127, 128, 300, -300, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * 5);
+        for (int value : values) {
+            VarInt.writeInt(buffer, value);
+        }
+        buffer.flip();
+        for (int value : values) {
+            assertEquals(value, VarInt.readInt(buffer));
+        }
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void longsSurviveRoundTrip() throws StreamCorruptedException {
+        long[] values = {0L, 1L, -1L, 1L << 35, -(1L << 35), Long.MAX_VALUE, Long.MIN_VALUE};
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * 10);
+        for (long value : values) {
+            VarInt.writeLong(buffer, value);
+        }
+        buffer.flip();
+        for (long value : values) {
+            assertEquals(value, VarInt.readLong(buffer));
+        }
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void unsignedValuesUseFullRange() throws StreamCorruptedException {
+        ByteBuffer buffer = ByteBuffer.allocate(15);
+        VarInt.writeUnsignedInt(buffer, -1);
+        VarInt.writeUnsignedLong(buffer, -1L);
+        assertEquals(15, buffer.position());
+
+        buffer.flip();
+        assertEquals(-1, VarInt.readUnsignedInt(buffer));
+        assertEquals(-1L, VarInt.readUnsignedLong(buffer));
+    }
+
+    @Test
+    public void smallValuesTakeOneByte() {
+        ByteBuffer buffer = ByteBuffer.allocate(10);
+        VarInt.writeUnsignedInt(buffer, 127);
+        VarInt.writeInt(buffer, -64);
+        VarInt.writeLong(buffer, 63L);
+        assertEquals(3, buffer.position());
+    }
+
+    @Test
+    public void stringsSurviveRoundTrip() throws StreamCorruptedException {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        VarInt.writeString(buffer, "");
+        VarInt.writeString(buffer, "Švagelj ☃");
+        buffer.flip();
+
+        assertEquals("", VarInt.readString(buffer));
+        assertEquals("Švagelj ☃", VarInt.readString(buffer.asReadOnlyBuffer()));
+    }
+
+    @Test(expected = StreamCorruptedException.class)
+    public void readFailsOnTruncatedValue() throws StreamCorruptedException {
+        VarInt.readUnsignedInt(ByteBuffer.wrap(new byte[]{(byte) 0x80, (byte) 0x80}));
+    }
+
+    @Test(expected = StreamCorruptedException.class)
+    public void readFailsOnOverlongInt() throws StreamCorruptedException {
+        VarInt.readUnsignedInt(ByteBuffer.wrap(new byte[]{(byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x01}));
+    }
+
+    @Test(expected = StreamCorruptedException.class)
+    public void readFailsOnOverlongLong() throws StreamCorruptedException {
+        byte[] bytes = new byte[11];
+        Arrays.fill(bytes, (byte) 0x80);
+        VarInt.readUnsignedLong(ByteBuffer.wrap(bytes));
+    }
+
+    @Test(expected = StreamCorruptedException.class)
+    public void readLengthFailsWhenLongerThanBuffer() throws StreamCorruptedException {
+        VarInt.readLength(ByteBuffer.wrap(new byte[]{3, 0, 0}));
+    }
+
+    @Test(expected = StreamCorruptedException.class)
+    public void readLengthFailsOnNegativeLength() throws StreamCorruptedException {
+        VarInt.readLength(ByteBuffer.wrap(new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F}));
+    }
+
+    @Test
+    public void readLengthAcceptsExactlyRemainingBytes() throws StreamCorruptedException {
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[]{2, 0, 0});
+        assertEquals(2, VarInt.readLength(buffer));
+        assertEquals(2, buffer.remaining());
+    }
+}
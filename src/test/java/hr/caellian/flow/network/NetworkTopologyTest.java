@@ -0,0 +1,289 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package hr.caellian.flow.network;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests merging and splitting of networks by {@link NetworkTopology} and
+ * {@link NetworkBase}.
+ *
+ * @author Caellian
+ * @since 1.2.0
+ */
+public class NetworkTopologyTest {
+    /**
+     * Components of test world, indexed by their packed positions.
+     */
+    private final HashMap<Object, NetworkComponent> world = new HashMap<>();
+
+    @Test
+    public void connectMergesNeighbourNetworks() {
+        TestComponent[] left = line(0, 3);
+        TestComponent[] right = line(4, 5);
+        assertNotSame(left[0].getNetwork(), right[0].getNetwork());
+
+        TestComponent bridge = new TestComponent(world, 3, 0);
+        Network network = NetworkTopology.connect(bridge);
+
+        assertSame(network, bridge.getNetwork());
+        assertEquals(9, network.getNetworkMap().size());
+        for (TestComponent component : left) {
+            assertSame(network, component.getNetwork());
+        }
+        for (TestComponent component : right) {
+            assertSame(network, component.getNetwork());
+        }
+    }
+
+    @Test
+    public void removingBridgeSplitsNetwork() {
+        TestComponent[] line = line(0, 9);
+        Network network = line[0].getNetwork();
+
+        assertTrue(network.removeNetworkComponent(line[4]));
+
+        Network first = line[0].getNetwork();
+        Network second = line[8].getNetwork();
+        assertNotSame(first, second);
+        assertEquals(4, first.getNetworkMap().size());
+        assertEquals(4, second.getNetworkMap().size());
+        for (int i = 0; i < 4; i++) {
+            assertSame(first, line[i].getNetwork());
+            assertSame(second, line[i + 5].getNetwork());
+        }
+    }
+
+    @Test
+    public void addingComponentBackMergesParts() {
+        TestComponent[] line = line(0, 9);
+        NetworkTopology.disconnect(line[4]);
+        Network network = line[0].getNetwork();
+        Network other = line[8].getNetwork();
+
+        assertTrue(network.addNetworkComponent(line[4]));
+
+        assertEquals(9, network.getNetworkMap().size());
+        assertTrue(other.getNetworkMap().isEmpty());
+        for (TestComponent component : line) {
+            if (component != line[4]) {
+                assertSame(network, component.getNetwork());
+            }
+        }
+    }
+
+    @Test
+    public void disconnectReturnsNetworksOfDisconnectedParts() {
+        TestComponent center = new TestComponent(world, 0, 0);
+        NetworkTopology.connect(center);
+        int[][] directions = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+        TestComponent[] arms = new TestComponent[directions.length];
+        for (int i = 0; i < directions.length; i++) {
+            arms[i] = new TestComponent(world, directions[i][0], directions[i][1]);
+            NetworkTopology.connect(arms[i]);
+            NetworkTopology.connect(new TestComponent(world, directions[i][0] * 2, directions[i][1] * 2));
+        }
+        Network network = center.getNetwork();
+        assertEquals(9, network.getNetworkMap().size());
+
+        ArrayList<Network> created = NetworkTopology.disconnect(center);
+
+        assertNull(center.getNetwork());
+        assertEquals(3, created.size());
+        HashSet<Network> networks = new HashSet<>();
+        for (TestComponent arm : arms) {
+            networks.add(arm.getNetwork());
+            assertEquals(2, arm.getNetwork().getNetworkMap().size());
+        }
+        assertEquals(4, networks.size());
+        assertTrue(networks.contains(network));
+        assertTrue(networks.containsAll(created));
+    }
+
+    @Test
+    public void removingComponentOfCycleKeepsNetwork() {
+        TestComponent[] ring = {
+                new TestComponent(world, 0, 0), new TestComponent(world, 1, 0),
+                new TestComponent(world, 1, 1), new TestComponent(world, 0, 1)
+        };
+        for (TestComponent component : ring) {
+            NetworkTopology.connect(component);
+        }
+        Network network = ring[0].getNetwork();
+
+        assertTrue(NetworkTopology.disconnect(ring[1]).isEmpty());
+        assertEquals(3, network.getNetworkMap().size());
+        assertSame(network, ring[2].getNetwork());
+    }
+
+    @Test
+    public void removingEndKeepsNetwork() {
+        TestComponent[] line = line(0, 5);
+        Network network = line[0].getNetwork();
+
+        assertTrue(NetworkTopology.disconnect(line[4]).isEmpty());
+        assertEquals(4, network.getNetworkMap().size());
+        assertSame(network, line[3].getNetwork());
+    }
+
+    @Test
+    public void unloadingComponentDoesNotSplitNetwork() {
+        TestComponent[] line = line(0, 5);
+        Network network = line[0].getNetwork();
+
+        assertTrue(network.unloadNetworkComponent(line[2]));
+        assertSame(network, line[4].getNetwork());
+        assertEquals(4, network.getNetworkMap().size());
+
+        assertTrue(network.loadNetworkComponent(line[2]));
+        assertEquals(5, network.getNetworkMap().size());
+    }
+
+    @Test
+    public void disconnectWithoutNetworkDoesNothing() {
+        TestComponent component = new TestComponent(world, 0, 0);
+        assertTrue(NetworkTopology.disconnect(component).isEmpty());
+        assertFalse(world.isEmpty());
+    }
+
+    /**
+     * Connects a line of components along X axis.
+     *
+     * @param start  X coordinate of first component.
+     * @param length number of components.
+     * @return connected components.
+     */
+    private TestComponent[] line(int start, int length) {
+        TestComponent[] result = new TestComponent[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = new TestComponent(world, start + i, 0);
+            NetworkTopology.connect(result[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Network accepting all components.
+     */
+    private static final class TestNetwork extends NetworkBase {
+        @Override
+        public String getNetworkTypeID() {
+            return "test";
+        }
+
+        @Override
+        public boolean canAddComponent(NetworkComponent toAdd) {
+            return true;
+        }
+    }
+
+    /**
+     * Component placed on a horizontal grid, connected to components next to
+     * it along X and Z axes.
+     */
+    private static final class TestComponent implements NetworkComponent {
+        /**
+         * Components of test world.
+         */
+        private final Map<Object, NetworkComponent> world;
+
+        /**
+         * Packed position of this component.
+         */
+        private final Long position;
+
+        /**
+         * Network of this component.
+         */
+        private Network network;
+
+        /**
+         * @param world components of test world.
+         * @param x     X coordinate of this component.
+         * @param z     Z coordinate of this component.
+         */
+        private TestComponent(Map<Object, NetworkComponent> world, int x, int z) {
+            this.world = world;
+            this.position = PackedPosition.pack(x, 0, z);
+            world.put(position, this);
+        }
+
+        @Override
+        public Network getNetwork() {
+            return network;
+        }
+
+        @Override
+        public boolean isCompatibleWithNetwork(Network network) {
+            return true;
+        }
+
+        @Override
+        public Network setNetwork(Network network) {
+            Network previous = this.network;
+            this.network = network;
+            return previous;
+        }
+
+        @Override
+        public Network createDefaultNetwork() {
+            return new TestNetwork();
+        }
+
+        @Override
+        public void networkNotFound() {
+        }
+
+        @Override
+        public Object getPosition() {
+            return position;
+        }
+
+        @Override
+        public Map<Object, NetworkComponent> getNeighbours() {
+            HashMap<Object, NetworkComponent> result = new HashMap<>();
+            int[][] offsets = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+            for (int[] offset : offsets) {
+                Long neighbour = PackedPosition.offset(position, offset[0], 0, offset[1]);
+                NetworkComponent component = world.get(neighbour);
+                if (component != null) {
+                    result.put(neighbour, component);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package hr.caellian.flow.network;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.ToLongFunction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests {@link PackedPosition} encoding and storage, deletion and queries of
+ * {@link PackedPositionIndex}.
+ *
+ * @author Caellian
+ * @since 1.2.0
+ */
+public class PackedPositionIndexTest {
+    /**
+     * Test components use packed positions directly.
+     */
+    private static final ToLongFunction<Object> PACKER = position -> (Long) position;
+
+    @Test
+    public void packedCoordinatesSurviveRoundTrip() {
+        int[][] coordinates = {
+                {0, 0, 0},
+                {-1, -1, -1},
+                {PackedPosition.MIN_HORIZONTAL, PackedPosition.MIN_VERTICAL, PackedPosition.MIN_HORIZONTAL},
+                {PackedPosition.MAX_HORIZONTAL, PackedPosition.MAX_VERTICAL, PackedPosition.MAX_HORIZONTAL},
+                {12345, -64, -54321}
+        };
+        for (int[] position : coordinates) {
+            long packed = PackedPosition.pack(position[0], position[1], position[2]);
+            assertEquals(position[0], PackedPosition.getX(packed));
+            assertEquals(position[1], PackedPosition.getY(packed));
+            assertEquals(position[2], PackedPosition.getZ(packed));
+        }
+        long offset = PackedPosition.offset(PackedPosition.pack(0, 0, 0), -1, 2, -3);
+        assertEquals(PackedPosition.pack(-1, 2, -3), offset);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void packRejectsCoordinatesOutOfRange() {
+        PackedPosition.pack(PackedPosition.MAX_HORIZONTAL + 1, 0, 0);
+    }
+
+    @Test
+    public void putReplacesAndRemoveClearsComponent() {
+        PackedPositionIndex index = new PackedPositionIndex(PACKER);
+        Long position = PackedPosition.pack(1, 2, 3);
+        TestComponent first = new TestComponent(position);
+        TestComponent second = new TestComponent(position);
+
+        assertNull(index.put(position, first));
+        assertSame(first, index.put(position, second));
+        assertEquals(1, index.size());
+        assertSame(second, index.get(1, 2, 3));
+
+        assertSame(second, index.remove(position));
+        assertNull(index.remove(position));
+        assertNull(index.get(position));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void removalKeepsOtherEntriesReachable() {
+        PackedPositionIndex index = new PackedPositionIndex(PACKER);
+        HashMap<Long, TestComponent> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            Long position = PackedPosition.pack(random.nextInt(64), random.nextInt(16), random.nextInt(64));
+            TestComponent component = new TestComponent(position);
+            index.put(position, component);
+            expected.put(position, component);
+        }
+        ArrayList<Long> positions = new ArrayList<>(expected.keySet());
+        for (int i = 0; i < positions.size(); i += 2) {
+            assertSame(expected.remove(positions.get(i)), index.remove(positions.get(i)));
+        }
+
+        assertEquals(expected.size(), index.size());
+        for (Long position : positions) {
+            assertSame(expected.get(position), index.get(position));
+        }
+        HashSet<NetworkComponent> visited = new HashSet<>();
+        index.forEachValue(visited::add);
+        assertEquals(new HashSet<>(expected.values()), visited);
+        assertEquals(expected, index.asMap());
+    }
+
+    @Test
+    public void regionAndNeighbourQueriesMatchFullScan() {
+        PackedPositionIndex packed = new PackedPositionIndex(PACKER);
+        HashPositionIndex hashed = new HashPositionIndex(PACKER);
+        Random random = new Random(7);
+        for (int i = 0; i < 500; i++) {
+            Long position = PackedPosition.pack(random.nextInt(32) - 16, random.nextInt(8), random.nextInt(32) - 16);
+            TestComponent component = new TestComponent(position);
+            packed.put(position, component);
+            hashed.put(position, component);
+        }
+
+        int[][] regions = {{-4, 0, -4, 4, 4, 4}, {-16, 0, -16, 15, 7, 15}, {3, 2, 1, 3, 2, 1}, {5, 0, 5, 4, 7, 15}};
+        for (int[] r : regions) {
+            HashSet<NetworkComponent> fromPacked = new HashSet<>();
+            HashSet<NetworkComponent> fromHashed = new HashSet<>();
+            packed.forEachInRegion(r[0], r[1], r[2], r[3], r[4], r[5], fromPacked::add);
+            hashed.forEachInRegion(r[0], r[1], r[2], r[3], r[4], r[5], fromHashed::add);
+            assertEquals(fromHashed, fromPacked);
+        }
+
+        HashSet<NetworkComponent> all = new HashSet<>();
+        packed.forEachInRegion(Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, all::add);
+        assertEquals(packed.size(), all.size());
+
+        for (int x = -3; x <= 3; x++) {
+            long position = PackedPosition.pack(x, 3, x);
+            HashSet<NetworkComponent> fromPacked = new HashSet<>();
+            HashSet<NetworkComponent> fromHashed = new HashSet<>();
+            packed.forEachNeighbour(position, fromPacked::add);
+            hashed.forEachNeighbour(position, fromHashed::add);
+            assertEquals(fromHashed, fromPacked);
+            assertTrue(fromPacked.size() <= 6);
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void regionQueryRequiresPacker() {
+        new HashPositionIndex().forEachInRegion(0, 0, 0, 1, 1, 1, component -> {
+        });
+    }
+
+    @Test
+    public void mapViewIsReadOnly() {
+        PackedPositionIndex index = new PackedPositionIndex(PACKER);
+        Long position = PackedPosition.pack(0, 0, 0);
+        index.put(position, new TestComponent(position));
+        Map<Object, NetworkComponent> view = index.asMap();
+
+        assertTrue(view.containsKey(position));
+        assertFalse(view.containsKey(PackedPosition.pack(1, 0, 0)));
+        try {
+            view.remove(position);
+            fail("Map view of index shouldn't be modifiable.");
+        } catch (UnsupportedOperationException expected) {
+        }
+        assertEquals(1, index.size());
+    }
+
+    /**
+     * Component which isn't a part of any network.
+     */
+    private static final class TestComponent implements NetworkComponent {
+        /**
+         * Position of this component.
+         */
+        private final Object position;
+
+        /**
+         * @param position position of this component.
+         */
+        private TestComponent(Object position) {
+            this.position = position;
+        }
+
+        @Override
+        public Network getNetwork() {
+            return null;
+        }
+
+        @Override
+        public boolean isCompatibleWithNetwork(Network network) {
+            return true;
+        }
+
+        @Override
+        public Network setNetwork(Network network) {
+            return null;
+        }
+
+        @Override
+        public Network createDefaultNetwork() {
+            return null;
+        }
+
+        @Override
+        public void networkNotFound() {
+        }
+
+        @Override
+        public Object getPosition() {
+            return position;
+        }
+
+        @Override
+        public Map<Object, NetworkComponent> getNeighbours() {
+            return new HashMap<>();
+        }
+    }
+}
@@ -0,0 +1,386 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package hr.caellian.flow.network;
+
+import hr.caellian.flow.conversion.Converter;
+import hr.caellian.flow.data.Flux;
+import hr.caellian.flow.data.FluxType;
+import hr.caellian.flow.data.Property;
+import hr.caellian.flow.network.transfer.FluxEmitter;
+import hr.caellian.flow.network.transfer.FluxReceiver;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests ticking of awake emitters and wake-ups by {@link TransferScheduler}.
+ *
+ * @author Caellian
+ * @since 1.2.0
+ */
+public class TransferSchedulerTest {
+    /**
+     * Components of test world, indexed by their packed positions.
+     */
+    private final HashMap<Object, NetworkComponent> world = new HashMap<>();
+
+    /**
+     * Network of all test components.
+     */
+    private final TestNetwork network = new TestNetwork();
+
+    @Test
+    public void allEmittersAreAwakeAfterRebuild() {
+        Source[] sources = pairs(10);
+        TransferScheduler scheduler = network.getTransferScheduler();
+
+        assertEquals(10, scheduler.getLinkCount());
+        assertEquals(10, scheduler.getAwakeCount());
+        network.updateNetwork();
+        for (Source source : sources) {
+            assertEquals(1, source.emitted);
+        }
+        assertEquals(10, scheduler.getAwakeCount());
+    }
+
+    @Test
+    public void dormantEmittersAreSkippedUntilWoken() {
+        Source[] sources = pairs(10);
+        TransferScheduler scheduler = network.getTransferScheduler();
+        for (Source source : sources) {
+            source.dormant = true;
+        }
+
+        network.updateNetwork();
+        assertEquals(0, scheduler.getAwakeCount());
+        network.updateNetwork();
+        for (Source source : sources) {
+            assertEquals(0, source.emitted);
+        }
+
+        sources[3].dormant = false;
+        network.wake(sources[3]);
+        assertEquals(0, scheduler.getAwakeCount());
+        network.updateNetwork();
+        for (int i = 0; i < sources.length; i++) {
+            assertEquals(i == 3 ? 1 : 0, sources[i].emitted);
+        }
+        assertEquals(1, sources[3].woken);
+        assertEquals(1, scheduler.getAwakeCount());
+    }
+
+    @Test
+    public void wakingReceiverWakesLinkedEmitters() {
+        Source[] sources = pairs(3);
+        for (Source source : sources) {
+            source.dormant = true;
+        }
+        network.updateNetwork();
+
+        sources[1].dormant = false;
+        network.wake(network.getNetworkMap().get(PackedPosition.pack(1, 0, 2)));
+        network.updateNetwork();
+
+        assertEquals(0, sources[0].emitted);
+        assertEquals(1, sources[1].emitted);
+        assertEquals(0, sources[2].emitted);
+    }
+
+    @Test
+    public void dormantReceiverIsWokenByArrival() {
+        Source source = new Source(world, 0, 0);
+        Sink sink = new Sink(world, 1, 0);
+        sink.dormant = true;
+        network.addNetworkComponent(source);
+        network.addNetworkComponent(sink);
+
+        network.updateNetwork();
+
+        assertEquals(1, sink.woken);
+        assertFalse(sink.dormant);
+        assertEquals(1, sink.received);
+    }
+
+    @Test
+    public void wakeRequestedDuringTickIsAppliedAfterIt() {
+        Source[] sources = pairs(2);
+        sources[1].dormant = true;
+        sources[0].onEmit = () -> network.wake(sources[1]);
+
+        network.updateNetwork();
+        assertEquals(0, sources[1].emitted);
+        assertEquals(1, sources[1].woken);
+        assertEquals(2, network.getTransferScheduler().getAwakeCount());
+
+        sources[0].onEmit = null;
+        network.updateNetwork();
+        assertEquals(1, sources[1].emitted);
+    }
+
+    @Test
+    public void changingNetworkWakesAllEmitters() {
+        Source[] sources = pairs(4);
+        TransferScheduler scheduler = network.getTransferScheduler();
+        for (Source source : sources) {
+            source.dormant = true;
+        }
+        network.updateNetwork();
+        assertEquals(0, scheduler.getAwakeCount());
+
+        network.addNetworkComponent(new Sink(world, 1, 100));
+        assertTrue(scheduler.isInvalid());
+        assertEquals(4, scheduler.getLinkCount());
+        assertEquals(4, scheduler.getAwakeCount());
+    }
+
+    /**
+     * Adds pairs of linked sources and sinks, each pair in a separate row.
+     *
+     * @param count number of pairs.
+     * @return added sources.
+     */
+    private Source[] pairs(int count) {
+        Source[] result = new Source[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = new Source(world, 0, i * 2);
+            network.addNetworkComponent(result[i]);
+            network.addNetworkComponent(new Sink(world, 1, i * 2));
+        }
+        return result;
+    }
+
+    /**
+     * Network accepting all components.
+     */
+    private static final class TestNetwork extends NetworkBase {
+        @Override
+        public String getNetworkTypeID() {
+            return "test";
+        }
+
+        @Override
+        public boolean canAddComponent(NetworkComponent toAdd) {
+            return true;
+        }
+    }
+
+    /**
+     * Component placed on a horizontal grid, connected to components next to
+     * it along X and Z axes. Counts wake-ups while it's dormant.
+     */
+    private abstract static class TestComponent implements DormantComponent {
+        /**
+         * Components of test world.
+         */
+        private final Map<Object, NetworkComponent> world;
+
+        /**
+         * Packed position of this component.
+         */
+        private final Long position;
+
+        /**
+         * Network of this component.
+         */
+        private Network network;
+
+        /**
+         * {@code true} if this component reports being dormant.
+         */
+        boolean dormant;
+
+        /**
+         * Number of times this component was woken up.
+         */
+        int woken;
+
+        /**
+         * @param world components of test world.
+         * @param x     X coordinate of this component.
+         * @param z     Z coordinate of this component.
+         */
+        TestComponent(Map<Object, NetworkComponent> world, int x, int z) {
+            this.world = world;
+            this.position = PackedPosition.pack(x, 0, z);
+            world.put(position, this);
+        }
+
+        @Override
+        public boolean isDormant() {
+            return dormant;
+        }
+
+        @Override
+        public void onWake() {
+            woken++;
+            dormant = false;
+        }
+
+        @Override
+        public Network getNetwork() {
+            return network;
+        }
+
+        @Override
+        public boolean isCompatibleWithNetwork(Network network) {
+            return true;
+        }
+
+        @Override
+        public Network setNetwork(Network network) {
+            Network previous = this.network;
+            this.network = network;
+            return previous;
+        }
+
+        @Override
+        public Network createDefaultNetwork() {
+            return new TestNetwork();
+        }
+
+        @Override
+        public void networkNotFound() {
+        }
+
+        @Override
+        public Object getPosition() {
+            return position;
+        }
+
+        @Override
+        public Map<Object, NetworkComponent> getNeighbours() {
+            HashMap<Object, NetworkComponent> result = new HashMap<>();
+            int[][] offsets = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+            for (int[] offset : offsets) {
+                Long neighbour = PackedPosition.offset(position, offset[0], 0, offset[1]);
+                NetworkComponent component = world.get(neighbour);
+                if (component != null) {
+                    result.put(neighbour, component);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * @return empty properties of Flux Conductor subclasses.
+         */
+        public HashMap<String, Property> getProperties() {
+            return new HashMap<>();
+        }
+    }
+
+    /**
+     * Emitter counting its emissions.
+     */
+    private static final class Source extends TestComponent implements FluxEmitter<Flux<?>> {
+        /**
+         * Number of times this source emitted flux.
+         */
+        int emitted;
+
+        /**
+         * Action performed when this source emits flux, may be {@code null}.
+         */
+        Runnable onEmit;
+
+        /**
+         * @param world components of test world.
+         * @param x     X coordinate of this component.
+         * @param z     Z coordinate of this component.
+         */
+        Source(Map<Object, NetworkComponent> world, int x, int z) {
+            super(world, x, z);
+        }
+
+        @Override
+        public ArrayList<Flux<?>> emit(FluxReceiver<Flux<?>> receiver) {
+            emitted++;
+            if (onEmit != null) {
+                onEmit.run();
+            }
+            return receiver.receive(new ArrayList<>(), this);
+        }
+
+        @Override
+        public boolean canEmitFlux() {
+            return true;
+        }
+    }
+
+    /**
+     * Receiver counting deliveries.
+     */
+    private static final class Sink extends TestComponent implements FluxReceiver<Flux<?>> {
+        /**
+         * Number of times flux was delivered to this sink.
+         */
+        int received;
+
+        /**
+         * @param world components of test world.
+         * @param x     X coordinate of this component.
+         * @param z     Z coordinate of this component.
+         */
+        Sink(Map<Object, NetworkComponent> world, int x, int z) {
+            super(world, x, z);
+        }
+
+        @Override
+        public ArrayList<Flux<?>> receive(ArrayList<Flux<?>> in, FluxEmitter<Flux<?>> emitter, Property... conditions) {
+            received++;
+            return new ArrayList<>();
+        }
+
+        @Override
+        public boolean canReceiveFlux(Flux<?> in) {
+            return true;
+        }
+
+        @Override
+        public boolean canReceiveFlux() {
+            return true;
+        }
+
+        @Override
+        public FluxType<Flux> getPreferredType() {
+            return null;
+        }
+
+        @Override
+        public boolean supportsFluxType(FluxType<Flux> type) {
+            return true;
+        }
+
+        @Override
+        public <C extends Converter> C getConverter(FluxType<Flux> type) {
+            return null;
+        }
+    }
+}
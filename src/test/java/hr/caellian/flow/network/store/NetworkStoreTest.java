@@ -0,0 +1,514 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package hr.caellian.flow.network.store;
+
+import hr.caellian.flow.data.Flux;
+import hr.caellian.flow.data.FluxType;
+import hr.caellian.flow.data.IntProperty;
+import hr.caellian.flow.data.Property;
+import hr.caellian.flow.data.codec.FluxCodec;
+import hr.caellian.flow.network.Network;
+import hr.caellian.flow.network.NetworkBase;
+import hr.caellian.flow.network.NetworkComponent;
+import hr.caellian.flow.network.PackedPosition;
+import hr.caellian.flow.network.transfer.IndexedFluxContainer;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.StreamCorruptedException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests writing, reopening and validation of {@link NetworkStore Network
+ * Stores}.
+ *
+ * @author Caellian
+ * @since 1.2.0
+ */
+public class NetworkStoreTest {
+    /**
+     * Flux Type shared by all test Flux.
+     */
+    private static final TestType TYPE = new TestType();
+
+    /**
+     * Test components use packed positions directly.
+     */
+    private static final ToLongFunction<Object> PACKER = position -> (Long) position;
+
+    /**
+     * Components of all test networks, indexed by their positions.
+     */
+    private final HashMap<Object, NetworkComponent> world = new HashMap<>();
+
+    @Test
+    public void storedTopologyMatchesNetwork() throws IOException {
+        Network network = createLine(5);
+        Path file = write(network);
+
+        try (NetworkStore store = NetworkStore.open(file)) {
+            assertEquals(5, store.size());
+            assertEquals(8, store.getEdgeCount());
+            for (int i = 1; i < store.size(); i++) {
+                assertTrue(store.getPosition(i - 1) < store.getPosition(i));
+            }
+
+            int middle = store.indexOf(PackedPosition.pack(2, 0, 0));
+            assertEquals("tank", store.getTypeKey(middle));
+            assertEquals("pipe", store.getTypeKey(store.indexOf(PackedPosition.pack(0, 0, 0))));
+            assertEquals(2, store.getNeighbourCount(middle));
+            ArrayList<Integer> neighbours = new ArrayList<>();
+            store.forEachNeighbour(middle, neighbours::add);
+            assertTrue(neighbours.contains(store.indexOf(PackedPosition.pack(1, 0, 0))));
+            assertTrue(neighbours.contains(store.indexOf(PackedPosition.pack(3, 0, 0))));
+
+            assertEquals(1, store.getNeighbourCount(store.indexOf(PackedPosition.pack(4, 0, 0))));
+            assertEquals(-1, store.indexOf(PackedPosition.pack(5, 0, 0)));
+            assertEquals(-1, store.getStructureCore(PackedPosition.pack(0, 0, 0)));
+        }
+    }
+
+    @Test
+    public void containerContentsSurviveRoundTrip() throws IOException {
+        Network network = createLine(5);
+        ((Tank) world.get(PackedPosition.pack(2, 0, 0))).addFlux(new TestFlux(42));
+        Path file = write(network);
+
+        FluxCodec codec = new FluxCodec();
+        codec.registerType(TYPE);
+        try (NetworkStore store = NetworkStore.open(file)) {
+            int middle = store.indexOf(PackedPosition.pack(2, 0, 0));
+            assertTrue(store.hasContainerData(middle));
+            assertFalse(store.hasContainerData(store.indexOf(PackedPosition.pack(1, 0, 0))));
+
+            world.clear();
+            Tank loaded = (Tank) store.load(middle, this::create, codec);
+            assertNotNull(loaded);
+            assertEquals(PackedPosition.pack(2, 0, 0), loaded.getPosition());
+            assertEquals(42, loaded.getFlux(TYPE.getID()).getInt("amount"));
+        }
+    }
+
+    @Test
+    public void loadIntoRecreatesAllComponents() throws IOException {
+        Path file = write(createLine(7));
+        world.clear();
+
+        TestNetwork loaded = new TestNetwork();
+        try (NetworkStore store = NetworkStore.open(file)) {
+            assertTrue(store.loadInto(loaded, this::create, new FluxCodec()));
+        }
+        assertEquals(7, loaded.getNetworkComponents().size());
+        for (int x = 0; x < 7; x++) {
+            assertNotNull(loaded.getNetworkMap().get(PackedPosition.pack(x, 0, 0)));
+        }
+    }
+
+    @Test
+    public void loadIntoReportsComponentsFactoryCouldNotCreate() throws IOException {
+        Path file = write(createLine(3));
+        world.clear();
+
+        TestNetwork loaded = new TestNetwork();
+        try (NetworkStore store = NetworkStore.open(file)) {
+            assertFalse(store.loadInto(loaded, (typeKey, position) -> typeKey.equals("pipe") ? new Pipe(world, position) : null, new FluxCodec()));
+        }
+        assertEquals(2, loaded.getNetworkComponents().size());
+    }
+
+    @Test(expected = IOException.class)
+    public void writeRejectsSharedPackedPositions() throws IOException {
+        Path file = createFile();
+        NetworkStore.write(file, createLine(3), position -> 0L, component -> "pipe", new FluxCodec());
+    }
+
+    @Test(expected = IOException.class)
+    public void openRejectsOtherFiles() throws IOException {
+        Path file = createFile();
+        Files.write(file, new byte[100]);
+        NetworkStore.open(file).close();
+    }
+
+    @Test(expected = StreamCorruptedException.class)
+    public void openRejectsNegativeCount() throws IOException {
+        Path file = write(createLine(3));
+        corrupt(file, bytes -> bytes.putInt(8, -1));
+        NetworkStore.open(file).close();
+    }
+
+    @Test(expected = StreamCorruptedException.class)
+    public void openRejectsSectionOutOfBounds() throws IOException {
+        Path file = write(createLine(3));
+        corrupt(file, bytes -> bytes.putLong(72, bytes.capacity() + 1L));
+        NetworkStore.open(file).close();
+    }
+
+    @Test(expected = StreamCorruptedException.class)
+    public void openRejectsCountLargerThanFile() throws IOException {
+        Path file = write(createLine(3));
+        corrupt(file, bytes -> bytes.putInt(12, 1 << 20));
+        NetworkStore.open(file).close();
+    }
+
+    @Test
+    public void malformedEdgeIsReportedWhenRead() throws IOException {
+        Path file = write(createLine(3));
+        corrupt(file, bytes -> bytes.putInt((int) bytes.getLong(48), 3));
+
+        try (NetworkStore store = NetworkStore.open(file)) {
+            store.forEachNeighbour(0, index -> {
+            });
+            fail("Out of bounds neighbour index should be reported.");
+        } catch (UncheckedIOException expected) {
+            assertTrue(expected.getCause() instanceof StreamCorruptedException);
+        }
+    }
+
+    /**
+     * Creates a network of components placed along X axis with a {@link Tank}
+     * in the middle and {@link Pipe Pipes} elsewhere.
+     *
+     * @param length number of components.
+     * @return created network.
+     */
+    private Network createLine(int length) {
+        TestNetwork network = new TestNetwork();
+        for (int x = 0; x < length; x++) {
+            long position = PackedPosition.pack(x, 0, 0);
+            network.addNetworkComponent(x == length / 2 ? new Tank(world, position) : new Pipe(world, position));
+        }
+        return network;
+    }
+
+    /**
+     * Recreates a stored component.
+     *
+     * @param typeKey  type key component was stored with.
+     * @param position packed position of component.
+     * @return created component.
+     */
+    private NetworkComponent create(String typeKey, long position) {
+        return typeKey.equals("tank") ? new Tank(world, position) : new Pipe(world, position);
+    }
+
+    /**
+     * @return temporary file deleted when tests finish.
+     * @throws IOException if file can't be created.
+     */
+    private static Path createFile() throws IOException {
+        Path file = Files.createTempFile("network", ".store");
+        file.toFile().deleteOnExit();
+        return file;
+    }
+
+    /**
+     * @param network network to store.
+     * @return temporary file argument network was stored in.
+     * @throws IOException if network can't be stored.
+     */
+    private static Path write(Network network) throws IOException {
+        Path file = createFile();
+        NetworkStore.write(file, network, PACKER, component -> component instanceof Tank ? "tank" : "pipe", new FluxCodec());
+        return file;
+    }
+
+    /**
+     * Modifies contents of argument file.
+     *
+     * @param file       file to modify.
+     * @param corruption modification of file contents.
+     * @throws IOException if file can't be read or written.
+     */
+    private static void corrupt(Path file, Corruption corruption) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file));
+        corruption.apply(bytes);
+        Files.write(file, bytes.array());
+    }
+
+    /**
+     * Modification of stored file contents.
+     */
+    @FunctionalInterface
+    private interface Corruption {
+        /**
+         * @param bytes contents of stored file.
+         */
+        void apply(ByteBuffer bytes);
+    }
+
+    /**
+     * Network accepting all components.
+     */
+    private static final class TestNetwork extends NetworkBase {
+        @Override
+        public String getNetworkTypeID() {
+            return "test";
+        }
+
+        @Override
+        public boolean canAddComponent(NetworkComponent toAdd) {
+            return true;
+        }
+    }
+
+    /**
+     * Component which doesn't store Flux.
+     */
+    private static final class Pipe implements NetworkComponent {
+        /**
+         * Components of test world.
+         */
+        private final Map<Object, NetworkComponent> world;
+
+        /**
+         * Packed position of this component.
+         */
+        private final Long position;
+
+        /**
+         * Network of this component.
+         */
+        private Network network;
+
+        /**
+         * @param world    components of test world.
+         * @param position packed position of this component.
+         */
+        private Pipe(Map<Object, NetworkComponent> world, long position) {
+            this.world = world;
+            this.position = position;
+            world.put(this.position, this);
+        }
+
+        @Override
+        public Network getNetwork() {
+            return network;
+        }
+
+        @Override
+        public boolean isCompatibleWithNetwork(Network network) {
+            return true;
+        }
+
+        @Override
+        public Network setNetwork(Network network) {
+            Network previous = this.network;
+            this.network = network;
+            return previous;
+        }
+
+        @Override
+        public Network createDefaultNetwork() {
+            return new TestNetwork();
+        }
+
+        @Override
+        public void networkNotFound() {
+        }
+
+        @Override
+        public Object getPosition() {
+            return position;
+        }
+
+        @Override
+        public Map<Object, NetworkComponent> getNeighbours() {
+            return neighbours(world, position);
+        }
+    }
+
+    /**
+     * Component storing Flux.
+     */
+    private static final class Tank extends IndexedFluxContainer<TestFlux> {
+        /**
+         * Components of test world.
+         */
+        private final Map<Object, NetworkComponent> world;
+
+        /**
+         * Packed position of this component.
+         */
+        private final Long position;
+
+        /**
+         * Network of this component.
+         */
+        private Network network;
+
+        /**
+         * @param world    components of test world.
+         * @param position packed position of this component.
+         */
+        private Tank(Map<Object, NetworkComponent> world, long position) {
+            this.world = world;
+            this.position = position;
+            world.put(this.position, this);
+        }
+
+        @Override
+        public Network getNetwork() {
+            return network;
+        }
+
+        @Override
+        public boolean isCompatibleWithNetwork(Network network) {
+            return true;
+        }
+
+        @Override
+        public Network setNetwork(Network network) {
+            Network previous = this.network;
+            this.network = network;
+            return previous;
+        }
+
+        @Override
+        public Network createDefaultNetwork() {
+            return new TestNetwork();
+        }
+
+        @Override
+        public void networkNotFound() {
+        }
+
+        @Override
+        public Object getPosition() {
+            return position;
+        }
+
+        @Override
+        public Map<Object, NetworkComponent> getNeighbours() {
+            return neighbours(world, position);
+        }
+
+        @Override
+        public HashMap<String, Property> getProperties() {
+            return new HashMap<>();
+        }
+    }
+
+    /**
+     * @param world    components of test world.
+     * @param position packed position to find neighbours of.
+     * @return components next to argument position along X axis.
+     */
+    private static Map<Object, NetworkComponent> neighbours(Map<Object, NetworkComponent> world, long position) {
+        HashMap<Object, NetworkComponent> result = new HashMap<>();
+        for (long neighbour : new long[]{PackedPosition.offset(position, -1, 0, 0), PackedPosition.offset(position, 1, 0, 0)}) {
+            NetworkComponent component = world.get(neighbour);
+            if (component != null) {
+                result.put(neighbour, component);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Flux Type of {@link TestFlux}.
+     */
+    private static final class TestType implements FluxType<TestFlux> {
+        @Override
+        public String getID() {
+            return "test";
+        }
+
+        @Override
+        public TestFlux createUnit(Property... properties) {
+            TestFlux result = new TestFlux(0);
+            for (Property property : properties) {
+                result.addProperty(property);
+            }
+            return result;
+        }
+
+        @Override
+        public void writeExternal(ObjectOutput out) {
+        }
+
+        @Override
+        public void readExternal(ObjectInput in) {
+        }
+    }
+
+    /**
+     * Flux storing an amount.
+     */
+    private static final class TestFlux implements Flux<TestType> {
+        /**
+         * Properties of this Flux.
+         */
+        private final HashMap<String, Property> properties = new HashMap<>();
+
+        /**
+         * @param amount stored amount.
+         */
+        private TestFlux(int amount) {
+            addProperty(new IntProperty("amount", amount));
+        }
+
+        @Override
+        public Map<String, Property> getModifiableProperties() {
+            return properties;
+        }
+
+        @Override
+        public TestType getType() {
+            return TYPE;
+        }
+
+        @Override
+        public Flux<TestType> add(Flux<FluxType> other) {
+            return null;
+        }
+
+        @Override
+        public Flux<TestType> take(Property[] subtract, String[] clone) {
+            return null;
+        }
+
+        @Override
+        public void writeExternal(ObjectOutput out) {
+        }
+
+        @Override
+        public void readExternal(ObjectInput in) {
+        }
+    }
+}
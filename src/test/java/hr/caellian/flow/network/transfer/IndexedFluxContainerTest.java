@@ -0,0 +1,211 @@
+/*
+ * The MIT License (MIT)
+ * Flow API, API for managing transfer of abstract data.
+ * Copyright (c) 2017 Tin Švagelj <tin.svagelj.email@gmail.com> a.k.a. Caellian
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package hr.caellian.flow.network.transfer;
+
+import hr.caellian.flow.data.Flux;
+import hr.caellian.flow.data.FluxType;
+import hr.caellian.flow.data.Property;
+import hr.caellian.flow.network.Network;
+import hr.caellian.flow.network.NetworkComponent;
+import org.junit.Test;
+
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests merging of Flux stored in {@link IndexedFluxContainer}.
+ *
+ * @author Caellian
+ * @since 1.2.0
+ */
+public class IndexedFluxContainerTest {
+    /**
+     * Flux Type shared by all test Flux.
+     */
+    private static final TestType TYPE = new TestType();
+
+    @Test
+    public void addFluxMergesFluxOfSameID() {
+        TestContainer container = new TestContainer();
+        TestFlux stored = new TestFlux(5, true);
+
+        assertTrue(container.addFlux(stored));
+        assertTrue(container.addFlux(new TestFlux(3, true)));
+
+        assertEquals(1, container.size());
+        assertSame(stored, container.getFlux(TYPE.getID()));
+        assertEquals(8, stored.amount);
+    }
+
+    @Test
+    public void addFluxKeepsStoredFluxWhenMergeFails() {
+        TestContainer container = new TestContainer();
+        TestFlux stored = new TestFlux(5, false);
+        assertTrue(container.addFlux(stored));
+        long version = container.getVersion(TYPE.getID());
+
+        assertFalse(container.addFlux(new TestFlux(3, true)));
+
+        assertTrue(container.containsFlux(TYPE.getID()));
+        assertSame(stored, container.getFlux(TYPE.getID()));
+        assertEquals(5, stored.amount);
+        assertEquals(version, container.getVersion(TYPE.getID()));
+    }
+
+    /**
+     * Flux Type of {@link TestFlux}.
+     */
+    private static final class TestType implements FluxType<TestFlux> {
+        @Override
+        public String getID() {
+            return "test";
+        }
+
+        @Override
+        public TestFlux createUnit(Property... properties) {
+            return new TestFlux(0, true);
+        }
+
+        @Override
+        public void writeExternal(ObjectOutput out) {
+        }
+
+        @Override
+        public void readExternal(ObjectInput in) {
+        }
+    }
+
+    /**
+     * Flux storing an amount which can refuse to be merged with other Flux.
+     */
+    private static final class TestFlux implements Flux<TestType> {
+        /**
+         * Properties of this Flux.
+         */
+        private final HashMap<String, Property> properties = new HashMap<>();
+
+        /**
+         * {@code true} if other Flux can be added to this one.
+         */
+        private final boolean mergeable;
+
+        /**
+         * Stored amount.
+         */
+        private int amount;
+
+        /**
+         * @param amount    stored amount.
+         * @param mergeable {@code true} if other Flux can be added to this
+         *                  one.
+         */
+        private TestFlux(int amount, boolean mergeable) {
+            this.amount = amount;
+            this.mergeable = mergeable;
+        }
+
+        @Override
+        public Map<String, Property> getModifiableProperties() {
+            return properties;
+        }
+
+        @Override
+        public TestType getType() {
+            return TYPE;
+        }
+
+        @Override
+        public Flux<TestType> add(Flux<FluxType> other) {
+            if (!mergeable) {
+                return null;
+            }
+            amount += ((TestFlux) (Flux) other).amount;
+            return this;
+        }
+
+        @Override
+        public Flux<TestType> take(Property[] subtract, String[] clone) {
+            return null;
+        }
+
+        @Override
+        public void writeExternal(ObjectOutput out) {
+        }
+
+        @Override
+        public void readExternal(ObjectInput in) {
+        }
+    }
+
+    /**
+     * Container which isn't a part of any network.
+     */
+    private static final class TestContainer extends IndexedFluxContainer<TestFlux> {
+        @Override
+        public Network getNetwork() {
+            return null;
+        }
+
+        @Override
+        public boolean isCompatibleWithNetwork(Network network) {
+            return true;
+        }
+
+        @Override
+        public Network setNetwork(Network network) {
+            return null;
+        }
+
+        @Override
+        public Network createDefaultNetwork() {
+            return null;
+        }
+
+        @Override
+        public void networkNotFound() {
+        }
+
+        @Override
+        public Object getPosition() {
+            return null;
+        }
+
+        @Override
+        public Map<Object, NetworkComponent> getNeighbours() {
+            return new HashMap<>();
+        }
+
+        @Override
+        public HashMap<String, Property> getProperties() {
+            return new HashMap<>();
+        }
+    }
+}